@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# ----------------------------------------
+# Compara el modo de hilos de plataforma con el de hilos virtuales bajo la misma carga
+#
+# Arranca la aplicación dos veces sobre la base de datos H2 en fichero (perfil 'h2file', generada antes con el
+# perfil 'seed'), una con 'spring.threads.virtual.enabled=false' y otra con 'true', y lanza en cada una el
+# LoadDriver con los mismos argumentos. Los resultados quedan en target/load-platform.json y target/load-virtual.json
+#
+# Uso: src/benchmark/compare-thread-modes.sh [usuarios] [concurrencia] [duración] [calentamiento]
+# ----------------------------------------
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+USERS=${1:-500}
+CONCURRENCY=${2:-1000}
+DURATION=${3:-60}
+WARMUP=${4:-10}
+BASE_URL=http://localhost:8080
+
+./mvnw -B -q -DskipTests package
+./mvnw -B -q -Pbenchmark test-compile
+JAR=$(ls target/TrackUp-MunozPanaderoAlvaro-*.jar | grep -v original | head -n 1)
+
+for MODE in platform virtual; do
+    VIRTUAL=false
+    [ "$MODE" = virtual ] && VIRTUAL=true
+
+    echo "== Modo $MODE (spring.threads.virtual.enabled=$VIRTUAL)"
+    java -jar "$JAR" --spring.profiles.active=h2file --spring.threads.virtual.enabled=$VIRTUAL \
+        > "target/load-$MODE.log" 2>&1 &
+    APP_PID=$!
+    trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+    # Se espera a que la aplicación responda (como mucho 2 minutos)
+    for _ in $(seq 1 120); do
+        curl -s -o /dev/null "$BASE_URL/login" && break
+        sleep 1
+    done
+
+    ./mvnw -B -q -Pbenchmark exec:java -Dexec.classpathScope=test \
+        -Dexec.mainClass=trackup.benchmark.load.LoadDriver \
+        -Dexec.args="--base-url=$BASE_URL --users=$USERS --concurrency=$CONCURRENCY --duration=$DURATION --warmup=$WARMUP --out=target/load-$MODE.json"
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+done
+trap - EXIT
+
+echo "== Hilos de plataforma"
+cat target/load-platform.json
+echo "== Hilos virtuales"
+cat target/load-virtual.json
@@ -0,0 +1,62 @@
+package trackup.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import trackup.dto.response.DashboardStatisticsResponseDTO;
+import trackup.entity.HabitStatistics;
+import trackup.entity.UserDailyStatistics;
+import trackup.repository.HabitStatisticsRepository;
+import trackup.repository.UserDailyStatisticsRepository;
+import trackup.services.impl.StatisticsServiceImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la agregación de estadísticas del panel principal ('WebController.home')
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 5, 15);
+
+    @Param({"10", "200"})
+    private int habitCount; // Hábitos del usuario
+
+    private StatisticsServiceImpl statisticsService;
+
+    @Setup
+    public void setUp() {
+        List<HabitStatistics> habitStatistics = new ArrayList<>(habitCount);
+        for (long i = 1; i <= habitCount; i++) {
+            habitStatistics.add(new HabitStatistics(i, 1L, 100, i % 100));
+        }
+
+        List<UserDailyStatistics> days = new ArrayList<>();
+        for (LocalDate d = TODAY.withDayOfMonth(1); !d.isAfter(TODAY.withDayOfMonth(TODAY.lengthOfMonth())); d = d.plusDays(1)) {
+            days.add(new UserDailyStatistics(1L, d, habitCount, habitCount / 2));
+        }
+
+        HabitStatisticsRepository habitStatisticsRepository = RepositoryStubs.stub(HabitStatisticsRepository.class,
+                Map.of("findAllByUserId", args -> habitStatistics));
+        UserDailyStatisticsRepository userDailyStatisticsRepository = RepositoryStubs.stub(UserDailyStatisticsRepository.class,
+                Map.of("findByUserIdAndDateBetweenOrderByDateAsc", args -> days));
+
+        statisticsService = new StatisticsServiceImpl(userDailyStatisticsRepository, habitStatisticsRepository, null);
+    }
+
+    @Benchmark
+    public DashboardStatisticsResponseDTO dashboardStatistics() {
+        return statisticsService.getDashboardStatistics(1L, TODAY);
+    }
+
+}
\ No newline at end of file
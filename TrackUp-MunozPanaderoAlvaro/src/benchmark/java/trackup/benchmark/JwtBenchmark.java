@@ -0,0 +1,58 @@
+package trackup.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import trackup.security.JwtUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la generación y validación de tokens JWT
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final int DISTINCT_TOKENS = 50_000; // Más que la caché de tokens verificados: casi todo son fallos
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("benchmark");
+        jwtUtil.validateToken(token); // Queda en la caché de tokens verificados
+
+        JwtUtil generator = new JwtUtil();
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            tokens[i] = generator.generateToken("benchmark-" + i);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark");
+    }
+
+    @Benchmark
+    public Object validateCachedToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Object validateUncachedToken() {
+        String candidate = tokens[next];
+        next = (next + 1) % DISTINCT_TOKENS;
+        return jwtUtil.validateToken(candidate);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package trackup.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import trackup.dto.response.DailyRecordResponseDTO;
+import trackup.dto.response.HabitResponseDTO;
+import trackup.entity.DailyRecord;
+import trackup.entity.Habit;
+import trackup.entity.HabitType;
+import trackup.entity.User;
+import trackup.repository.DailyRecordRepository;
+import trackup.repository.HabitRepository;
+import trackup.services.impl.DailyRecordServiceImpl;
+import trackup.services.impl.HabitServiceImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la conversión de entidades a DTOs en los servicios de hábitos y registros diarios
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"100", "1000"})
+    private int habitCount; // Hábitos que devuelve el repositorio
+
+    private HabitServiceImpl habitService;
+    private DailyRecordServiceImpl dailyRecordService;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        HabitType habitType = new HabitType(1L, "Salud", new ArrayList<>());
+
+        List<Habit> habits = new ArrayList<>(habitCount);
+        for (long i = 1; i <= habitCount; i++) {
+            habits.add(new Habit(i, "Hábito " + i, "Descripción " + i, "DAILY",
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), user, habitType, new ArrayList<>()));
+        }
+        DailyRecord dailyRecord = new DailyRecord(1L, LocalDate.of(2025, 5, 1), true, habits.get(0));
+
+        HabitRepository habitRepository = RepositoryStubs.stub(HabitRepository.class,
+                Map.of("findAllHabitsByUserId", args -> habits));
+        DailyRecordRepository dailyRecordRepository = RepositoryStubs.stub(DailyRecordRepository.class,
+                Map.of("findById", args -> Optional.of(dailyRecord)));
+
+        habitService = new HabitServiceImpl(habitRepository, null, null, null);
+        dailyRecordService = new DailyRecordServiceImpl(dailyRecordRepository, null, habitService, null, null, null);
+    }
+
+    @Benchmark
+    public List<HabitResponseDTO> habitsToDTOs() {
+        return habitService.getAllHabitsByUserId(1L);
+    }
+
+    @Benchmark
+    public Optional<DailyRecordResponseDTO> dailyRecordToDTO() {
+        return dailyRecordService.findDailyRecordById(1L);
+    }
+
+}
\ No newline at end of file
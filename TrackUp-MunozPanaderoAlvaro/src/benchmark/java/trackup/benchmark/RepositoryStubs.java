@@ -0,0 +1,48 @@
+package trackup.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Repositorios falsos para los benchmarks
+ *
+ * Implementa la interfaz del repositorio con un proxy que solo responde a los métodos indicados, de modo que
+ * se mide la lógica del servicio sin base de datos ni el coste de una librería de mocks
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    /**
+     * Crea un repositorio falso
+     *
+     * @param type Interfaz del repositorio
+     * @param answers Respuesta de cada método (por nombre) a partir de sus argumentos
+     * @return Repositorio falso; cualquier otro método lanza UnsupportedOperationException
+     */
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                default:
+                    break;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        return type.cast(proxy);
+    }
+
+}
\ No newline at end of file
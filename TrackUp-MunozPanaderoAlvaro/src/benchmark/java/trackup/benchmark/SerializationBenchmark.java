@@ -0,0 +1,63 @@
+package trackup.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import trackup.dto.response.DailyRecordResponseDTO;
+import trackup.dto.response.HabitResponseDTO;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la serialización JSON de listas de DTOs, como las que devuelve la API
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size; // Número de elementos de cada lista
+
+    private ObjectMapper objectMapper;
+    private List<HabitResponseDTO> habits;
+    private List<DailyRecordResponseDTO> dailyRecords;
+
+    @Setup
+    public void setUp() {
+        // Misma configuración de fechas que Spring Boot: ISO-8601 en lugar de marcas de tiempo
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        habits = new ArrayList<>(size);
+        dailyRecords = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            habits.add(new HabitResponseDTO(i, "Hábito " + i, "Descripción " + i, "DAILY",
+                    start, start.plusYears(1), "Salud", 1L));
+            dailyRecords.add(new DailyRecordResponseDTO(i, start.plusDays(i % 365), i % 2 == 0, i % 50 + 1, 1L, "Hábito " + (i % 50 + 1)));
+        }
+    }
+
+    @Benchmark
+    public void serializeHabits() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), habits);
+    }
+
+    @Benchmark
+    public void serializeDailyRecords() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), dailyRecords);
+    }
+
+}
\ No newline at end of file
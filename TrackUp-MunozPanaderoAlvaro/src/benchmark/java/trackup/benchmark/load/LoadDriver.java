@@ -0,0 +1,350 @@
+package trackup.benchmark.load;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generador de carga sin interfaz contra una instancia de TrackUp en marcha
+ *
+ * Cada hilo inicia sesión con uno de los usuarios sintéticos (ver trackup.seed.DataSeeder), tanto en la API
+ * (JWT) como en la web (sesión), y repite en bucle las peticiones de cada escenario hasta agotar la duración.
+ * Al terminar muestra, por escenario, el número de peticiones, los errores, el rendimiento y los percentiles de latencia
+ *
+ * Uso (con la aplicación arrancada y los datos generados):
+ * mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=trackup.benchmark.load.LoadDriver
+ *     -Dexec.args="--base-url=http://localhost:8080 --users=100 --concurrency=16 --duration=60 --warmup=10"
+ *
+ * Opciones: --base-url, --users, --username-prefix, --password, --concurrency, --duration (s), --warmup (s)
+ * y --out (fichero JSON con los resultados)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class LoadDriver {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final String LOGIN = "login";
+    private static final String HABITS = "habits";
+    private static final String DAILY_RECORDS_PAGE = "daily-records-page";
+    private static final String DAILY_RECORD_UPSERT = "daily-record-upsert";
+    private static final String DASHBOARD = "dashboard";
+    private static final List<String> SCENARIOS = List.of(LOGIN, HABITS, DAILY_RECORDS_PAGE, DAILY_RECORD_UPSERT, DASHBOARD);
+
+    private final String baseUrl;
+    private final int users;
+    private final String usernamePrefix;
+    private final String password;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+
+    public LoadDriver(Map<String, String> options) {
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        this.users = Integer.parseInt(options.getOrDefault("users", "100"));
+        this.usernamePrefix = options.getOrDefault("username-prefix", "seed-user-");
+        this.password = options.getOrDefault("password", "password");
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) { // Formato --clave=valor
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        Map<String, Recorder> results = new LoadDriver(options).run();
+
+        String report = report(results);
+        System.out.println(report);
+        if (options.containsKey("out")) {
+            Files.writeString(Path.of(options.get("out")), toJson(results));
+        }
+    }
+
+    /**
+     * Lanza la carga y espera a que termine
+     *
+     * @return Latencias registradas por escenario (sin las del calentamiento)
+     */
+    public Map<String, Recorder> run() throws InterruptedException {
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(new Worker(usernamePrefix + (i % users + 1)));
+        }
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        // Un hilo virtual por cliente: con miles de clientes el límite debe estar en el servidor, no aquí
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (Worker worker : workers) {
+            executor.execute(() -> {
+                try {
+                    worker.loop(warmupEnd, end);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Se combinan las latencias de todos los hilos
+        Map<String, Recorder> merged = new LinkedHashMap<>();
+        for (String scenario : SCENARIOS) {
+            Recorder recorder = new Recorder(duration);
+            for (Worker worker : workers) {
+                recorder.merge(worker.recorders.get(scenario));
+            }
+            merged.put(scenario, recorder);
+        }
+        return merged;
+    }
+
+    /**
+     * Cliente de un usuario: su propio HttpClient (con sus cookies de sesión) y sus propias latencias
+     */
+    private final class Worker {
+
+        private final String username;
+        private final HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        private final Map<String, Recorder> recorders = new HashMap<>();
+
+        private String token;
+        private Long userId;
+        private Long habitId;
+
+        private Worker(String username) {
+            this.username = username;
+            for (String scenario : SCENARIOS) {
+                recorders.put(scenario, new Recorder(duration));
+            }
+        }
+
+        private void loop(long warmupEnd, long end) {
+            try {
+                setUp();
+            } catch (Exception e) {
+                System.err.println("No se pudo preparar el usuario " + username + ": " + e.getMessage());
+                return;
+            }
+
+            int next = 0;
+            while (System.nanoTime() < end) {
+                String scenario = SCENARIOS.get(next);
+                next = (next + 1) % SCENARIOS.size();
+
+                long start = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = execute(scenario);
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (start >= warmupEnd) { // Las peticiones del calentamiento no cuentan
+                    recorders.get(scenario).record(System.nanoTime() - start, ok);
+                }
+            }
+        }
+
+        /**
+         * Inicia sesión en la API y en la web, y obtiene el ID del usuario y de uno de sus hábitos
+         */
+        private void setUp() throws IOException, InterruptedException {
+            if (!loginApi()) {
+                throw new IOException("login en la API rechazado");
+            }
+
+            HttpResponse<String> user = client.send(authorized("/api/users/user/username/" + username).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            userId = firstLong(ID_PATTERN, user.body());
+
+            HttpResponse<String> habits = client.send(authorized("/api/habits/habits/user/" + userId).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            habitId = firstLong(ID_PATTERN, habits.body());
+
+            String form = "username=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                    + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8);
+            HttpResponse<Void> webLogin = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/perform_login"))
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString(form))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (webLogin.headers().firstValue("Location").map(l -> l.contains("error")).orElse(true)) {
+                throw new IOException("login web rechazado");
+            }
+        }
+
+        private boolean execute(String scenario) throws IOException, InterruptedException {
+            switch (scenario) {
+                case LOGIN:
+                    return loginApi();
+                case HABITS:
+                    return ok(client.send(authorized("/api/habits/habits/user/" + userId).GET().build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                case DAILY_RECORDS_PAGE:
+                    return ok(client.send(authorized("/api/daily-records/daily-records/page?size=50&userId=" + userId).GET().build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                case DAILY_RECORD_UPSERT:
+                    return habitId != null && ok(client.send(authorized("/api/daily-records/daily-record/habit/" + habitId
+                                    + "/date/" + LocalDate.now() + "?completed=true")
+                                    .PUT(HttpRequest.BodyPublishers.noBody()).build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                case DASHBOARD:
+                    return ok(client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/")).GET().build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                default:
+                    throw new IllegalArgumentException(scenario);
+            }
+        }
+
+        private boolean loginApi() throws IOException, InterruptedException {
+            String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = TOKEN_PATTERN.matcher(response.body());
+            if (response.statusCode() != 200 || !matcher.find()) {
+                return false;
+            }
+            token = matcher.group(1);
+            return true;
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token);
+        }
+
+        private boolean ok(HttpResponse<?> response) {
+            return response.statusCode() < 400;
+        }
+
+        private Long firstLong(Pattern pattern, String body) {
+            Matcher matcher = pattern.matcher(body == null ? "" : body);
+            return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+        }
+
+    }
+
+    /**
+     * Latencias y errores de un escenario
+     */
+    static final class Recorder {
+
+        private final Duration duration;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Recorder(Duration duration) {
+            this.duration = duration;
+        }
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        /**
+         * Percentil de latencia en milisegundos (método del rango más cercano)
+         *
+         * @param percentile Percentil entre 0 y 100
+         * @return Latencia en milisegundos
+         */
+        double percentileMs(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+        }
+
+        double throughput() {
+            return count / (double) duration.toSeconds();
+        }
+
+    }
+
+    private static String report(Map<String, Recorder> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-22s %9s %7s %10s %9s %9s %9s %9s%n",
+                "Escenario", "Peticiones", "Errores", "Peticion/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, Recorder> entry : results.entrySet()) {
+            Recorder r = entry.getValue();
+            sb.append(String.format(Locale.ROOT, "%-22s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), r.count, r.errors, r.throughput(),
+                    r.percentileMs(50), r.percentileMs(90), r.percentileMs(99), r.percentileMs(100)));
+        }
+        return sb.toString();
+    }
+
+    private static String toJson(Map<String, Recorder> results) {
+        StringBuilder sb = new StringBuilder("[\n");
+        int i = 0;
+        for (Map.Entry<String, Recorder> entry : results.entrySet()) {
+            Recorder r = entry.getValue();
+            sb.append(String.format(Locale.ROOT,
+                    "  {\"scenario\": \"%s\", \"requests\": %d, \"errors\": %d, \"throughput\": %.2f, "
+                            + "\"p50Ms\": %.3f, \"p90Ms\": %.3f, \"p99Ms\": %.3f, \"maxMs\": %.3f}%s%n",
+                    entry.getKey(), r.count, r.errors, r.throughput(),
+                    r.percentileMs(50), r.percentileMs(90), r.percentileMs(99), r.percentileMs(100),
+                    ++i < results.size() ? "," : ""));
+        }
+        return sb.append("]\n").toString();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package trackup.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro que limita el número de peticiones HTTP atendidas a la vez ('trackup.admission.max-concurrent')
+ *
+ * Casi todas las peticiones bloquean en JDBC, así que atender más de las que admite el pool de conexiones solo
+ * alarga la espera dentro de Hikari. Con hilos virtuales no hay un pool de hilos que haga de límite, y miles de
+ * peticiones simultáneas agotarían las conexiones. Las peticiones esperan aquí en orden de llegada (semáforo justo)
+ * y, si no entran en 'trackup.admission.max-wait', se responden con 503 y 'Retry-After'
+ *
+ * Métricas: 'trackup.admission.active', 'trackup.admission.waiting', 'trackup.admission.wait' y 'trackup.admission.rejected'
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Antes que la seguridad, que también puede consultar la base de datos
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+    private final Semaphore permits; // Un permiso por petición en curso
+    private final Timer waitTimer; // Tiempo de espera de cada petición hasta ser admitida
+    private final Counter rejected; // Peticiones rechazadas por superar la espera máxima
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param properties Límite de peticiones
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public AdmissionFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxConcurrent(), true);
+        this.waitTimer = Timer.builder("trackup.admission.wait")
+                .description("Tiempo de espera de las peticiones hasta ser admitidas")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("trackup.admission.rejected");
+        Gauge.builder("trackup.admission.active", permits, p -> properties.getMaxConcurrent() - p.availablePermits())
+                .description("Peticiones en curso")
+                .register(meterRegistry);
+        Gauge.builder("trackup.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Peticiones esperando a ser admitidas")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        // Los recursos estáticos y las métricas no usan la base de datos y deben responder aunque haya cola
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/actuator") || path.startsWith("/css/") || path.startsWith("/img/") || path.equals("/favicon.ico");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.increment();
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Servidor saturado, inténtalo de nuevo en unos segundos");
+            return;
+        }
+
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) { // Las exportaciones siguen escribiendo (y leyendo de la base de datos) en otro hilo
+                request.getAsyncContext().addListener(new ReleaseListener());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Espera un permiso como mucho 'trackup.admission.max-wait'
+     *
+     * @return true si la petición queda admitida
+     */
+    private boolean acquire() {
+        long start = System.nanoTime();
+        try {
+            return permits.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Devuelve el permiso de una petición asíncrona cuando termina (una sola vez, aunque lleguen varios avisos)
+     */
+    private final class ReleaseListener implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this); // Sigue escuchando si la petición vuelve a pasar a asíncrona
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+    }
+
+}
\ No newline at end of file
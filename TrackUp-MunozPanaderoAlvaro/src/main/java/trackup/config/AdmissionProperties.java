@@ -0,0 +1,46 @@
+package trackup.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Límite de peticiones HTTP en curso ('trackup.admission.*')
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@ConfigurationProperties(prefix = "trackup.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true; // Si es false, no se limita el número de peticiones
+    private int maxConcurrent = 40; // Peticiones atendidas a la vez; el resto espera en orden de llegada
+    private Duration maxWait = Duration.ofSeconds(2); // Tiempo máximo de espera antes de responder 503
+
+    /**
+     * Getters y Setters
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+}
\ No newline at end of file
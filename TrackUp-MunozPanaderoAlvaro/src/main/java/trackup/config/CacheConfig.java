@@ -0,0 +1,79 @@
+package trackup.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché en memoria de la aplicación
+ *
+ * Cada caché tiene un tamaño máximo y un tiempo de vida propios, y registra estadísticas
+ * para que Actuator publique sus aciertos y fallos ('cache.gets'). Si 'spring.cache.type' no es
+ * 'caffeine' (por ejemplo, en los tests) se usa la configuración por defecto de Spring Boot
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Configuration // Indica que esta clase es una clase de configuración
+@EnableCaching // Habilita las anotaciones @Cacheable y @CacheEvict
+public class CacheConfig {
+
+    public static final String HABIT_TYPES = "habitTypes"; // Lista completa de tipos de hábito
+    public static final String HABIT_TYPE_BY_ID = "habitTypeById"; // Tipos de hábito por ID
+    public static final String HABIT_TYPE_BY_NAME = "habitTypeByName"; // Tipos de hábito por nombre
+    public static final String USER_BY_USERNAME = "userByUsername"; // Usuarios por nombre de usuario
+    public static final String USER_PRINCIPALS = "userPrincipals"; // Principales de seguridad por nombre de usuario
+
+    /**
+     * Gestor de cachés basado en Caffeine
+     *
+     * @param habitTypesMaxSize Número máximo de entradas de cada caché de tipos de hábito
+     * @param habitTypesTtl Tiempo de vida de las entradas de tipos de hábito
+     * @param usersMaxSize Número máximo de entradas de la caché de usuarios
+     * @param usersTtl Tiempo de vida de las entradas de usuarios
+     * @param principalsMaxSize Número máximo de principales de seguridad cacheados
+     * @param principalsTtl Tiempo de vida de los principales de seguridad
+     * @return Gestor de cachés
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine")
+    public CacheManager cacheManager(@Value("${trackup.cache.habit-types.max-size:1000}") long habitTypesMaxSize,
+                                     @Value("${trackup.cache.habit-types.ttl:1h}") Duration habitTypesTtl,
+                                     @Value("${trackup.cache.users.max-size:10000}") long usersMaxSize,
+                                     @Value("${trackup.cache.users.ttl:10m}") Duration usersTtl,
+                                     @Value("${trackup.cache.principals.max-size:10000}") long principalsMaxSize,
+                                     @Value("${trackup.cache.principals.ttl:5m}") Duration principalsTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false); // Solo se cachean resultados encontrados
+
+        cacheManager.registerCustomCache(HABIT_TYPES, build(habitTypesMaxSize, habitTypesTtl));
+        cacheManager.registerCustomCache(HABIT_TYPE_BY_ID, build(habitTypesMaxSize, habitTypesTtl));
+        cacheManager.registerCustomCache(HABIT_TYPE_BY_NAME, build(habitTypesMaxSize, habitTypesTtl));
+        cacheManager.registerCustomCache(USER_BY_USERNAME, build(usersMaxSize, usersTtl));
+        cacheManager.registerCustomCache(USER_PRINCIPALS, build(principalsMaxSize, principalsTtl));
+
+        return cacheManager;
+    }
+
+    /**
+     * Crea una caché Caffeine acotada en tamaño y tiempo
+     *
+     * @param maxSize Número máximo de entradas
+     * @param ttl Tiempo de vida de cada entrada desde que se escribe
+     * @return Caché Caffeine
+     */
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats() // Necesario para las métricas de aciertos y fallos
+                .build();
+    }
+
+}
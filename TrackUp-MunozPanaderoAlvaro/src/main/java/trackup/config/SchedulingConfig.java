@@ -0,0 +1,14 @@
+package trackup.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración de las tareas programadas de la aplicación (por ejemplo, el archivado de registros diarios antiguos)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Configuration // Indica que esta clase es una clase de configuración
+@EnableScheduling // Habilita las anotaciones @Scheduled
+public class SchedulingConfig {
+}
@@ -0,0 +1,94 @@
+package trackup.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspecto que mide cada llamada a los servicios de la aplicación
+ *
+ * Registra el temporizador 'trackup.service' con las etiquetas 'service' (interfaz), 'operation' (método),
+ * 'outcome' (SUCCESS o ERROR) y 'exception' (clase de la excepción o 'none'). Cada temporizador incluye también
+ * el número de llamadas, así que sirve a la vez de contador por operación y resultado
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "trackup.service"; // Nombre del temporizador
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> serviceNames = new ConcurrentHashMap<>(); // Nombre del servicio de cada implementación
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param meterRegistry Registro de métricas
+     */
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Mide una llamada a cualquiera de los servicios de negocio
+     *
+     * @param joinPoint Llamada interceptada
+     * @return Resultado del método
+     * @throws Throwable La excepción del método, sin modificar
+     */
+    @Around("execution(* trackup.services.HabitService.*(..))"
+            + " || execution(* trackup.services.GoalService.*(..))"
+            + " || execution(* trackup.services.DailyRecordService.*(..))"
+            + " || execution(* trackup.services.UserService.*(..))"
+            + " || execution(* trackup.services.HabitTypeService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = serviceNames.computeIfAbsent(AopUtils.getTargetClass(joinPoint.getTarget()), ServiceMetricsAspect::serviceName);
+        String operation = joinPoint.getSignature().getName();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = "ERROR";
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Tiempo de las llamadas a los servicios")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Obtiene el nombre del servicio de una implementación: la interfaz que implementa del paquete de servicios
+     *
+     * @param type Clase de la implementación (por ejemplo, HabitServiceImpl)
+     * @return Nombre de la interfaz (por ejemplo, HabitService), o el de la clase si no implementa ninguna
+     */
+    private static String serviceName(Class<?> type) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (candidate.getPackageName().equals("trackup.services")) {
+                return candidate.getSimpleName();
+            }
+        }
+        return type.getSimpleName();
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package trackup.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filtro que cuenta las sentencias SQL y el tiempo JDBC de cada petición HTTP y avisa si se supera el presupuesto
+ *
+ * Las estadísticas quedan en el atributo de la petición STATS_ATTRIBUTE, de modo que los tests de integración
+ * pueden comprobar el número de sentencias de un endpoint (y detectar consultas N+1)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // Tras la admisión y antes que la seguridad, para contar también la carga del usuario autenticado
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlBudgetFilter.class.getName() + ".stats"; // Atributo con las estadísticas
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final SqlBudgetProperties properties;
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param properties Presupuesto de SQL
+     */
+    @Autowired
+    public SqlBudgetFilter(SqlBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementTracker.Stats stats = SqlStatementTracker.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementTracker.stop();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            check(request, stats);
+        }
+    }
+
+    /**
+     * Comprueba el presupuesto de la petición y, si se supera, lo registra con el nombre del endpoint
+     *
+     * @param request Petición HTTP
+     * @param stats Sentencias y tiempo JDBC de la petición
+     */
+    private void check(HttpServletRequest request, SqlStatementTracker.Stats stats) {
+        // Patrón de la ruta (/api/habits/habits/user/{userId}) en lugar de la URI, para agrupar por endpoint
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+
+        int maxStatements = properties.maxStatementsFor(endpoint);
+        if (stats.getStatements() > maxStatements || stats.getJdbcMillis() > properties.getMaxJdbcTime().toMillis()) {
+            log.warn("Presupuesto SQL superado en {} {}: {} sentencias (máx. {}), {} ms en JDBC (máx. {} ms)",
+                    request.getMethod(), endpoint, stats.getStatements(), maxStatements,
+                    stats.getJdbcMillis(), properties.getMaxJdbcTime().toMillis());
+        }
+    }
+
+}
\ No newline at end of file
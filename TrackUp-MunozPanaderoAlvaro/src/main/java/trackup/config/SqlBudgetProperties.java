@@ -0,0 +1,76 @@
+package trackup.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Presupuesto de SQL por petición HTTP ('trackup.sql.budget.*')
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@ConfigurationProperties(prefix = "trackup.sql.budget")
+public class SqlBudgetProperties {
+
+    private boolean enabled = true; // Si es false, no se comprueba el presupuesto
+    private int maxStatements = 10; // Sentencias permitidas por petición
+    private Duration maxJdbcTime = Duration.ofMillis(500); // Tiempo JDBC permitido por petición
+    private Duration slowQueryThreshold = Duration.ofMillis(200); // A partir de este tiempo una sentencia se considera lenta
+    private Map<String, Integer> endpoints = new HashMap<>(); // Sentencias permitidas por patrón de ruta (ej: /api/habits/habits/user/{userId})
+
+    /**
+     * Obtiene el número de sentencias permitidas en una ruta
+     *
+     * @param pattern Patrón de la ruta
+     * @return Sentencias permitidas (las de la ruta o, si no tiene, las generales)
+     */
+    public int maxStatementsFor(String pattern) {
+        return endpoints.getOrDefault(pattern, maxStatements);
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public Duration getMaxJdbcTime() {
+        return maxJdbcTime;
+    }
+
+    public void setMaxJdbcTime(Duration maxJdbcTime) {
+        this.maxJdbcTime = maxJdbcTime;
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    public Map<String, Integer> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Integer> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+}
\ No newline at end of file
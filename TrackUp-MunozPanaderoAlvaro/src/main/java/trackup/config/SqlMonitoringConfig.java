@@ -0,0 +1,85 @@
+package trackup.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Configuración de la monitorización de SQL
+ *
+ * Envuelve el DataSource en un proxy que anota cada ejecución JDBC (de Hibernate o de JdbcTemplate) en la petición
+ * en curso y registra las sentencias lentas. Sustituye a 'hibernate.show_sql', que escribía todas las sentencias
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Configuration // Indica que esta clase es una clase de configuración
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class SqlMonitoringConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMonitoringConfig.class);
+
+    /**
+     * Envuelve los DataSource de la aplicación con el proxy de monitorización
+     * Es estático para registrarse antes de que se cree el DataSource
+     *
+     * @param properties Presupuesto de SQL (para el umbral de sentencias lentas)
+     * @return Post-procesador de beans
+     */
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(ObjectProvider<SqlBudgetProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new StatementListener(properties.getObject().getSlowQueryThreshold().toMillis()))
+                        .build();
+            }
+        };
+    }
+
+    /**
+     * Anota cada ejecución en la petición en curso y avisa de las sentencias lentas
+     */
+    private static final class StatementListener implements QueryExecutionListener {
+
+        private final long slowQueryThresholdMillis;
+
+        private StatementListener(long slowQueryThresholdMillis) {
+            this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            // No se necesita nada antes de la ejecución
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatementTracker.record(execInfo.getElapsedTime());
+
+            if (execInfo.getElapsedTime() >= slowQueryThresholdMillis) {
+                log.warn("Sentencia SQL lenta ({} ms): {}", execInfo.getElapsedTime(),
+                        queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+            }
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package trackup.config;
+
+/**
+ * Contador de las sentencias SQL y del tiempo JDBC de la petición HTTP en curso
+ *
+ * El filtro SqlBudgetFilter inicia y termina el seguimiento en cada petición; el proxy del DataSource anota cada
+ * ejecución. Fuera de una petición (tareas programadas, arranque...) no se anota nada
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    /**
+     * Inicia el seguimiento en el hilo actual
+     *
+     * @return Estadísticas (vacías) de la petición
+     */
+    public static Stats start() {
+        Stats stats = new Stats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Termina el seguimiento en el hilo actual
+     *
+     * @return Estadísticas acumuladas, o null si no había seguimiento
+     */
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * Anota una ejecución JDBC (una sentencia o un lote) si hay seguimiento en el hilo actual
+     *
+     * @param elapsedMillis Tiempo de la ejecución en milisegundos
+     */
+    public static void record(long elapsedMillis) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.jdbcMillis += elapsedMillis;
+        }
+    }
+
+    /**
+     * Sentencias y tiempo JDBC acumulados de una petición
+     */
+    public static final class Stats {
+
+        private int statements; // Ejecuciones JDBC (un lote cuenta como una)
+        private long jdbcMillis; // Tiempo total en JDBC
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getJdbcMillis() {
+            return jdbcMillis;
+        }
+
+    }
+
+}
\ No newline at end of file
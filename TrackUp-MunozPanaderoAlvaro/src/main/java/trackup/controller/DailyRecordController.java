@@ -1,11 +1,19 @@
 package trackup.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import trackup.dto.request.DailyRecordRequestDTO;
+import trackup.dto.response.DailyRecordBulkResponseDTO;
+import trackup.dto.response.DailyRecordPageResponseDTO;
 import trackup.dto.response.DailyRecordResponseDTO;
+import trackup.dto.response.HeatmapResponseDTO;
 import trackup.services.DailyRecordService;
+import trackup.services.StatisticsService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,7 +23,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,15 +45,23 @@ import java.util.Optional;
 @Tag(name = "Daily Records", description = "API para gestión de registros diarios") // Anotación Swagger
 public class DailyRecordController {
 
+    private static final int MAX_BULK_SIZE = 5000; // Número máximo de registros por carga masiva
+
     private final DailyRecordService dailyRecordService; // Servicio de registros diarios
+    private final ObjectMapper objectMapper; // Deserializador JSON para los cuerpos NDJSON
+    private final StatisticsService statisticsService; // Servicio de estadísticas, para el mapa de calor
 
     /**
      * Constructor con inyección de dependencias
      *
      * @param dailyRecordService Servicio de registros diarios
+     * @param objectMapper Deserializador JSON
+     * @param statisticsService Servicio de estadísticas
      */
-    public DailyRecordController(DailyRecordService dailyRecordService) {
+    public DailyRecordController(DailyRecordService dailyRecordService, ObjectMapper objectMapper, StatisticsService statisticsService) {
         this.dailyRecordService = dailyRecordService; // Inyección de dependencias del servicio
+        this.objectMapper = objectMapper;
+        this.statisticsService = statisticsService;
     }
 
     /**
@@ -66,6 +88,87 @@ public class DailyRecordController {
         return ResponseEntity.ok(dailyRecordsList); // Devuelve la lista de registros diarios con un código 200 OK
     }
 
+    /**
+     * Obtiene una página de registros diarios usando paginación por clave (fecha, id)
+     *
+     * GET <a href="http://localhost:8080/api/daily-records/daily-records/page?userId=1&from=2025-01-01&size=50">...</a>
+     *
+     * @param from Fecha mínima (incluida), opcional
+     * @param to Fecha máxima (incluida), opcional
+     * @param habitId ID del hábito, opcional
+     * @param userId ID del usuario, opcional
+     * @param cursor Cursor devuelto en la página anterior, opcional
+     * @param size Número máximo de registros de la página
+     * @return Página de registros diarios con el cursor de la siguiente
+     */
+    @Operation(summary = "Obtener registros paginados", description = "Retorna una página de registros diarios ordenados por fecha e ID, filtrados opcionalmente por rango de fechas, hábito y usuario")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de registros obtenida", content = @Content(schema = @Schema(implementation = DailyRecordPageResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Parámetros o cursor inválidos", content = @Content)
+    })
+    @GetMapping("/daily-records/page")
+    public ResponseEntity<DailyRecordPageResponseDTO> getDailyRecordsPage(
+            @Parameter(description = "Fecha mínima en formato ISO (ej: 2025-01-01)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fecha máxima en formato ISO (ej: 2025-12-31)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "ID del hábito")
+            @RequestParam(required = false) Long habitId,
+            @Parameter(description = "ID del usuario")
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Cursor devuelto en la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (entre 1 y 500)", schema = @Schema(minimum = "1", maximum = "500"))
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        if (size < 1 || (from != null && to != null && from.isAfter(to))) { // Verifica el tamaño y el rango de fechas
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            return ResponseEntity.ok(dailyRecordService.getDailyRecordsPage(from, to, habitId, userId, cursor, size)); // Devuelve la página con un código 200 OK
+        } catch (IllegalArgumentException e) { // El cursor no es válido
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Obtiene el mapa de calor de un usuario a partir de los contadores diarios agregados
+     *
+     * GET <a href="http://localhost:8080/api/daily-records/heatmap?userId=1&from=2025-01-01&to=2025-12-31">...</a>
+     *
+     * @param userId ID del usuario
+     * @param from Primer día (incluido), por defecto un año antes de 'to'
+     * @param to Último día (incluido), por defecto hoy
+     * @return Registros totales y completados de cada día del intervalo
+     */
+    @Operation(summary = "Obtener mapa de calor", description = "Retorna, para cada día del intervalo, el número de registros y de registros completados de un usuario, como arrays con una posición por día")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Mapa de calor obtenido", content = @Content(schema = @Schema(implementation = HeatmapResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "ID o intervalo inválido (máximo dos años)", content = @Content)
+    })
+    @GetMapping("/heatmap")
+    public ResponseEntity<HeatmapResponseDTO> getHeatmap(
+            @Parameter(description = "ID del usuario", required = true) @RequestParam Long userId,
+            @Parameter(description = "Primer día en formato ISO (ej: 2025-01-01)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Último día en formato ISO (ej: 2025-12-31)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (userId < 0) { // Validación de ID negativo
+            return ResponseEntity.badRequest().build();
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1); // Por defecto, el último año
+
+        try {
+            return ResponseEntity.ok(statisticsService.getHeatmap(userId, start, end));
+        } catch (IllegalArgumentException e) { // Intervalo invertido o demasiado largo
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Obtiene un registro diario por su ID
      *
@@ -161,7 +264,7 @@ public class DailyRecordController {
      * @param dailyRecordRequestDTO Datos del registro diario que se va a crear
      * @return Registro diario creado
      */
-    @Operation(summary = "Crear nuevo registro", description = "Registra un nuevo registro diario en el sistema")
+    @Operation(summary = "Crear nuevo registro", description = "Registra un nuevo registro diario en el sistema. Si ya existe uno para el mismo hábito y fecha, actualiza su estado en lugar de duplicarlo")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Registro creado exitosamente", content = @Content(schema = @Schema(implementation = DailyRecordResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Datos inválidos", content = @Content)
@@ -179,8 +282,79 @@ public class DailyRecordController {
             return ResponseEntity.badRequest().build();
         }
 
-        DailyRecordResponseDTO createdDailyRecord = dailyRecordService.createDailyRecord(dailyRecordRequestDTO);
-        return ResponseEntity.ok(createdDailyRecord);
+        try {
+            DailyRecordResponseDTO createdDailyRecord = dailyRecordService.createDailyRecord(dailyRecordRequestDTO);
+            return ResponseEntity.ok(createdDailyRecord);
+        } catch (IllegalArgumentException e) { // La fecha pertenece al periodo archivado
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Crea varios registros diarios a partir de un array JSON
+     *
+     * POST <a href="http://localhost:8080/api/daily-records/daily-records/bulk">...</a>
+     *
+     * @param dailyRecordRequestDTOs Datos de los registros diarios que se van a crear
+     * @return Resultado de cada elemento
+     */
+    @Operation(summary = "Crear registros en bloque", description = "Crea varios registros diarios en una sola petición (array JSON) e informa del resultado de cada uno")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Carga procesada", content = @Content(schema = @Schema(implementation = DailyRecordBulkResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cuerpo vacío, mal formado o demasiado grande", content = @Content)
+    })
+    @PostMapping(value = "/daily-records/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DailyRecordBulkResponseDTO> createDailyRecords(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Lista de registros a crear",
+                    required = true
+            )
+            @RequestBody List<DailyRecordRequestDTO> dailyRecordRequestDTOs
+    ) {
+        if (dailyRecordRequestDTOs == null || dailyRecordRequestDTOs.isEmpty() || dailyRecordRequestDTOs.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(dailyRecordService.createDailyRecords(dailyRecordRequestDTOs));
+    }
+
+    /**
+     * Crea varios registros diarios a partir de un cuerpo NDJSON (un registro JSON por línea)
+     *
+     * POST <a href="http://localhost:8080/api/daily-records/daily-records/bulk">...</a>
+     *
+     * @param body Cuerpo de la petición
+     * @return Resultado de cada elemento
+     * @throws IOException si falla la lectura del cuerpo
+     */
+    @Operation(summary = "Crear registros en bloque (NDJSON)", description = "Crea varios registros diarios a partir de un registro JSON por línea e informa del resultado de cada uno")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Carga procesada", content = @Content(schema = @Schema(implementation = DailyRecordBulkResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cuerpo vacío, mal formado o demasiado grande", content = @Content)
+    })
+    @PostMapping(value = "/daily-records/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<DailyRecordBulkResponseDTO> createDailyRecordsNdjson(InputStream body) throws IOException {
+        List<DailyRecordRequestDTO> dailyRecordRequestDTOs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) { // Se ignoran las líneas vacías
+                    continue;
+                }
+                if (dailyRecordRequestDTOs.size() == MAX_BULK_SIZE) { // Se corta antes de leer el resto del cuerpo
+                    return ResponseEntity.badRequest().build();
+                }
+                dailyRecordRequestDTOs.add(objectMapper.readValue(line, DailyRecordRequestDTO.class));
+            }
+        } catch (JsonProcessingException e) { // Alguna línea no es un JSON válido
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (dailyRecordRequestDTOs.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(dailyRecordService.createDailyRecords(dailyRecordRequestDTOs));
     }
 
     /**
@@ -198,7 +372,8 @@ public class DailyRecordController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Registro actualizado exitosamente", content = @Content(schema = @Schema(implementation = DailyRecordResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Datos inválidos", content = @Content),
-            @ApiResponse(responseCode = "404", description = "Registro no encontrado", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Registro no encontrado", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Ya existe un registro para ese hábito y fecha", content = @Content)
     })
     @PutMapping("/daily-record/{id}")
     public ResponseEntity<DailyRecordResponseDTO> updateDailyRecord(
@@ -214,8 +389,49 @@ public class DailyRecordController {
             return ResponseEntity.badRequest().build();  // Devuelve error si el ID es negativo o el objeto es nulo
         }
 
-        DailyRecordResponseDTO updatedDailyRecord = dailyRecordService.updateDailyRecord(id, dailyRecordRequestDTO); // Actualiza el registro diario
-        return ResponseEntity.ok(updatedDailyRecord); // Devuelve el registro diario actualizado con un código 200 OK
+        try {
+            DailyRecordResponseDTO updatedDailyRecord = dailyRecordService.updateDailyRecord(id, dailyRecordRequestDTO); // Actualiza el registro diario
+            return ResponseEntity.ok(updatedDailyRecord); // Devuelve el registro diario actualizado con un código 200 OK
+        } catch (IllegalArgumentException e) { // Ya existe otro registro para ese hábito y fecha, o la fecha está archivada
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Marca el estado de un hábito en un día: crea el registro si no existe o actualiza el existente
+     *
+     * PUT <a href="http://localhost:8080/api/daily-records/daily-record/habit/1/date/2025-05-01?completed=true">...</a>
+     *
+     * @param habitId ID del hábito
+     * @param date Fecha del registro
+     * @param completed Indica si el hábito se ha completado
+     * @return Registro diario resultante
+     */
+    @Operation(summary = "Marcar hábito en un día", description = "Crea o actualiza de forma idempotente el registro de un hábito en una fecha con una sola escritura")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Registro creado o actualizado", content = @Content(schema = @Schema(implementation = DailyRecordResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Datos inválidos", content = @Content)
+    })
+    @PutMapping("/daily-record/habit/{habitId}/date/{date}")
+    public ResponseEntity<DailyRecordResponseDTO> upsertDailyRecord(
+            @Parameter(description = "ID del hábito", required = true) @PathVariable Long habitId,
+            @Parameter(description = "Fecha en formato ISO (ej: 2025-05-01)", required = true)
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Estado de completado", required = true) @RequestParam Boolean completed
+    ) {
+        if (habitId < 0) { // Verifica si el ID es negativo
+            return ResponseEntity.badRequest().build();
+        }
+
+        DailyRecordRequestDTO dailyRecordRequestDTO = new DailyRecordRequestDTO();
+        dailyRecordRequestDTO.setHabitId(habitId);
+        dailyRecordRequestDTO.setDate(date);
+        dailyRecordRequestDTO.setCompleted(completed);
+        try {
+            return ResponseEntity.ok(dailyRecordService.upsertDailyRecord(dailyRecordRequestDTO));
+        } catch (IllegalArgumentException e) { // La fecha pertenece al periodo archivado
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
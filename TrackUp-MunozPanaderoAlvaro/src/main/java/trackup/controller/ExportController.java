@@ -0,0 +1,97 @@
+package trackup.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import trackup.services.ExportService;
+import trackup.services.UserService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controlador REST para exportar el histórico de los usuarios
+ *
+ * Acceso: <a href="http://localhost:8080/api/export">...</a>
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@RestController // Indica que esta clase es un controlador REST
+@RequestMapping("/api/export") // Prefijo para todas las rutas de este controlador
+@Tag(name = "Export", description = "API para exportación de datos") // Anotación Swagger
+public class ExportController {
+
+    private final ExportService exportService; // Servicio de exportación
+    private final UserService userService; // Servicio de usuarios
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param exportService Servicio de exportación
+     * @param userService Servicio de usuarios
+     */
+    public ExportController(ExportService exportService, UserService userService) {
+        this.exportService = exportService;
+        this.userService = userService;
+    }
+
+    /**
+     * Exporta el histórico completo de un usuario en formato NDJSON
+     *
+     * GET <a href="http://localhost:8080/api/export/user/1?gzip=true">...</a>
+     *
+     * @param userId ID del usuario
+     * @param gzip Indica si la respuesta se comprime con gzip
+     * @return Cuerpo de la respuesta que se escribe a medida que se leen los datos
+     */
+    @Operation(summary = "Exportar histórico de un usuario", description = "Devuelve los hábitos, metas y registros diarios del usuario como JSON delimitado por líneas, opcionalmente comprimido con gzip")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exportación iniciada", content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "400", description = "ID inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Usuario no encontrado", content = @Content)
+    })
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<StreamingResponseBody> exportUserHistory(
+            @Parameter(description = "ID del usuario", required = true, schema = @Schema(minimum = "0"))
+            @PathVariable Long userId,
+            @Parameter(description = "Comprimir la respuesta con gzip")
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        if (userId < 0) { // Verifica si el ID es negativo
+            return ResponseEntity.badRequest().build();
+        }
+        if (userService.findUserById(userId).isEmpty()) { // Verifica que el usuario existe antes de empezar a escribir
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                // Al cerrarse escribe el final del fichero comprimido y libera el Deflater, sin cerrar la respuesta
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(StreamUtils.nonClosing(outputStream), true)) {
+                    exportService.exportUserHistory(userId, gzipOutputStream);
+                }
+            } else {
+                exportService.exportUserHistory(userId, outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trackup-user-" + userId + ".ndjson\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+}
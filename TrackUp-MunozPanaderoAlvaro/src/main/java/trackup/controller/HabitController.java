@@ -1,10 +1,15 @@
 package trackup.controller;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import trackup.dto.request.HabitRequestDTO;
+import trackup.dto.response.HabitCalendarResponseDTO;
 import trackup.dto.response.HabitResponseDTO;
+import trackup.dto.response.HabitStreakResponseDTO;
+import trackup.services.HabitCalendarService;
 import trackup.services.HabitService;
+import trackup.services.StreakService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +19,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,14 +36,20 @@ import java.util.Optional;
 public class HabitController {
 
     private final HabitService habitService; // Servicio de hábitos
+    private final StreakService streakService; // Servicio de rachas
+    private final HabitCalendarService habitCalendarService; // Servicio de calendarios de hábitos
 
     /**
      * Constructor con inyección de dependencias
      *
      * @param habitService Servicio de hábitos
+     * @param streakService Servicio de rachas
+     * @param habitCalendarService Servicio de calendarios de hábitos
      */
-    public HabitController(HabitService habitService) {
+    public HabitController(HabitService habitService, StreakService streakService, HabitCalendarService habitCalendarService) {
         this.habitService = habitService;
+        this.streakService = streakService;
+        this.habitCalendarService = habitCalendarService;
     }
 
     /**
@@ -251,4 +263,94 @@ public class HabitController {
         }
     }
 
+    /**
+     * Obtener la racha de un hábito
+     *
+     * GET <a href="http://localhost:8080/api/habits/habit/1/streak">...</a>
+     *
+     * @param id ID del hábito
+     * @return Racha actual y racha más larga del hábito
+     */
+    @Operation(summary = "Obtener racha de un hábito", description = "Retorna la racha actual, la racha más larga y el último día completado de un hábito")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Racha encontrada", content = @Content(schema = @Schema(implementation = HabitStreakResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "ID inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "El hábito no existe o nunca se ha completado", content = @Content)
+    })
+    @GetMapping("/habit/{id}/streak")
+    public ResponseEntity<HabitStreakResponseDTO> getHabitStreak(
+            @Parameter(description = "ID del hábito (debe ser positivo)", required = true, schema = @Schema(minimum = "0"))
+            @PathVariable Long id
+    ) {
+        if (id < 0) { // Validación de ID negativo
+            return ResponseEntity.badRequest().build();
+        }
+
+        return streakService.getStreakByHabitId(id, LocalDate.now()) // Lee la racha mantenida, sin recorrer el histórico
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Obtener las rachas de todos los hábitos de un usuario
+     *
+     * GET <a href="http://localhost:8080/api/habits/habits/user/1/streaks">...</a>
+     *
+     * @param userId ID del usuario
+     * @return Lista de rachas de los hábitos del usuario
+     */
+    @Operation(summary = "Obtener rachas por usuario", description = "Retorna las rachas de los hábitos de un usuario que se han completado alguna vez")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de rachas encontrada", content = @Content(schema = @Schema(implementation = HabitStreakResponseDTO.class))),
+            @ApiResponse(responseCode = "204", description = "No hay rachas registradas", content = @Content),
+            @ApiResponse(responseCode = "400", description = "ID inválido", content = @Content)
+    })
+    @GetMapping("/habits/user/{userId}/streaks")
+    public ResponseEntity<List<HabitStreakResponseDTO>> getHabitStreaksByUserId(
+            @Parameter(description = "ID del usuario", required = true) @PathVariable Long userId
+    ) {
+        if (userId < 0) { // Validación de ID negativo
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<HabitStreakResponseDTO> streaks = streakService.getStreaksByUserId(userId, LocalDate.now()); // Una fila por hábito
+        if (streaks.isEmpty()) { // Si la lista está vacía, devuelve un código 204 No Content
+            return ResponseEntity.noContent().build();
+        }
+
+        return ResponseEntity.ok(streaks);
+    }
+
+    /**
+     * Obtener el calendario de un hábito entre dos fechas
+     *
+     * GET <a href="http://localhost:8080/api/habits/habit/1/calendar?from=2025-04-01&to=2025-04-30">...</a>
+     *
+     * @param id ID del hábito
+     * @param from Fecha de inicio (incluida)
+     * @param to Fecha de fin (incluida)
+     * @return Días registrados y completados del hábito en el intervalo
+     */
+    @Operation(summary = "Obtener calendario de un hábito", description = "Retorna los días completados y el porcentaje de cumplimiento de un hábito en un intervalo de fechas")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Calendario encontrado", content = @Content(schema = @Schema(implementation = HabitCalendarResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "ID o intervalo inválido", content = @Content),
+            @ApiResponse(responseCode = "404", description = "El hábito no existe o no tiene registros diarios", content = @Content)
+    })
+    @GetMapping("/habit/{id}/calendar")
+    public ResponseEntity<HabitCalendarResponseDTO> getHabitCalendar(
+            @Parameter(description = "ID del hábito (debe ser positivo)", required = true, schema = @Schema(minimum = "0"))
+            @PathVariable Long id,
+            @Parameter(description = "Fecha de inicio (yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Fecha de fin (yyyy-MM-dd)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (id < 0 || to.isBefore(from)) { // Validación de ID negativo e intervalo invertido
+            return ResponseEntity.badRequest().build();
+        }
+
+        return habitCalendarService.getCalendar(id, from, to) // Cuenta bits del calendario, sin recorrer registros diarios
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
 }
\ No newline at end of file
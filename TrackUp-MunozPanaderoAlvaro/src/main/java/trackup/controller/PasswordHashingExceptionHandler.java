@@ -0,0 +1,36 @@
+package trackup.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import trackup.security.PasswordHashingUnavailableException;
+
+import java.util.Map;
+
+/**
+ * Traduce la saturación del pool de hashes de contraseñas a una respuesta 503 en todos los controladores
+ *
+ * Alta y modificación de usuarios (API y formulario de registro) codifican la contraseña: si el pool está
+ * saturado no es un error del servidor (500) sino un servicio momentáneamente ocupado
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@ControllerAdvice // Se aplica a los controladores REST y de vistas
+public class PasswordHashingExceptionHandler {
+
+    /**
+     * Responde 503 con un 'Retry-After' cuando no se ha podido calcular el hash de una contraseña
+     *
+     * @param e Excepción lanzada por el codificador
+     * @return Respuesta 503 con el mensaje de error
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingUnavailable(PasswordHashingUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Servicio ocupado, inténtalo de nuevo más tarde"));
+    }
+
+}
@@ -6,6 +6,7 @@ import trackup.dto.request.UserRequestDTO;
 import trackup.dto.response.GoalResponseDTO;
 import trackup.dto.response.HabitResponseDTO;
 import trackup.dto.response.UserResponseDTO;
+import trackup.security.PasswordHashingUnavailableException;
 import trackup.services.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -253,6 +254,8 @@ public class UserController {
         try {
             UserResponseDTO updatedUser = userService.updateUser(id, userRequestDTO); // Actualiza el usuario a partir del ID y el objeto UserRequestDTO
             return ResponseEntity.ok(updatedUser); // Devuelve el usuario actualizado con un código 200 OK
+        } catch (PasswordHashingUnavailableException e) {
+            throw e; // No es que el usuario no exista: se responde 503 (ver PasswordHashingExceptionHandler)
         } catch (RuntimeException e) { // Captura cualquier excepción que se produzca al actualizar el usuario
             return ResponseEntity.notFound().build(); // Devuelve un error 404 Not Found si el usuario no existe
         }
@@ -3,6 +3,7 @@ package trackup.controller.auth;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -72,6 +73,10 @@ public class AuthController {
             String jwt = jwtUtil.generateToken(userDetails.getUsername());
 
             return ResponseEntity.ok(new AuthResponse(jwt));
+        } catch (AuthenticationServiceException e) {
+            // El pool de hashes está saturado: no es un fallo de credenciales
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Servicio ocupado, inténtalo de nuevo más tarde"));
         } catch (AuthenticationException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Credenciales incorrectas"));
@@ -8,9 +8,12 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import trackup.dto.request.DailyRecordRequestDTO;
 import trackup.dto.response.DailyRecordResponseDTO;
+import trackup.dto.response.DashboardStatisticsResponseDTO;
 import trackup.dto.response.HabitResponseDTO;
 import trackup.services.DailyRecordService;
+import trackup.services.HabitCalendarService;
 import trackup.services.HabitService;
+import trackup.services.StatisticsService;
 import trackup.services.UserService;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -31,13 +34,19 @@ public class DailyRecordWebController {
     private final DailyRecordService dailyRecordService;
     private final HabitService habitService;
     private final UserService userService;
+    private final StatisticsService statisticsService;
+    private final HabitCalendarService habitCalendarService;
 
     public DailyRecordWebController(DailyRecordService dailyRecordService,
                                     HabitService habitService,
-                                    UserService userService) {
+                                    UserService userService,
+                                    StatisticsService statisticsService,
+                                    HabitCalendarService habitCalendarService) {
         this.dailyRecordService = dailyRecordService;
         this.habitService = habitService;
         this.userService = userService;
+        this.statisticsService = statisticsService;
+        this.habitCalendarService = habitCalendarService;
     }
 
     private Long getCurrentUserId() {
@@ -61,70 +70,60 @@ public class DailyRecordWebController {
         }
         Long uid = (userId == null ? current : userId);
 
-        List<DailyRecordResponseDTO> allRecords = dailyRecordService.getAllDailyRecordsByUserId(uid);
         List<HabitResponseDTO> habits = habitService.getAllHabitsByUserId(uid);
 
         LocalDate today = LocalDate.now();
 
-        long overallCompleted = allRecords.stream().filter(DailyRecordResponseDTO::getCompleted).count();
-        long overallNotCompleted = allRecords.size() - overallCompleted;
+        // Totales históricos, semanales y mensuales a partir de los contadores agregados
+        DashboardStatisticsResponseDTO statistics = statisticsService.getDashboardStatistics(uid, today);
 
-        LocalDate startOfWeek = today.with(DayOfWeek.MONDAY);
-        LocalDate endOfWeek = today.with(DayOfWeek.SUNDAY);
-        List<DailyRecordResponseDTO> recordsThisWeek = allRecords.stream()
-                .filter(r -> !r.getDate().isBefore(startOfWeek) && !r.getDate().isAfter(endOfWeek))
-                .toList();
-        long weeklyCompleted = recordsThisWeek.stream().filter(DailyRecordResponseDTO::getCompleted).count();
-        long weeklyTotal = recordsThisWeek.size();
+        long overallCompleted = statistics.getCompletedCount();
+        long overallNotCompleted = statistics.getNotCompletedCount();
+
+        long weeklyCompleted = statistics.getWeeklyCompleted();
+        long weeklyTotal = statistics.getWeeklyTotal();
         long weeklyNotCompleted = weeklyTotal - weeklyCompleted;
 
-        LocalDate startOfMonth = today.withDayOfMonth(1);
-        LocalDate endOfMonth = today.withDayOfMonth(today.lengthOfMonth());
-        List<DailyRecordResponseDTO> recordsThisMonth = allRecords.stream()
-                .filter(r -> !r.getDate().isBefore(startOfMonth) && !r.getDate().isAfter(endOfMonth))
-                .toList();
-        long monthlyCompleted = recordsThisMonth.stream().filter(DailyRecordResponseDTO::getCompleted).count();
-        long monthlyTotal = recordsThisMonth.size();
+        long monthlyCompleted = statistics.getMonthlyCompleted();
+        long monthlyTotal = statistics.getMonthlyTotal();
         long monthlyNotCompleted = monthlyTotal - monthlyCompleted;
 
-        List<DailyRecordResponseDTO> recordsForTable;
+        LocalDate from;
+        LocalDate to;
 
         switch (filter.toLowerCase()) {
             case "last7days":
-                final LocalDate startDate7Days = today.minusDays(6);
-                recordsForTable = allRecords.stream()
-                        .filter(r -> !r.getDate().isBefore(startDate7Days) && !r.getDate().isAfter(today))
-                        .toList();
+                from = today.minusDays(6);
+                to = today;
                 break;
             case "thisweek":
-                final LocalDate startDateFilterThisWeek = today.with(DayOfWeek.MONDAY);
-                final LocalDate endDateFilterThisWeek = today.with(DayOfWeek.SUNDAY);
-                recordsForTable = allRecords.stream()
-                        .filter(r -> !r.getDate().isBefore(startDateFilterThisWeek) && !r.getDate().isAfter(endDateFilterThisWeek))
-                        .toList();
+                from = today.with(DayOfWeek.MONDAY);
+                to = today.with(DayOfWeek.SUNDAY);
                 break;
             case "thismonth":
-                final LocalDate startDateFilterThisMonth = today.withDayOfMonth(1);
-                final LocalDate endDateFilterThisMonth = today.withDayOfMonth(today.lengthOfMonth());
-                recordsForTable = allRecords.stream()
-                        .filter(r -> !r.getDate().isBefore(startDateFilterThisMonth) && !r.getDate().isAfter(endDateFilterThisMonth))
-                        .toList();
+                from = today.withDayOfMonth(1);
+                to = today.withDayOfMonth(today.lengthOfMonth());
                 break;
             default:
-                recordsForTable = allRecords;
+                from = null;
+                to = null;
                 break;
         }
 
+        // Solo se cargan las filas que se muestran; los porcentajes salen de los calendarios de bits (una fila por hábito)
+        List<DailyRecordResponseDTO> recordsForTable;
+        Map<Long, Double> percentages;
+        if (from == null) {
+            recordsForTable = dailyRecordService.getAllDailyRecordsByUserId(uid);
+            percentages = statistics.getHabitCompletionPercentage();
+        } else {
+            recordsForTable = dailyRecordService.getDailyRecordsByUserIdBetween(uid, from, to);
+            percentages = habitCalendarService.getCompletionPercentageByUserIdBetween(uid, from, to);
+        }
+
         Map<Long, Double> habitCompletionPercentage = new HashMap<>();
         for (HabitResponseDTO habit : habits) {
-            long totalPorHabit = recordsForTable.stream()
-                    .filter(r -> r.getHabitId().equals(habit.getId()))
-                    .count();
-            long completedPorHabit = recordsForTable.stream()
-                    .filter(r -> r.getHabitId().equals(habit.getId()) && r.getCompleted())
-                    .count();
-            double pct = (totalPorHabit == 0) ? 0.0
-                    : (completedPorHabit * 100.0 / totalPorHabit);
+            double pct = percentages.getOrDefault(habit.getId(), 0.0);
             habitCompletionPercentage.put(habit.getId(), Math.round(pct * 10.0) / 10.0);
         }
 
@@ -210,12 +209,16 @@ public class DailyRecordWebController {
         Long uid = getCurrentUserId();
         dto.setUserId(uid);
 
-        if (recordId == null) {
-            dailyRecordService.createDailyRecord(dto);
-            ra.addFlashAttribute("successMsg", "Registro creado correctamente.");
-        } else {
-            dailyRecordService.updateDailyRecord(recordId, dto);
-            ra.addFlashAttribute("successMsg", "Registro actualizado correctamente.");
+        try {
+            if (recordId == null) {
+                dailyRecordService.createDailyRecord(dto);
+                ra.addFlashAttribute("successMsg", "Registro creado correctamente.");
+            } else {
+                dailyRecordService.updateDailyRecord(recordId, dto);
+                ra.addFlashAttribute("successMsg", "Registro actualizado correctamente.");
+            }
+        } catch (IllegalArgumentException e) { // Fecha archivada o registro duplicado
+            ra.addFlashAttribute("errorMsg", e.getMessage());
         }
 
         return "redirect:/daily-records/user/" + uid;
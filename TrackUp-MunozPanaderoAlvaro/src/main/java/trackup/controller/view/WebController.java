@@ -9,16 +9,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 import trackup.dto.response.HabitResponseDTO;
 import trackup.dto.response.GoalResponseDTO;
 import trackup.dto.response.DailyRecordResponseDTO;
+import trackup.dto.response.DashboardStatisticsResponseDTO;
 import trackup.dto.response.UserResponseDTO;
 import trackup.services.DailyRecordService;
 import trackup.services.GoalService;
 import trackup.services.HabitService;
+import trackup.services.StatisticsService;
 import trackup.services.UserService;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Controlador para manejar las vistas de la aplicación web.
@@ -28,6 +29,8 @@ import java.util.stream.Collectors;
 @Controller
 public class WebController {
 
+    private static final int RECENT_RECORDS_LIMIT = 10; // Número de registros recientes que se muestran en el panel
+
     @Autowired
     private HabitService habitService;
 
@@ -40,6 +43,9 @@ public class WebController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
     @GetMapping("/")
     public String home(Model model) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -60,66 +66,22 @@ public class WebController {
         List<GoalResponseDTO> goals = goalService.getAllGoalsByUserId(userId);
         model.addAttribute("goals", goals);
 
-        List<DailyRecordResponseDTO> records = dailyRecordService.getAllDailyRecordsByUserId(userId);
+        List<DailyRecordResponseDTO> records = dailyRecordService.getRecentDailyRecordsByUserId(userId, RECENT_RECORDS_LIMIT);
         model.addAttribute("records", records);
 
-        LocalDate today = LocalDate.now();
-
-        long completedCount = records.stream()
-                .filter(r -> Boolean.TRUE.equals(r.getCompleted()))
-                .count();
-        long notCompletedCount = records.size() - completedCount;
-        model.addAttribute("completedCount", completedCount);
-        model.addAttribute("notCompletedCount", notCompletedCount);
-
-        LocalDate startOfWeek = today.with(DayOfWeek.MONDAY);
-        LocalDate endOfWeek = today.with(DayOfWeek.SUNDAY);
-
-        List<DailyRecordResponseDTO> weeklyRecords = records.stream()
-                .filter(r -> {
-                    LocalDate d = r.getDate();
-                    return d != null && !d.isBefore(startOfWeek) && !d.isAfter(endOfWeek);
-                })
-                .collect(Collectors.toList());
-        long weeklyTotal = weeklyRecords.size();
-        long weeklyCompleted = weeklyRecords.stream()
-                .filter(r -> Boolean.TRUE.equals(r.getCompleted()))
-                .count();
-        model.addAttribute("weeklyTotal", weeklyTotal);
-        model.addAttribute("weeklyCompleted", weeklyCompleted);
-
-        LocalDate startOfMonth = today.withDayOfMonth(1);
-        LocalDate endOfMonth = today.withDayOfMonth(today.lengthOfMonth());
-
-        List<DailyRecordResponseDTO> monthlyRecords = records.stream()
-                .filter(r -> {
-                    LocalDate d = r.getDate();
-                    return d != null && !d.isBefore(startOfMonth) && !d.isAfter(endOfMonth);
-                })
-                .collect(Collectors.toList());
-        long monthlyTotal = monthlyRecords.size();
-        long monthlyCompleted = monthlyRecords.stream()
-                .filter(r -> Boolean.TRUE.equals(r.getCompleted()))
-                .count();
-        model.addAttribute("monthlyTotal", monthlyTotal);
-        model.addAttribute("monthlyCompleted", monthlyCompleted);
-
-        Map<Long, Double> habitCompletionPercentage = habits.stream()
-                .collect(Collectors.toMap(
-                        HabitResponseDTO::getId,
-                        habitDto -> {
-                            List<DailyRecordResponseDTO> registrosDelHabit = records.stream()
-                                    .filter(r -> r.getHabitId().equals(habitDto.getId()))
-                                    .collect(Collectors.toList());
-                            if (registrosDelHabit.isEmpty()) {
-                                return 0.0;
-                            }
-                            long completadosPorHabit = registrosDelHabit.stream()
-                                    .filter(r -> Boolean.TRUE.equals(r.getCompleted()))
-                                    .count();
-                            return (100.0 * completadosPorHabit) / registrosDelHabit.size();
-                        }
-                ));
+        // Las estadísticas se leen de los contadores agregados, sin recorrer el histórico de registros
+        DashboardStatisticsResponseDTO statistics = statisticsService.getDashboardStatistics(userId, LocalDate.now());
+        model.addAttribute("completedCount", statistics.getCompletedCount());
+        model.addAttribute("notCompletedCount", statistics.getNotCompletedCount());
+        model.addAttribute("weeklyTotal", statistics.getWeeklyTotal());
+        model.addAttribute("weeklyCompleted", statistics.getWeeklyCompleted());
+        model.addAttribute("monthlyTotal", statistics.getMonthlyTotal());
+        model.addAttribute("monthlyCompleted", statistics.getMonthlyCompleted());
+
+        Map<Long, Double> habitCompletionPercentage = new HashMap<>();
+        for (HabitResponseDTO habit : habits) { // Los hábitos sin registros aparecen con un 0%
+            habitCompletionPercentage.put(habit.getId(), statistics.getHabitCompletionPercentage().getOrDefault(habit.getId(), 0.0));
+        }
         model.addAttribute("habitCompletionPercentage", habitCompletionPercentage);
         return "index";
     }
@@ -0,0 +1,103 @@
+package trackup.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO con el resultado de un elemento de una carga masiva de registros diarios
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Schema(name = "DailyRecordBulkItemResult", description = "Resultado de un elemento de una carga masiva de registros diarios")
+public class DailyRecordBulkItemResultDTO {
+
+    @Schema(description = "Posición del elemento en la petición (empezando en 0)", example = "0")
+    private int index; // Posición del elemento en la petición
+
+    @Schema(description = "Indica si el registro se ha creado", example = "true")
+    private boolean success; // Indica si el registro se ha creado
+
+    @Schema(description = "ID del registro creado", example = "123", nullable = true)
+    private Long id; // ID del registro creado
+
+    @Schema(description = "Motivo del fallo", example = "Hábito no encontrado", nullable = true)
+    private String error; // Motivo del fallo
+
+    /**
+     * Constructor vacío del DTO
+     */
+    public DailyRecordBulkItemResultDTO() {
+    }
+
+    /**
+     * Constructor con parámetros del DTO
+     *
+     * @param index Posición del elemento en la petición
+     * @param success Indica si el registro se ha creado
+     * @param id ID del registro creado
+     * @param error Motivo del fallo
+     */
+    public DailyRecordBulkItemResultDTO(int index, boolean success, Long id, String error) {
+        this.index = index;
+        this.success = success;
+        this.id = id;
+        this.error = error;
+    }
+
+    /**
+     * Crea un resultado correcto
+     *
+     * @param index Posición del elemento en la petición
+     * @param id ID del registro creado
+     * @return Resultado correcto
+     */
+    public static DailyRecordBulkItemResultDTO created(int index, Long id) {
+        return new DailyRecordBulkItemResultDTO(index, true, id, null);
+    }
+
+    /**
+     * Crea un resultado fallido
+     *
+     * @param index Posición del elemento en la petición
+     * @param error Motivo del fallo
+     * @return Resultado fallido
+     */
+    public static DailyRecordBulkItemResultDTO failed(int index, String error) {
+        return new DailyRecordBulkItemResultDTO(index, false, null, error);
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+}
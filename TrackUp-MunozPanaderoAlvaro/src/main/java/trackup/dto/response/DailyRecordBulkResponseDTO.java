@@ -0,0 +1,68 @@
+package trackup.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para la respuesta de una carga masiva de registros diarios
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Schema(name = "DailyRecordBulkResponse", description = "DTO con el resultado de una carga masiva de registros diarios")
+public class DailyRecordBulkResponseDTO {
+
+    @Schema(description = "Número de registros creados", example = "98")
+    private int created; // Número de registros creados
+
+    @Schema(description = "Número de registros rechazados", example = "2")
+    private int failed; // Número de registros rechazados
+
+    @Schema(description = "Resultado de cada elemento, en el orden de la petición")
+    private List<DailyRecordBulkItemResultDTO> results = new ArrayList<>(); // Resultado de cada elemento
+
+    /**
+     * Constructor vacío del DTO
+     */
+    public DailyRecordBulkResponseDTO() {
+    }
+
+    /**
+     * Constructor con parámetros del DTO
+     *
+     * @param results Resultado de cada elemento
+     */
+    public DailyRecordBulkResponseDTO(List<DailyRecordBulkItemResultDTO> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(DailyRecordBulkItemResultDTO::isSuccess).count();
+        this.failed = results.size() - created;
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<DailyRecordBulkItemResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<DailyRecordBulkItemResultDTO> results) {
+        this.results = results;
+    }
+
+}
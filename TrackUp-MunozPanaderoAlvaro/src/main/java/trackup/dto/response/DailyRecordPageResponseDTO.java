@@ -0,0 +1,73 @@
+package trackup.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para las respuestas paginadas de registros diarios
+ *
+ * La paginación es por clave (fecha, id): el cursor identifica el último registro devuelto,
+ * de forma que pedir la página N cuesta lo mismo que pedir la primera
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Schema(name = "DailyRecordPageResponse", description = "DTO con una página de registros diarios y el cursor de la siguiente")
+public class DailyRecordPageResponseDTO {
+
+    @Schema(description = "Registros diarios de la página, ordenados por fecha e ID")
+    private List<DailyRecordResponseDTO> items = new ArrayList<>(); // Registros de la página
+
+    @Schema(description = "Cursor opaco para pedir la siguiente página (nulo si no hay más)", example = "MjAyNS0wNS0wMToxMjM", nullable = true)
+    private String nextCursor; // Cursor de la siguiente página
+
+    @Schema(description = "Indica si existen más registros después de esta página", example = "true")
+    private boolean hasNext; // Indica si hay más páginas
+
+    /**
+     * Constructor vacío del DTO
+     */
+    public DailyRecordPageResponseDTO() {
+    }
+
+    /**
+     * Constructor con parámetros del DTO
+     *
+     * @param items Registros diarios de la página
+     * @param nextCursor Cursor de la siguiente página
+     * @param hasNext Indica si hay más páginas
+     */
+    public DailyRecordPageResponseDTO(List<DailyRecordResponseDTO> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public List<DailyRecordResponseDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<DailyRecordResponseDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+}
@@ -0,0 +1,123 @@
+package trackup.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO para las respuestas de las solicitudes (Estadísticas del panel principal)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Schema(name = "DashboardStatisticsResponse", description = "DTO con las estadísticas agregadas de los registros diarios de un usuario")
+public class DashboardStatisticsResponseDTO {
+
+    @Schema(description = "Número total de registros completados", example = "42")
+    private long completedCount; // Registros completados en todo el histórico
+
+    @Schema(description = "Número total de registros no completados", example = "8")
+    private long notCompletedCount; // Registros no completados en todo el histórico
+
+    @Schema(description = "Número de registros de la semana actual", example = "7")
+    private long weeklyTotal; // Registros de la semana actual
+
+    @Schema(description = "Número de registros completados de la semana actual", example = "5")
+    private long weeklyCompleted; // Registros completados de la semana actual
+
+    @Schema(description = "Número de registros del mes actual", example = "30")
+    private long monthlyTotal; // Registros del mes actual
+
+    @Schema(description = "Número de registros completados del mes actual", example = "21")
+    private long monthlyCompleted; // Registros completados del mes actual
+
+    @Schema(description = "Porcentaje de cumplimiento de cada hábito (ID del hábito -> porcentaje)")
+    private Map<Long, Double> habitCompletionPercentage = new HashMap<>(); // Porcentaje de cumplimiento por hábito
+
+    /**
+     * Constructor vacío del DTO
+     */
+    public DashboardStatisticsResponseDTO() {
+    }
+
+    /**
+     * Constructor con parámetros del DTO
+     *
+     * @param completedCount Registros completados en todo el histórico
+     * @param notCompletedCount Registros no completados en todo el histórico
+     * @param weeklyTotal Registros de la semana actual
+     * @param weeklyCompleted Registros completados de la semana actual
+     * @param monthlyTotal Registros del mes actual
+     * @param monthlyCompleted Registros completados del mes actual
+     * @param habitCompletionPercentage Porcentaje de cumplimiento por hábito
+     */
+    public DashboardStatisticsResponseDTO(long completedCount, long notCompletedCount, long weeklyTotal, long weeklyCompleted,
+                                          long monthlyTotal, long monthlyCompleted, Map<Long, Double> habitCompletionPercentage) {
+        this.completedCount = completedCount;
+        this.notCompletedCount = notCompletedCount;
+        this.weeklyTotal = weeklyTotal;
+        this.weeklyCompleted = weeklyCompleted;
+        this.monthlyTotal = monthlyTotal;
+        this.monthlyCompleted = monthlyCompleted;
+        this.habitCompletionPercentage = habitCompletionPercentage;
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public long getNotCompletedCount() {
+        return notCompletedCount;
+    }
+
+    public void setNotCompletedCount(long notCompletedCount) {
+        this.notCompletedCount = notCompletedCount;
+    }
+
+    public long getWeeklyTotal() {
+        return weeklyTotal;
+    }
+
+    public void setWeeklyTotal(long weeklyTotal) {
+        this.weeklyTotal = weeklyTotal;
+    }
+
+    public long getWeeklyCompleted() {
+        return weeklyCompleted;
+    }
+
+    public void setWeeklyCompleted(long weeklyCompleted) {
+        this.weeklyCompleted = weeklyCompleted;
+    }
+
+    public long getMonthlyTotal() {
+        return monthlyTotal;
+    }
+
+    public void setMonthlyTotal(long monthlyTotal) {
+        this.monthlyTotal = monthlyTotal;
+    }
+
+    public long getMonthlyCompleted() {
+        return monthlyCompleted;
+    }
+
+    public void setMonthlyCompleted(long monthlyCompleted) {
+        this.monthlyCompleted = monthlyCompleted;
+    }
+
+    public Map<Long, Double> getHabitCompletionPercentage() {
+        return habitCompletionPercentage;
+    }
+
+    public void setHabitCompletionPercentage(Map<Long, Double> habitCompletionPercentage) {
+        this.habitCompletionPercentage = habitCompletionPercentage;
+    }
+
+}
@@ -0,0 +1,124 @@
+package trackup.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para las respuestas de las solicitudes (Calendario de un hábito en un intervalo)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Schema(name = "HabitCalendarResponse", description = "DTO con los días registrados y completados de un hábito en un intervalo")
+public class HabitCalendarResponseDTO {
+
+    @Schema(description = "ID del hábito", example = "1")
+    private Long habitId; // ID del hábito
+
+    @Schema(description = "Fecha de inicio del intervalo", example = "2025-04-01")
+    private LocalDate from; // Inicio del intervalo
+
+    @Schema(description = "Fecha de fin del intervalo", example = "2025-04-30")
+    private LocalDate to; // Fin del intervalo
+
+    @Schema(description = "Número de días con registro en el intervalo", example = "28")
+    private int recordedCount; // Días con registro
+
+    @Schema(description = "Número de días completados en el intervalo", example = "21")
+    private int completedCount; // Días completados
+
+    @Schema(description = "Porcentaje de días completados sobre los días con registro", example = "75.0")
+    private double completionPercentage; // Porcentaje de cumplimiento
+
+    @Schema(description = "Días completados del intervalo, en orden")
+    private List<LocalDate> completedDates = new ArrayList<>(); // Días completados
+
+    /**
+     * Constructor vacío del DTO
+     */
+    public HabitCalendarResponseDTO() {
+    }
+
+    /**
+     * Constructor con parámetros del DTO
+     *
+     * @param habitId ID del hábito
+     * @param from Inicio del intervalo
+     * @param to Fin del intervalo
+     * @param recordedCount Días con registro
+     * @param completedCount Días completados
+     * @param completionPercentage Porcentaje de cumplimiento
+     * @param completedDates Días completados
+     */
+    public HabitCalendarResponseDTO(Long habitId, LocalDate from, LocalDate to, int recordedCount, int completedCount,
+                                    double completionPercentage, List<LocalDate> completedDates) {
+        this.habitId = habitId;
+        this.from = from;
+        this.to = to;
+        this.recordedCount = recordedCount;
+        this.completedCount = completedCount;
+        this.completionPercentage = completionPercentage;
+        this.completedDates = completedDates;
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public int getRecordedCount() {
+        return recordedCount;
+    }
+
+    public void setRecordedCount(int recordedCount) {
+        this.recordedCount = recordedCount;
+    }
+
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(int completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public double getCompletionPercentage() {
+        return completionPercentage;
+    }
+
+    public void setCompletionPercentage(double completionPercentage) {
+        this.completionPercentage = completionPercentage;
+    }
+
+    public List<LocalDate> getCompletedDates() {
+        return completedDates;
+    }
+
+    public void setCompletedDates(List<LocalDate> completedDates) {
+        this.completedDates = completedDates;
+    }
+
+}
\ No newline at end of file
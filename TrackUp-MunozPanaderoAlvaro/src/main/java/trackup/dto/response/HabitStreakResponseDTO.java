@@ -0,0 +1,82 @@
+package trackup.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+/**
+ * DTO para las respuestas de las solicitudes (Rachas de un hábito)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Schema(name = "HabitStreakResponse", description = "DTO con la racha actual y la racha más larga de un hábito")
+public class HabitStreakResponseDTO {
+
+    @Schema(description = "ID del hábito", example = "1")
+    private Long habitId; // ID del hábito
+
+    @Schema(description = "Días consecutivos completados hasta hoy (o hasta ayer, si hoy aún no se ha completado)", example = "5")
+    private int currentStreak; // Racha actual
+
+    @Schema(description = "Mayor número de días consecutivos completados", example = "12")
+    private int longestStreak; // Racha más larga
+
+    @Schema(description = "Último día en el que se completó el hábito", example = "2025-04-20")
+    private LocalDate lastCompletedDate; // Último día completado
+
+    /**
+     * Constructor vacío del DTO
+     */
+    public HabitStreakResponseDTO() {
+    }
+
+    /**
+     * Constructor con parámetros del DTO
+     *
+     * @param habitId ID del hábito
+     * @param currentStreak Racha actual
+     * @param longestStreak Racha más larga
+     * @param lastCompletedDate Último día completado
+     */
+    public HabitStreakResponseDTO(Long habitId, int currentStreak, int longestStreak, LocalDate lastCompletedDate) {
+        this.habitId = habitId;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+        this.lastCompletedDate = lastCompletedDate;
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public LocalDate getLastCompletedDate() {
+        return lastCompletedDate;
+    }
+
+    public void setLastCompletedDate(LocalDate lastCompletedDate) {
+        this.lastCompletedDate = lastCompletedDate;
+    }
+
+}
\ No newline at end of file
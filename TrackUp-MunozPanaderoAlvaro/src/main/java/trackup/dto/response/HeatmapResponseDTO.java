@@ -0,0 +1,98 @@
+package trackup.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+
+/**
+ * DTO para las respuestas de las solicitudes (Mapa de calor de los registros diarios de un usuario)
+ *
+ * Los contadores se devuelven como arrays con una posición por día, empezando en 'from',
+ * en lugar de un objeto por día: un año completo ocupa apenas unos kilobytes
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Schema(name = "HeatmapResponse", description = "DTO con los registros diarios totales y completados de un usuario, un valor por día")
+public class HeatmapResponseDTO {
+
+    @Schema(description = "ID del usuario", example = "1")
+    private Long userId; // ID del usuario
+
+    @Schema(description = "Primer día del mapa (posición 0 de los arrays)", example = "2024-05-15")
+    private LocalDate from; // Primer día
+
+    @Schema(description = "Último día del mapa (incluido)", example = "2025-05-14")
+    private LocalDate to; // Último día
+
+    @Schema(description = "Número de registros diarios de cada día", example = "[3, 2, 0, 3]")
+    private int[] total; // Registros por día
+
+    @Schema(description = "Número de registros diarios completados de cada día", example = "[2, 2, 0, 1]")
+    private int[] completed; // Registros completados por día
+
+    /**
+     * Constructor vacío del DTO
+     */
+    public HeatmapResponseDTO() {
+    }
+
+    /**
+     * Constructor con parámetros del DTO
+     *
+     * @param userId ID del usuario
+     * @param from Primer día
+     * @param to Último día
+     * @param total Registros por día
+     * @param completed Registros completados por día
+     */
+    public HeatmapResponseDTO(Long userId, LocalDate from, LocalDate to, int[] total, int[] completed) {
+        this.userId = userId;
+        this.from = from;
+        this.to = to;
+        this.total = total;
+        this.completed = completed;
+    }
+
+    /**
+     * Getters y Setters
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public int[] getTotal() {
+        return total;
+    }
+
+    public void setTotal(int[] total) {
+        this.total = total;
+    }
+
+    public int[] getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(int[] completed) {
+        this.completed = completed;
+    }
+
+}
\ No newline at end of file
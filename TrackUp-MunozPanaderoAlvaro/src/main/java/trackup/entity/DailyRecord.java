@@ -9,6 +9,15 @@ import java.time.LocalDate;
  * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
  */
 @Entity // Se indica que se trata de una entidad
+@NamedEntityGraph(name = "DailyRecord.habit", attributeNodes = @NamedAttributeNode("habit")) // Para las consultas que necesitan los datos del hábito
+@Table(
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_daily_record_habit_date", columnNames = {"habit_id", "date"}) // Un único registro por hábito y día
+        },
+        indexes = {
+                @Index(name = "ix_daily_record_user_date", columnList = "user_id, date") // Registros de un usuario por rango de fechas, sin unir con 'habit'
+        }
+)
 public class DailyRecord {
 
     @Id // ID, clave primaria del registro diario
@@ -21,10 +30,13 @@ public class DailyRecord {
     @Column(nullable = false) // Campo obligatorio
     private Boolean completed; // Indica si el hábito se ha completado o no
 
-    @ManyToOne(optional = false) // Relación de muchos a uno, un registro diario pertenece a un hábito
+    @ManyToOne(optional = false, fetch = FetchType.LAZY) // Relación de muchos a uno, un registro diario pertenece a un hábito; perezoso
     @JoinColumn(name = "habit_id", nullable = false) // Se indica la columna de unión y que no puede ser nula
     private Habit habit; // Hábito al que pertenece el registro diario
 
+    @Column(name = "user_id", nullable = false) // Copia del propietario del hábito; la clave ajena (habit_id, user_id) la mantiene al día
+    private Long userId; // ID del usuario al que pertenece el hábito del registro
+
     /**
      * Constructor vacío de la entidad
      */
@@ -43,7 +55,17 @@ public class DailyRecord {
         this.id = id;
         this.date = date;
         this.completed = completed;
-        this.habit = habit;
+        setHabit(habit);
+    }
+
+    /**
+     * Copia el propietario del hábito antes de insertar el registro si aún no se ha asignado
+     */
+    @PrePersist
+    void copyUserIdFromHabit() {
+        if (userId == null && habit != null && habit.getUser() != null) {
+            userId = habit.getUser().getId();
+        }
     }
 
     /**
@@ -79,6 +101,15 @@ public class DailyRecord {
 
     public void setHabit(Habit habit) {
         this.habit = habit;
+        this.userId = habit != null && habit.getUser() != null ? habit.getUser().getId() : null; // El registro pertenece al dueño del hábito
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
     }
 
 }
\ No newline at end of file
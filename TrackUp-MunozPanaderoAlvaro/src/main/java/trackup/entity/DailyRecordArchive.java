@@ -0,0 +1,72 @@
+package trackup.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * Entidad 'DailyRecordArchive' que representa los registros diarios archivados (anteriores al horizonte configurado)
+ * Tienen el mismo ID que tenían en 'daily_record'; solo se leen, los escribe el proceso de archivado
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Entity // Se indica que se trata de una entidad
+@Immutable // Las filas archivadas no se modifican
+@Table(
+        name = "daily_record_archive",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_daily_record_archive_habit_date", columnNames = {"habit_id", "date"}) // Un único registro por hábito y día
+        },
+        indexes = {
+                @Index(name = "ix_daily_record_archive_user_date", columnList = "user_id, date") // Registros archivados de un usuario por rango de fechas
+        }
+)
+public class DailyRecordArchive {
+
+    @Id // ID, clave primaria; es el que tenía el registro en 'daily_record'
+    private Long id; // Identificador del registro diario
+
+    @Column(nullable = false) // Campo obligatorio
+    private LocalDate date; // Fecha del registro diario
+
+    @Column(nullable = false) // Campo obligatorio
+    private Boolean completed; // Indica si el hábito se ha completado o no
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY) // Relación de muchos a uno, un registro archivado pertenece a un hábito; perezoso
+    @JoinColumn(name = "habit_id", nullable = false) // Se indica la columna de unión y que no puede ser nula
+    private Habit habit; // Hábito al que pertenece el registro diario
+
+    @Column(name = "user_id", nullable = false) // Copia del propietario del hábito, igual que en 'daily_record'
+    private Long userId; // ID del usuario al que pertenece el hábito del registro
+
+    /**
+     * Constructor vacío de la entidad
+     */
+    public DailyRecordArchive() {
+    }
+
+    /**
+     * Getters de la entidad (es de solo lectura)
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public Habit getHabit() {
+        return habit;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+}
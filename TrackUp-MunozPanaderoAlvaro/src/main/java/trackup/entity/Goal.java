@@ -20,7 +20,7 @@ public class Goal {
     @Column(nullable = false) // Campo obligatorio
     private String description; // Descripción del objetivo
 
-    @ManyToOne(optional = false) // Relación de muchos a uno, un objetivo pertenece a un usuario
+    @ManyToOne(optional = false, fetch = FetchType.LAZY) // Relación de muchos a uno, un objetivo pertenece a un usuario; perezoso, solo se usa su ID
     @JoinColumn(name = "user_id", nullable = false) // Se indica la columna de unión y que no puede ser nula
     private User user; // Usuario al que pertenece el objetivo
 
@@ -12,9 +12,11 @@ import java.util.List;
  * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
  */
 @Entity // Se indica que se trata de una entidad
+@NamedEntityGraph(name = "Habit.habitType", attributeNodes = @NamedAttributeNode("habitType")) // Para las consultas que necesitan el nombre del tipo
 @Table(
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = {"user_id", "name"})
+                @UniqueConstraint(name = "uk_habit_user_name", columnNames = {"user_id", "name"}),
+                @UniqueConstraint(name = "uk_habit_id_user", columnNames = {"id", "user_id"}) // Destino de la clave ajena (habit_id, user_id) de 'daily_record'
         }
 )
 public class Habit {
@@ -38,11 +40,11 @@ public class Habit {
     private LocalDate endDate; // Fecha de fin del hábito
 
     @JsonBackReference  // Evita la referencia circular desde el Habit hacia el User
-    @ManyToOne(optional = false) //Campo obligatorio
+    @ManyToOne(optional = false, fetch = FetchType.LAZY) //Campo obligatorio; perezoso, normalmente solo se necesita su ID
     @JoinColumn(name = "user_id", nullable = false) // Relación de muchos hábitos a un usuario, obligatorio
     private User user; // Usuario al que pertenece el hábito
 
-    @ManyToOne(optional = false) // Relación de muchos hábitos a un usuario, obligatorio
+    @ManyToOne(optional = false, fetch = FetchType.LAZY) // Relación de muchos hábitos a un tipo de hábito, obligatorio; perezoso
     @JoinColumn(name = "habit_type_id", nullable = false)
     private HabitType habitType; // Tipo de hábito
 
@@ -0,0 +1,120 @@
+package trackup.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Entidad 'HabitCalendar' que representa de forma compacta el histórico de registros diarios de un hábito
+ *
+ * Cada día ocupa un bit en dos mapas de bits: uno indica si el día tiene registro y otro si se completó.
+ * El bit 'i' corresponde al día 'baseDate + i', de modo que un año de histórico cabe en menos de 100 bytes
+ * y los calendarios y porcentajes se calculan contando bits en lugar de recorrer filas de 'DailyRecord'
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Entity // Se indica que se trata de una entidad
+@Table(name = "habit_calendar")
+public class HabitCalendar {
+
+    public static final int MAX_BYTES = 4096; // Tamaño máximo de cada mapa de bits (32768 días, unos 89 años)
+
+    @Id // ID, clave primaria; coincide con el ID del hábito
+    @Column(name = "habit_id")
+    private Long habitId; // ID del hábito al que pertenece el calendario
+
+    @MapsId // La clave primaria es también la clave ajena al hábito
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "habit_id")
+    @OnDelete(action = OnDeleteAction.CASCADE) // La base de datos elimina el calendario junto con el hábito
+    private Habit habit; // Hábito al que pertenece el calendario
+
+    @Column(name = "user_id", nullable = false) // Campo obligatorio
+    private Long userId; // ID del usuario propietario del hábito
+
+    @Column(nullable = false) // Campo obligatorio
+    private LocalDate baseDate; // Día al que corresponde el bit 0 (el inicio del hábito o su primer registro, si es anterior)
+
+    @Column(nullable = false, length = MAX_BYTES) // Campo obligatorio
+    private byte[] recordedDays; // Días con registro (formato de 'BitSet.toByteArray')
+
+    @Column(nullable = false, length = MAX_BYTES) // Campo obligatorio
+    private byte[] completedDays; // Días completados (formato de 'BitSet.toByteArray')
+
+    /**
+     * Constructor vacío de la entidad
+     */
+    public HabitCalendar() {
+    }
+
+    /**
+     * Constructor con parámetros de la entidad
+     *
+     * @param habit Hábito al que pertenece el calendario
+     * @param userId ID del usuario propietario del hábito
+     * @param baseDate Día al que corresponde el bit 0
+     * @param recordedDays Mapa de bits de los días con registro
+     * @param completedDays Mapa de bits de los días completados
+     */
+    public HabitCalendar(Habit habit, Long userId, LocalDate baseDate, byte[] recordedDays, byte[] completedDays) {
+        this.habit = habit; // El ID se toma del hábito al persistir el calendario
+        this.userId = userId;
+        this.baseDate = baseDate;
+        this.recordedDays = recordedDays;
+        this.completedDays = completedDays;
+    }
+
+    /**
+     * Getters y Setters de la entidad
+     */
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public Habit getHabit() {
+        return habit;
+    }
+
+    public void setHabit(Habit habit) {
+        this.habit = habit;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getBaseDate() {
+        return baseDate;
+    }
+
+    public void setBaseDate(LocalDate baseDate) {
+        this.baseDate = baseDate;
+    }
+
+    public byte[] getRecordedDays() {
+        return recordedDays;
+    }
+
+    public void setRecordedDays(byte[] recordedDays) {
+        this.recordedDays = recordedDays;
+    }
+
+    public byte[] getCompletedDays() {
+        return completedDays;
+    }
+
+    public void setCompletedDays(byte[] completedDays) {
+        this.completedDays = completedDays;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package trackup.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Entidad 'HabitStatistics' que representa los contadores agregados de un hábito
+ *
+ * Se mantiene de forma incremental cada vez que se crea, actualiza o elimina un registro diario del hábito
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Entity // Se indica que se trata de una entidad
+@Table(name = "habit_statistics")
+public class HabitStatistics {
+
+    @Id // ID, clave primaria; coincide con el ID del hábito
+    @Column(name = "habit_id")
+    private Long habitId; // ID del hábito al que pertenecen los contadores
+
+    @Column(name = "user_id", nullable = false) // Campo obligatorio
+    private Long userId; // ID del usuario propietario del hábito
+
+    @Column(nullable = false) // Campo obligatorio
+    private long totalCount; // Número de registros diarios del hábito
+
+    @Column(nullable = false) // Campo obligatorio
+    private long completedCount; // Número de registros diarios completados del hábito
+
+    /**
+     * Constructor vacío de la entidad
+     */
+    public HabitStatistics() {
+    }
+
+    /**
+     * Constructor con parámetros de la entidad
+     *
+     * @param habitId ID del hábito
+     * @param userId ID del usuario propietario del hábito
+     * @param totalCount Número de registros diarios
+     * @param completedCount Número de registros diarios completados
+     */
+    public HabitStatistics(Long habitId, Long userId, long totalCount, long completedCount) {
+        this.habitId = habitId;
+        this.userId = userId;
+        this.totalCount = totalCount;
+        this.completedCount = completedCount;
+    }
+
+    /**
+     * Getters y Setters de la entidad
+     */
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+}
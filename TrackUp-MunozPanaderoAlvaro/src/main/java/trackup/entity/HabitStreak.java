@@ -0,0 +1,117 @@
+package trackup.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Entidad 'HabitStreak' que representa las rachas de cumplimiento de un hábito
+ *
+ * Se mantiene de forma incremental cada vez que se crea, actualiza o elimina un registro diario del hábito.
+ * La racha actual guardada es la de la serie que termina en 'lastCompletedDate'; si esa fecha ya no es hoy
+ * ni ayer, la racha vigente es 0 (se calcula al leerla, sin tener que actualizar la fila cada día)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Entity // Se indica que se trata de una entidad
+@Table(name = "habit_streak")
+public class HabitStreak {
+
+    @Id // ID, clave primaria; coincide con el ID del hábito
+    @Column(name = "habit_id")
+    private Long habitId; // ID del hábito al que pertenece la racha
+
+    @MapsId // La clave primaria es también la clave ajena al hábito
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "habit_id")
+    @OnDelete(action = OnDeleteAction.CASCADE) // La base de datos elimina la racha junto con el hábito (y con su usuario o tipo)
+    private Habit habit; // Hábito al que pertenece la racha
+
+    @Column(name = "user_id", nullable = false) // Campo obligatorio
+    private Long userId; // ID del usuario propietario del hábito
+
+    @Column(nullable = false) // Campo obligatorio
+    private int currentStreak; // Días consecutivos completados hasta 'lastCompletedDate' (incluido)
+
+    @Column(nullable = false) // Campo obligatorio
+    private int longestStreak; // Mayor número de días consecutivos completados del histórico
+
+    private LocalDate lastCompletedDate; // Último día en el que se completó el hábito
+
+    /**
+     * Constructor vacío de la entidad
+     */
+    public HabitStreak() {
+    }
+
+    /**
+     * Constructor con parámetros de la entidad
+     *
+     * @param habit Hábito al que pertenece la racha
+     * @param userId ID del usuario propietario del hábito
+     * @param currentStreak Días consecutivos completados hasta el último día completado
+     * @param longestStreak Mayor número de días consecutivos completados
+     * @param lastCompletedDate Último día en el que se completó el hábito
+     */
+    public HabitStreak(Habit habit, Long userId, int currentStreak, int longestStreak, LocalDate lastCompletedDate) {
+        this.habit = habit; // El ID se toma del hábito al persistir la racha
+        this.userId = userId;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+        this.lastCompletedDate = lastCompletedDate;
+    }
+
+    /**
+     * Getters y Setters de la entidad
+     */
+    public Long getHabitId() {
+        return habitId;
+    }
+
+    public void setHabitId(Long habitId) {
+        this.habitId = habitId;
+    }
+
+    public Habit getHabit() {
+        return habit;
+    }
+
+    public void setHabit(Habit habit) {
+        this.habit = habit;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(int currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(int longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public LocalDate getLastCompletedDate() {
+        return lastCompletedDate;
+    }
+
+    public void setLastCompletedDate(LocalDate lastCompletedDate) {
+        this.lastCompletedDate = lastCompletedDate;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package trackup.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Entidad 'UserDailyStatistics' que representa los contadores agregados de un usuario para un día concreto
+ *
+ * Se mantiene de forma incremental cada vez que se crea, actualiza o elimina un registro diario,
+ * de forma que las estadísticas del panel principal no dependan del histórico completo del usuario
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Entity // Se indica que se trata de una entidad
+@Table(
+        name = "user_daily_statistics",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_user_daily_statistics_user_date", columnNames = {"user_id", "date"})
+        }
+)
+public class UserDailyStatistics {
+
+    @Id // ID, clave primaria del contador diario
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // Se indica que esta clave primaria será generada automáticamente
+    private Long id; // Identificador que tiene cada contador diario
+
+    @Column(name = "user_id", nullable = false) // Campo obligatorio
+    private Long userId; // ID del usuario al que pertenece el contador
+
+    @Column(nullable = false) // Campo obligatorio
+    private LocalDate date; // Día al que corresponde el contador
+
+    @Column(nullable = false) // Campo obligatorio
+    private long totalCount; // Número de registros diarios del usuario en ese día
+
+    @Column(nullable = false) // Campo obligatorio
+    private long completedCount; // Número de registros diarios completados del usuario en ese día
+
+    /**
+     * Constructor vacío de la entidad
+     */
+    public UserDailyStatistics() {
+    }
+
+    /**
+     * Constructor con parámetros de la entidad
+     *
+     * @param userId ID del usuario
+     * @param date Día al que corresponde el contador
+     * @param totalCount Número de registros diarios
+     * @param completedCount Número de registros diarios completados
+     */
+    public UserDailyStatistics(Long userId, LocalDate date, long totalCount, long completedCount) {
+        this.userId = userId;
+        this.date = date;
+        this.totalCount = totalCount;
+        this.completedCount = completedCount;
+    }
+
+    /**
+     * Getters y Setters de la entidad
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+}
@@ -0,0 +1,103 @@
+package trackup.event;
+
+import trackup.entity.DailyRecord;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evento de dominio que se publica cuando cambian registros diarios de un usuario
+ *
+ * Solo lleva las claves afectadas (los días de cada hábito), no el estado anterior ni el nuevo: quien lo consume
+ * recalcula a partir de la base de datos, así que varios eventos del mismo usuario se pueden fusionar en uno
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class DailyRecordsChangedEvent {
+
+    /**
+     * Tipo de cambio de los registros diarios
+     */
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final ChangeType type; // Tipo de cambio
+    private final Long userId; // ID del usuario propietario de los registros
+    private final Map<Long, Set<LocalDate>> datesByHabit; // Días afectados de cada hábito
+
+    /**
+     * Constructor del evento
+     *
+     * @param type Tipo de cambio
+     * @param userId ID del usuario propietario de los registros
+     * @param datesByHabit Días afectados de cada hábito
+     */
+    public DailyRecordsChangedEvent(ChangeType type, Long userId, Map<Long, Set<LocalDate>> datesByHabit) {
+        this.type = type;
+        this.userId = userId;
+        Map<Long, Set<LocalDate>> copy = new LinkedHashMap<>();
+        datesByHabit.forEach((habitId, dates) -> copy.put(habitId, Set.copyOf(dates)));
+        this.datesByHabit = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Crea los eventos de un conjunto de registros diarios: uno por usuario
+     *
+     * @param type Tipo de cambio
+     * @param dailyRecords Registros diarios afectados
+     * @return Lista de eventos, uno por cada usuario con registros afectados
+     */
+    public static List<DailyRecordsChangedEvent> of(ChangeType type, Collection<DailyRecord> dailyRecords) {
+        Map<Long, Map<Long, Set<LocalDate>>> byUser = new LinkedHashMap<>();
+        for (DailyRecord dailyRecord : dailyRecords) {
+            byUser.computeIfAbsent(dailyRecord.getUserId(), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(dailyRecord.getHabit().getId(), k -> new HashSet<>())
+                    .add(dailyRecord.getDate());
+        }
+
+        List<DailyRecordsChangedEvent> events = new ArrayList<>();
+        byUser.forEach((userId, datesByHabit) -> events.add(new DailyRecordsChangedEvent(type, userId, datesByHabit)));
+        return events;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Map<Long, Set<LocalDate>> getDatesByHabit() {
+        return datesByHabit;
+    }
+
+    /**
+     * Obtiene los IDs de los hábitos afectados
+     *
+     * @return Conjunto de IDs de hábitos
+     */
+    public Set<Long> getHabitIds() {
+        return datesByHabit.keySet();
+    }
+
+    /**
+     * Obtiene los días afectados de todos los hábitos
+     *
+     * @return Conjunto de días
+     */
+    public Set<LocalDate> getDates() {
+        Set<LocalDate> dates = new HashSet<>();
+        datesByHabit.values().forEach(dates::addAll);
+        return dates;
+    }
+
+}
\ No newline at end of file
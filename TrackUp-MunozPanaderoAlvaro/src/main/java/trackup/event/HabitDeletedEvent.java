@@ -0,0 +1,69 @@
+package trackup.event;
+
+import trackup.repository.projection.HabitOwner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evento de dominio que se publica cuando se eliminan hábitos de un usuario (y, en cascada, sus registros diarios)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class HabitDeletedEvent {
+
+    private final Set<Long> habitIds; // IDs de los hábitos eliminados
+    private final Long userId; // ID del usuario propietario de los hábitos
+
+    /**
+     * Constructor del evento
+     *
+     * @param habitIds IDs de los hábitos eliminados
+     * @param userId ID del usuario propietario de los hábitos
+     */
+    public HabitDeletedEvent(Collection<Long> habitIds, Long userId) {
+        this.habitIds = Set.copyOf(habitIds);
+        this.userId = userId;
+    }
+
+    /**
+     * Constructor del evento para un solo hábito
+     *
+     * @param habitId ID del hábito eliminado
+     * @param userId ID del usuario propietario del hábito
+     */
+    public HabitDeletedEvent(Long habitId, Long userId) {
+        this(Set.of(habitId), userId);
+    }
+
+    /**
+     * Crea los eventos de un conjunto de hábitos eliminados: uno por usuario
+     *
+     * @param habits Hábitos eliminados con su propietario
+     * @return Lista de eventos, uno por cada usuario con hábitos eliminados
+     */
+    public static List<HabitDeletedEvent> of(Collection<HabitOwner> habits) {
+        Map<Long, Set<Long>> habitsByUser = new LinkedHashMap<>();
+        for (HabitOwner habit : habits) {
+            habitsByUser.computeIfAbsent(habit.getUserId(), k -> new HashSet<>()).add(habit.getHabitId());
+        }
+
+        List<HabitDeletedEvent> events = new ArrayList<>();
+        habitsByUser.forEach((userId, habitIds) -> events.add(new HabitDeletedEvent(habitIds, userId)));
+        return events;
+    }
+
+    public Set<Long> getHabitIds() {
+        return habitIds;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,345 @@
+package trackup.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import trackup.services.StatisticsService;
+import trackup.services.StreakService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Consumidor de los eventos de dominio que recalcula los agregados costosos de cada usuario (contadores por hábito y rachas)
+ * Los contadores por usuario y día se mantienen aparte, dentro de la transacción que escribe (UserDailyStatisticsListener)
+ *
+ * Los eventos se reciben después del commit y se acumulan por usuario durante un breve intervalo
+ * ('trackup.events.coalesce-delay'): una ráfaga de escrituras del mismo usuario produce un único recálculo
+ * en un pool de hilos acotado, y nunca hay dos recálculos del mismo usuario a la vez. Si hay demasiados usuarios
+ * pendientes ('trackup.events.max-pending-users'), el recálculo se hace en el hilo que publica el evento,
+ * lo que frena a quien escribe en lugar de acumular trabajo. Con 'trackup.events.async=false' (tests)
+ * todos los recálculos se hacen así, de forma síncrona. Con 'spring.threads.virtual.enabled=true' los hilos del pool
+ * son virtuales; su número sigue limitando cuántos recálculos usan a la vez una conexión
+ *
+ * Si un recálculo falla, sus cambios ya no se pueden aplicar de forma incremental: el usuario queda marcado y un proceso
+ * periódico ('trackup.events.retry-interval') reconstruye todos sus agregados desde el histórico hasta que lo consigue
+ *
+ * Métricas: 'trackup.events.received', 'trackup.events.coalesced', 'trackup.events.saturated',
+ * 'trackup.events.failed', 'trackup.events.pending' (usuarios en espera), 'trackup.events.dirty' (usuarios marcados
+ * para reconstruir) y 'trackup.events.recompute' (tiempo)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Component
+public class UserAggregatesListener implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAggregatesListener.class);
+
+    private final StatisticsService statisticsService; // Servicio que mantiene las estadísticas agregadas
+    private final StreakService streakService; // Servicio que mantiene las rachas de los hábitos
+    private final TransactionTemplate transactionTemplate; // Cada recálculo va en su propia transacción
+    private final boolean async; // Si es false, los recálculos se hacen en el hilo que publica el evento
+    private final Duration coalesceDelay; // Tiempo durante el que se acumulan los cambios de un usuario
+    private final int maxPendingUsers; // Número máximo de usuarios esperando su recálculo
+    private final ScheduledThreadPoolExecutor executor; // Pool de hilos de los recálculos
+
+    private final Map<Long, PendingChanges> pending = new HashMap<>(); // Cambios acumulados por usuario (protegido por 'this')
+    private final Set<Long> running = new HashSet<>(); // Usuarios con un recálculo en curso (protegido por 'this')
+    private final Set<Long> dirty = new LinkedHashSet<>(); // Usuarios con un recálculo fallido, a reconstruir (protegido por 'this')
+
+    private final Counter received; // Eventos recibidos
+    private final Counter coalesced; // Eventos fusionados con los cambios pendientes de su usuario
+    private final Counter saturated; // Recálculos hechos en el hilo que publica porque el pool está saturado
+    private final Counter failed; // Recálculos fallidos
+    private final Timer recomputeTimer; // Tiempo de cada recálculo
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param statisticsService Servicio de estadísticas
+     * @param streakService Servicio de rachas
+     * @param transactionManager Gestor de transacciones
+     * @param meterRegistry Registro de métricas
+     * @param async Indica si los recálculos se hacen en segundo plano
+     * @param threads Número de hilos del pool
+     * @param coalesceDelay Tiempo durante el que se acumulan los cambios de un usuario
+     * @param maxPendingUsers Número máximo de usuarios esperando su recálculo
+     * @param virtualThreads Indica si el pool usa hilos virtuales
+     */
+    @Autowired
+    public UserAggregatesListener(StatisticsService statisticsService, StreakService streakService,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                  @Value("${trackup.events.async:true}") boolean async,
+                                  @Value("${trackup.events.threads:2}") int threads,
+                                  @Value("${trackup.events.coalesce-delay:500ms}") Duration coalesceDelay,
+                                  @Value("${trackup.events.max-pending-users:10000}") int maxPendingUsers,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.statisticsService = statisticsService;
+        this.streakService = streakService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW); // La del evento ya está confirmada
+        this.async = async;
+        this.coalesceDelay = coalesceDelay;
+        this.maxPendingUsers = maxPendingUsers;
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads ? Thread.ofVirtual().name("user-aggregates-", 1).factory() : runnable -> {
+            Thread thread = new Thread(runnable, "user-aggregates-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ScheduledThreadPoolExecutor(threads, threadFactory);
+
+        this.received = meterRegistry.counter("trackup.events.received");
+        this.coalesced = meterRegistry.counter("trackup.events.coalesced");
+        this.saturated = meterRegistry.counter("trackup.events.saturated");
+        this.failed = meterRegistry.counter("trackup.events.failed");
+        this.recomputeTimer = Timer.builder("trackup.events.recompute")
+                .description("Tiempo de los recálculos de los agregados de un usuario")
+                .register(meterRegistry);
+        Gauge.builder("trackup.events.pending", this, UserAggregatesListener::pendingUsers)
+                .description("Usuarios esperando el recálculo de sus agregados")
+                .register(meterRegistry);
+        Gauge.builder("trackup.events.dirty", this, UserAggregatesListener::dirtyUsers)
+                .description("Usuarios con un recálculo fallido pendientes de reconstruir")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recibe los cambios de registros diarios una vez confirmada su transacción
+     *
+     * @param event Evento con los hábitos y días afectados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDailyRecordsChanged(DailyRecordsChangedEvent event) {
+        submit(event.getUserId(), changes -> changes.add(event.getDatesByHabit()));
+    }
+
+    /**
+     * Recibe la eliminación de hábitos una vez confirmada su transacción: sus contadores por hábito desaparecen
+     * (sus rachas las elimina la base de datos en cascada)
+     *
+     * @param event Evento con los hábitos eliminados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHabitDeleted(HabitDeletedEvent event) {
+        submit(event.getUserId(), changes -> changes.delete(event.getHabitIds()));
+    }
+
+    /**
+     * Acumula un cambio en los pendientes de su usuario y programa su recálculo si no lo estaba ya
+     *
+     * @param userId ID del usuario
+     * @param change Cambio que se acumula
+     */
+    private void submit(Long userId, Consumer<PendingChanges> change) {
+        received.increment();
+
+        PendingChanges now = null; // Cambios que se recalculan en este mismo hilo
+        boolean schedule = false;
+        synchronized (this) {
+            PendingChanges changes = pending.get(userId);
+            if (changes != null) { // Ya hay un recálculo programado para el usuario: se fusiona con él
+                change.accept(changes);
+                coalesced.increment();
+                return;
+            }
+
+            if (!async || (pending.size() >= maxPendingUsers && !running.contains(userId))) {
+                now = new PendingChanges();
+                change.accept(now);
+                if (async) {
+                    saturated.increment();
+                }
+            } else {
+                changes = new PendingChanges();
+                change.accept(changes);
+                pending.put(userId, changes);
+                schedule = !running.contains(userId); // Si está en curso, se programa al terminar
+            }
+        }
+
+        if (now != null) {
+            recompute(userId, now);
+        } else if (schedule) {
+            schedule(userId);
+        }
+    }
+
+    /**
+     * Programa el recálculo de un usuario cuando termine el intervalo de acumulación
+     *
+     * @param userId ID del usuario
+     */
+    private void schedule(Long userId) {
+        try {
+            executor.schedule(() -> drain(userId), coalesceDelay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) { // La aplicación se está deteniendo
+            drain(userId);
+        }
+    }
+
+    /**
+     * Recalcula los cambios acumulados de un usuario y, si han llegado más mientras tanto, vuelve a programarlo
+     *
+     * @param userId ID del usuario
+     */
+    private void drain(Long userId) {
+        PendingChanges changes;
+        synchronized (this) {
+            changes = pending.remove(userId);
+            if (changes == null) {
+                return;
+            }
+            running.add(userId);
+        }
+
+        try {
+            recompute(userId, changes);
+        } finally {
+            boolean reschedule;
+            synchronized (this) {
+                running.remove(userId);
+                reschedule = pending.containsKey(userId);
+            }
+            if (reschedule) {
+                schedule(userId);
+            }
+        }
+    }
+
+    /**
+     * Recalcula a partir de los registros diarios los contadores de los hábitos afectados de un usuario y actualiza sus rachas
+     * Un fallo no se propaga a quien escribió (su transacción ya está confirmada): el usuario queda marcado
+     * para que 'rebuildDirtyUsers' reconstruya sus agregados
+     *
+     * @param userId ID del usuario
+     * @param changes Cambios acumulados del usuario
+     */
+    private void recompute(Long userId, PendingChanges changes) {
+        Timer.Sample sample = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> habitIds = new HashSet<>(changes.datesByHabit.keySet());
+                habitIds.addAll(changes.deletedHabitIds);
+                statisticsService.refreshHabitStatistics(userId, habitIds);
+                streakService.refreshStreaks(changes.datesByHabit); // Incremental si los días son posteriores a la racha
+            });
+        } catch (RuntimeException e) {
+            failed.increment();
+            markDirty(userId);
+            log.error("No se han podido recalcular los agregados del usuario {}; se reconstruirán más tarde", userId, e);
+        } finally {
+            sample.stop(recomputeTimer);
+        }
+    }
+
+    /**
+     * Proceso periódico que reconstruye desde el histórico los agregados de los usuarios con un recálculo fallido
+     * Los que vuelven a fallar siguen marcados para el siguiente intento
+     */
+    @Scheduled(fixedDelayString = "${trackup.events.retry-interval:5m}", initialDelayString = "${trackup.events.retry-interval:5m}")
+    public void rebuildDirtyUsers() {
+        List<Long> userIds;
+        synchronized (this) {
+            userIds = List.copyOf(dirty);
+            dirty.clear();
+        }
+
+        for (Long userId : userIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    statisticsService.rebuildUserStatistics(userId);
+                    streakService.rebuildUserStreaks(userId);
+                });
+                log.info("Agregados del usuario {} reconstruidos tras un recálculo fallido", userId);
+            } catch (RuntimeException e) {
+                failed.increment();
+                markDirty(userId);
+                log.error("No se han podido reconstruir los agregados del usuario {}", userId, e);
+            }
+        }
+    }
+
+    /**
+     * Marca un usuario para reconstruir sus agregados en el siguiente proceso periódico
+     *
+     * @param userId ID del usuario
+     */
+    private synchronized void markDirty(Long userId) {
+        dirty.add(userId);
+    }
+
+    /**
+     * Obtiene el número de usuarios marcados para reconstruir sus agregados
+     *
+     * @return Número de usuarios marcados
+     */
+    private synchronized int dirtyUsers() {
+        return dirty.size();
+    }
+
+    /**
+     * Obtiene el número de usuarios esperando su recálculo
+     *
+     * @return Número de usuarios pendientes
+     */
+    private synchronized int pendingUsers() {
+        return pending.size();
+    }
+
+    /**
+     * Al detener la aplicación se ejecutan los recálculos ya programados antes de cerrar el pool
+     */
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(coalesceDelay.toMillis() + 10_000, TimeUnit.MILLISECONDS)) {
+            log.warn("Se detiene la aplicación con recálculos de agregados pendientes");
+        }
+    }
+
+    /**
+     * Cambios acumulados de un usuario a la espera de su recálculo
+     */
+    private static class PendingChanges {
+
+        private final Map<Long, Set<LocalDate>> datesByHabit = new HashMap<>(); // Días cambiados de cada hábito (contadores y rachas)
+        private final Set<Long> deletedHabitIds = new HashSet<>(); // Hábitos eliminados, cuyos contadores desaparecen
+
+        private void add(Map<Long, Set<LocalDate>> datesByHabit) {
+            datesByHabit.forEach((habitId, habitDates) ->
+                    this.datesByHabit.computeIfAbsent(habitId, k -> new HashSet<>()).addAll(habitDates));
+        }
+
+        private void delete(Collection<Long> habitIds) {
+            this.deletedHabitIds.addAll(habitIds);
+        }
+
+    }
+
+}
\ No newline at end of file
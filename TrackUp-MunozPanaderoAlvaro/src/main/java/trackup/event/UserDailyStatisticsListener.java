@@ -0,0 +1,53 @@
+package trackup.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import trackup.services.StatisticsService;
+
+/**
+ * Consumidor síncrono de los eventos de dominio que mantiene los contadores por usuario y día
+ *
+ * A diferencia de UserAggregatesListener, se ejecuta en el momento de publicar el evento, dentro de la transacción
+ * que escribe los registros: el panel principal y el mapa de calor se confirman junto con los registros y nunca
+ * van por detrás de ellos, y si el recuento falla se deshace también la escritura. Es barato (solo lee los días
+ * afectados); los recálculos costosos (contadores por hábito y rachas) siguen haciéndose tras el commit
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Component
+public class UserDailyStatisticsListener {
+
+    private final StatisticsService statisticsService; // Servicio que mantiene las estadísticas agregadas
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param statisticsService Servicio de estadísticas
+     */
+    @Autowired
+    public UserDailyStatisticsListener(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Recalcula los contadores de los días cambiados del usuario
+     *
+     * @param event Evento con los hábitos y días afectados
+     */
+    @EventListener
+    public void onDailyRecordsChanged(DailyRecordsChangedEvent event) {
+        statisticsService.refreshUserDailyStatistics(event.getUserId(), event.getDates());
+    }
+
+    /**
+     * Recalcula todos los contadores diarios del usuario: no se conocen los días en los que el hábito tenía registros
+     *
+     * @param event Evento con los hábitos eliminados
+     */
+    @EventListener
+    public void onHabitDeleted(HabitDeletedEvent event) {
+        statisticsService.rebuildUserDailyStatistics(event.getUserId());
+    }
+
+}
@@ -0,0 +1,180 @@
+package trackup.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.entity.DailyRecord;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repositorio JDBC para escrituras de registros diarios que JPA no puede expresar en una sola sentencia
+ *
+ * Los registros son únicos por (hábito, fecha), así que se escriben con un upsert nativo
+ * ('INSERT ... ON DUPLICATE KEY UPDATE' en MySQL, 'MERGE ... KEY' en H2): una sola ida y vuelta,
+ * sin leer antes la fila y sin carreras entre peticiones concurrentes de varios dispositivos.
+ * 'DailyRecord' usa IDENTITY, lo que impide a Hibernate agrupar los INSERT en lotes; aquí se envían con JDBC en lotes
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Repository // Indica que esta clase es un repositorio
+public class DailyRecordJdbcRepository {
+
+    public static final int BATCH_SIZE = 500; // Número máximo de filas por lote
+
+    // MySQL 8.0.20+ desaconseja 'VALUES(col)' en favor del alias de fila (disponible desde 8.0.19)
+    private static final String MYSQL_UPSERT_SQL = "insert into daily_record (date, completed, habit_id, user_id) values (?, ?, ?, ?) as new " +
+            "on duplicate key update completed = new.completed";
+
+    // MariaDB no admite el alias de fila y mantiene 'VALUES(col)'
+    private static final String MARIADB_UPSERT_SQL = "insert into daily_record (date, completed, habit_id, user_id) values (?, ?, ?, ?) " +
+            "on duplicate key update completed = values(completed)";
+
+    private static final String H2_UPSERT_SQL = "merge into daily_record (date, completed, habit_id, user_id) key (habit_id, date) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate; // Plantilla JDBC, comparte la conexión de la transacción JPA en curso
+
+    private volatile String upsertSql; // Sentencia de upsert del motor de base de datos, se resuelve en el primer uso
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param jdbcTemplate Plantilla JDBC
+     */
+    @Autowired
+    public DailyRecordJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Crea el registro diario de un hábito en una fecha o, si ya existe, actualiza su estado de completado
+     *
+     * @param habitId ID del hábito
+     * @param userId ID del usuario al que pertenece el hábito
+     * @param date Fecha del registro
+     * @param completed Indica si el hábito se ha completado
+     */
+    public void upsert(Long habitId, Long userId, LocalDate date, Boolean completed) {
+        jdbcTemplate.update(upsertSql(), Date.valueOf(date), completed, habitId, userId);
+    }
+
+    /**
+     * Aplica el upsert a varios registros diarios enviándolos en lotes
+     * Si varios registros comparten hábito y fecha, prevalece el último
+     *
+     * @param dailyRecords Registros diarios a escribir (con el hábito y su usuario ya resueltos)
+     */
+    public void upsertAll(List<DailyRecord> dailyRecords) {
+        String sql = upsertSql();
+        for (int from = 0; from < dailyRecords.size(); from += BATCH_SIZE) {
+            List<DailyRecord> batch = dailyRecords.subList(from, Math.min(from + BATCH_SIZE, dailyRecords.size()));
+
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    DailyRecord dailyRecord = batch.get(i);
+                    ps.setDate(1, Date.valueOf(dailyRecord.getDate()));
+                    ps.setBoolean(2, dailyRecord.getCompleted());
+                    ps.setLong(3, dailyRecord.getHabit().getId());
+                    ps.setLong(4, dailyRecord.getUserId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            });
+        }
+    }
+
+    /**
+     * Asigna a los registros diarios el ID de la fila guardada para su hábito y fecha (tras 'upsertAll')
+     * Solo se leen las claves escritas, en consultas de hasta 'BATCH_SIZE' pares (hábito, fecha),
+     * sin cargar el resto de registros de esos hábitos en el rango de fechas. Los que no existan quedan sin ID
+     *
+     * @param dailyRecords Registros diarios escritos (con el hábito ya resuelto)
+     */
+    public void fillIds(List<DailyRecord> dailyRecords) {
+        for (int from = 0; from < dailyRecords.size(); from += BATCH_SIZE) {
+            List<DailyRecord> batch = dailyRecords.subList(from, Math.min(from + BATCH_SIZE, dailyRecords.size()));
+
+            Object[] params = new Object[batch.size() * 2];
+            for (int i = 0; i < batch.size(); i++) {
+                params[2 * i] = batch.get(i).getHabit().getId();
+                params[2 * i + 1] = Date.valueOf(batch.get(i).getDate());
+            }
+            String sql = "select id, habit_id, date from daily_record where (habit_id, date) in (" +
+                    String.join(", ", Collections.nCopies(batch.size(), "(?, ?)")) + ")";
+
+            Map<Long, Map<LocalDate, Long>> ids = new HashMap<>();
+            jdbcTemplate.query(sql, rs -> {
+                ids.computeIfAbsent(rs.getLong("habit_id"), k -> new HashMap<>()).put(rs.getDate("date").toLocalDate(), rs.getLong("id"));
+            }, params);
+            for (DailyRecord dailyRecord : batch) {
+                dailyRecord.setId(ids.getOrDefault(dailyRecord.getHabit().getId(), Map.of()).get(dailyRecord.getDate()));
+            }
+        }
+    }
+
+    /**
+     * Obtiene los usuarios que tienen registros diarios anteriores a una fecha
+     * Con el índice (user_id, date) la base de datos salta de usuario en usuario sin recorrer sus registros
+     *
+     * @param before Fecha límite (no incluida)
+     * @return IDs de los usuarios
+     */
+    public List<Long> findUserIdsWithRecordsBefore(LocalDate before) {
+        return jdbcTemplate.queryForList("select distinct user_id from daily_record where date < ?", Long.class, Date.valueOf(before));
+    }
+
+    /**
+     * Mueve a 'daily_record_archive' los registros diarios de un usuario anteriores a una fecha
+     * Copia y borrado van en la misma transacción: un registro nunca está en las dos tablas ni en ninguna
+     *
+     * @param userId ID del usuario
+     * @param before Fecha límite (no incluida)
+     * @return Número de registros archivados
+     */
+    @Transactional
+    public int archiveUserRecordsBefore(Long userId, LocalDate before) {
+        Date limit = Date.valueOf(before);
+        int copied = jdbcTemplate.update("insert into daily_record_archive (id, date, completed, habit_id, user_id) " +
+                "select id, date, completed, habit_id, user_id from daily_record where user_id = ? and date < ?", userId, limit);
+        if (copied > 0) {
+            jdbcTemplate.update("delete from daily_record where user_id = ? and date < ?", userId, limit);
+        }
+        return copied;
+    }
+
+    /**
+     * Obtiene la sentencia de upsert según el motor de base de datos
+     *
+     * @return Sentencia SQL de upsert
+     */
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if ("H2".equalsIgnoreCase(product)) {
+                upsertSql = H2_UPSERT_SQL;
+            } else if (product != null && product.contains("MariaDB")) {
+                upsertSql = MARIADB_UPSERT_SQL;
+            } else if (product != null && product.contains("MySQL")) {
+                upsertSql = MYSQL_UPSERT_SQL;
+            } else {
+                throw new IllegalStateException("Base de datos no soportada para el upsert de registros diarios: " + product);
+            }
+        }
+        return upsertSql;
+    }
+
+}
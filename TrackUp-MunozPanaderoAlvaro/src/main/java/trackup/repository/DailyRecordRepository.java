@@ -1,13 +1,27 @@
 package trackup.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import trackup.dto.response.DailyRecordResponseDTO;
 import trackup.entity.DailyRecord;
 import trackup.entity.Habit;
+import trackup.repository.projection.HabitCompletedDate;
+import trackup.repository.projection.HabitCount;
+import trackup.repository.projection.HabitDayRecord;
+import trackup.repository.projection.UserDayCount;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad 'DailyRecord'
@@ -17,12 +31,43 @@ import java.util.Optional;
 @Repository // Indica que esta clase es un repositorio
 public interface DailyRecordRepository extends JpaRepository<DailyRecord, Long> {
 
+    /**
+     * Proyección común de las consultas que devuelven directamente DTOs: una sola sentencia con el JOIN al hábito
+     * (solo para su nombre), sin cargar entidades ni sus asociaciones. El filtro por usuario va sobre 'r.userId',
+     * de modo que la base de datos recorre un rango del índice (user_id, date) y solo busca cada hábito por su clave
+     */
+    String RESPONSE_DTO_SELECT = "select new trackup.dto.response.DailyRecordResponseDTO(" +
+            "r.id, r.date, r.completed, h.id, r.userId, h.name) from DailyRecord r join r.habit h ";
+
+    /**
+     * Variante de la proyección anterior que lee a la vez los registros recientes y los archivados ('daily_record_archive')
+     * Cada rama de la unión lleva sus propios filtros (así cada tabla usa su índice) y el hábito se une al final
+     * Solo se usa cuando el intervalo pedido llega a fechas que pueden estar archivadas
+     */
+    String ARCHIVE_UNION_DTO_SELECT = "select new trackup.dto.response.DailyRecordResponseDTO(" +
+            "t.id, t.date, t.completed, h.id, t.userId, h.name) from (";
+    String RECENT_BRANCH = "select r.id as id, r.date as date, r.completed as completed, r.habit.id as habitId, r.userId as userId " +
+            "from DailyRecord r ";
+    String ARCHIVE_BRANCH = " union all select a.id, a.date, a.completed, a.habit.id, a.userId from DailyRecordArchive a ";
+    String ARCHIVE_UNION_JOIN = ") t join Habit h on h.id = t.habitId ";
+
+    /**
+     * Busca un registro diario por su ID cargando también su hábito
+     *
+     * @param id ID del registro diario
+     * @return Registro diario encontrado
+     */
+    @Override
+    @EntityGraph("DailyRecord.habit")
+    Optional<DailyRecord> findById(Long id);
+
     /**
      * Encuentra un registro diario por su fecha
      *
      * @param date Fecha del registro diario
      * @return Registro diario encontrado
      */
+    @EntityGraph("DailyRecord.habit")
     Optional<DailyRecord> findByDate(LocalDate date);
 
     /**
@@ -31,14 +76,348 @@ public interface DailyRecordRepository extends JpaRepository<DailyRecord, Long>
      * @param completed Estado de completado del registro diario
      * @return Registro diario encontrado
      */
+    @EntityGraph("DailyRecord.habit")
     Optional<DailyRecord> findByCompleted(Boolean completed);
 
     /**
-     * Encuentra un registro diario por su ID y el ID del usuario
+     * Busca el registro diario de un hábito en una fecha concreta
+     *
+     * @param habitId ID del hábito
+     * @param date Fecha del registro
+     * @return Un objeto Optional que contiene el registro si existe, o vacío si no
+     */
+    @EntityGraph("DailyRecord.habit")
+    Optional<DailyRecord> findByHabit_IdAndDate(Long habitId, LocalDate date);
+
+    /**
+     * Recorre todos los registros diarios de un usuario sin cargarlos a la vez en memoria
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     *
+     * Proyecta directamente al DTO: no hay entidades que gestionar ni que liberar del contexto de persistencia
      *
      * @param userId ID del usuario
-     * @return Registro diario encontrado
+     * @return Stream de DTOs ordenados por fecha e ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new trackup.dto.response.DailyRecordResponseDTO(r.id, r.date, r.completed, h.id, r.userId, h.name) " +
+            "from DailyRecord r join r.habit h where r.userId = :userId order by r.date asc, r.id asc")
+    Stream<DailyRecordResponseDTO> streamResponseDTOsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene una página de registros diarios ordenados por (fecha, id) a partir de una clave
+     * Todos los filtros son opcionales; si la clave es nula se devuelve la primera página
+     *
+     * @param from Fecha mínima (incluida)
+     * @param to Fecha máxima (incluida)
+     * @param habitId ID del hábito
+     * @param userId ID del usuario
+     * @param afterDate Fecha del último registro de la página anterior
+     * @param afterId ID del último registro de la página anterior
+     * @param pageable Número máximo de registros a obtener (siempre desde la posición 0)
+     * @return Lista de DTOs de los registros diarios posteriores a la clave
+     */
+    @Query(RESPONSE_DTO_SELECT +
+            "where (:from is null or r.date >= :from) " +
+            "and (:to is null or r.date <= :to) " +
+            "and (:habitId is null or h.id = :habitId) " +
+            "and (:userId is null or r.userId = :userId) " +
+            "and (:afterDate is null or r.date > :afterDate or (r.date = :afterDate and r.id > :afterId)) " +
+            "order by r.date asc, r.id asc")
+    List<DailyRecordResponseDTO> findPageAfter(@Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("habitId") Long habitId,
+                                               @Param("userId") Long userId,
+                                               @Param("afterDate") LocalDate afterDate,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    /**
+     * Variante de {@link #findPageAfter} que incluye los registros archivados
+     *
+     * @param from Fecha mínima (incluida)
+     * @param to Fecha máxima (incluida)
+     * @param habitId ID del hábito
+     * @param userId ID del usuario
+     * @param afterDate Fecha del último registro de la página anterior
+     * @param afterId ID del último registro de la página anterior
+     * @param pageable Número máximo de registros a obtener (siempre desde la posición 0)
+     * @return Lista de DTOs de los registros diarios posteriores a la clave
+     */
+    @Query(ARCHIVE_UNION_DTO_SELECT +
+            RECENT_BRANCH + "where (:from is null or r.date >= :from) " +
+            "and (:to is null or r.date <= :to) " +
+            "and (:habitId is null or r.habit.id = :habitId) " +
+            "and (:userId is null or r.userId = :userId) " +
+            "and (:afterDate is null or r.date > :afterDate or (r.date = :afterDate and r.id > :afterId))" +
+            ARCHIVE_BRANCH + "where (:from is null or a.date >= :from) " +
+            "and (:to is null or a.date <= :to) " +
+            "and (:habitId is null or a.habit.id = :habitId) " +
+            "and (:userId is null or a.userId = :userId) " +
+            "and (:afterDate is null or a.date > :afterDate or (a.date = :afterDate and a.id > :afterId))" +
+            ARCHIVE_UNION_JOIN + "order by t.date asc, t.id asc")
+    List<DailyRecordResponseDTO> findPageAfterIncludingArchive(@Param("from") LocalDate from,
+                                                               @Param("to") LocalDate to,
+                                                               @Param("habitId") Long habitId,
+                                                               @Param("userId") Long userId,
+                                                               @Param("afterDate") LocalDate afterDate,
+                                                               @Param("afterId") Long afterId,
+                                                               Pageable pageable);
+
+    /**
+     * Obtiene todos los registros diarios como DTOs
+     *
+     * @return Lista de DTOs de los registros diarios ordenada por ID
+     */
+    @Query(RESPONSE_DTO_SELECT + "order by r.id asc")
+    List<DailyRecordResponseDTO> findAllResponseDTOs();
+
+    /**
+     * Obtiene todos los registros diarios de un usuario como DTOs
+     *
+     * @param userId ID del usuario
+     * @return Lista de DTOs de los registros diarios ordenada por ID
+     */
+    @Query(RESPONSE_DTO_SELECT + "where r.userId = :userId order by r.id asc")
+    List<DailyRecordResponseDTO> findResponseDTOsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene todos los registros diarios de un usuario como DTOs, incluidos los archivados
+     *
+     * @param userId ID del usuario
+     * @return Lista de DTOs de los registros diarios del usuario ordenada por ID
+     */
+    @Query(ARCHIVE_UNION_DTO_SELECT +
+            RECENT_BRANCH + "where r.userId = :userId" +
+            ARCHIVE_BRANCH + "where a.userId = :userId" +
+            ARCHIVE_UNION_JOIN + "order by t.id asc")
+    List<DailyRecordResponseDTO> findResponseDTOsByUserIdIncludingArchive(@Param("userId") Long userId);
+
+    /**
+     * Obtiene los registros diarios de un usuario entre dos fechas (ambas incluidas) como DTOs
+     *
+     * @param userId ID del usuario
+     * @param from Fecha de inicio
+     * @param to Fecha de fin
+     * @return Lista de DTOs de los registros diarios ordenada por fecha e ID
+     */
+    @Query(RESPONSE_DTO_SELECT + "where r.userId = :userId and r.date between :from and :to order by r.date asc, r.id asc")
+    List<DailyRecordResponseDTO> findResponseDTOsByUserIdAndDateBetween(@Param("userId") Long userId,
+                                                                        @Param("from") LocalDate from,
+                                                                        @Param("to") LocalDate to);
+
+    /**
+     * Obtiene los registros diarios de un usuario entre dos fechas (ambas incluidas) como DTOs, incluidos los archivados
+     *
+     * @param userId ID del usuario
+     * @param from Fecha de inicio
+     * @param to Fecha de fin
+     * @return Lista de DTOs de los registros diarios del intervalo ordenada por fecha e ID
+     */
+    @Query(ARCHIVE_UNION_DTO_SELECT +
+            RECENT_BRANCH + "where r.userId = :userId and r.date between :from and :to" +
+            ARCHIVE_BRANCH + "where a.userId = :userId and a.date between :from and :to" +
+            ARCHIVE_UNION_JOIN + "order by t.date asc, t.id asc")
+    List<DailyRecordResponseDTO> findResponseDTOsByUserIdAndDateBetweenIncludingArchive(@Param("userId") Long userId,
+                                                                                        @Param("from") LocalDate from,
+                                                                                        @Param("to") LocalDate to);
+
+    /**
+     * Obtiene los registros diarios más recientes de un usuario como DTOs
+     *
+     * @param userId ID del usuario
+     * @param pageable Número máximo de registros a obtener
+     * @return Lista de DTOs de los registros diarios ordenada de más reciente a más antiguo
+     */
+    @Query(RESPONSE_DTO_SELECT + "where r.userId = :userId order by r.date desc, r.id desc")
+    List<DailyRecordResponseDTO> findRecentResponseDTOsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Obtiene los registros diarios más recientes de un usuario como DTOs, incluidos los archivados
+     *
+     * @param userId ID del usuario
+     * @param pageable Número máximo de registros a obtener
+     * @return Lista de DTOs ordenada de más reciente a más antiguo
+     */
+    @Query(ARCHIVE_UNION_DTO_SELECT +
+            RECENT_BRANCH + "where r.userId = :userId" +
+            ARCHIVE_BRANCH + "where a.userId = :userId" +
+            ARCHIVE_UNION_JOIN + "order by t.date desc, t.id desc")
+    List<DailyRecordResponseDTO> findRecentResponseDTOsByUserIdIncludingArchive(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Busca un registro diario archivado por su ID
+     *
+     * @param id ID del registro diario
+     * @return DTO del registro archivado, o vacío si no existe
+     */
+    @Query("select new trackup.dto.response.DailyRecordResponseDTO(a.id, a.date, a.completed, h.id, a.userId, h.name) " +
+            "from DailyRecordArchive a join a.habit h where a.id = :id")
+    Optional<DailyRecordResponseDTO> findArchivedResponseDTOById(@Param("id") Long id);
+
+    /**
+     * Recorre los registros diarios archivados de un usuario sin cargarlos a la vez en memoria
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     *
+     * @param userId ID del usuario
+     * @return Stream de DTOs ordenados por fecha e ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new trackup.dto.response.DailyRecordResponseDTO(a.id, a.date, a.completed, h.id, a.userId, h.name) " +
+            "from DailyRecordArchive a join a.habit h where a.userId = :userId order by a.date asc, a.id asc")
+    Stream<DailyRecordResponseDTO> streamArchivedResponseDTOsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Indica si hay algún registro diario archivado
+     *
+     * @return true si el archivo no está vacío
+     */
+    @Query("select count(a) > 0 from DailyRecordArchive a")
+    boolean existsArchived();
+
+    /**
+     * Obtiene la fecha del registro archivado más reciente
+     *
+     * @return Fecha más reciente del archivo, o null si está vacío
+     */
+    @Query("select max(a.date) from DailyRecordArchive a")
+    LocalDate findLatestArchivedDate();
+
+    /**
+     * Cuenta los registros diarios (totales y completados, incluidos los archivados) agrupados por usuario y día
+     *
+     * @return Lista de contadores por usuario y día
+     */
+    @Query("select t.userId as userId, t.date as date, count(*) as total, " +
+            "sum(case when t.completed = true then 1 else 0 end) as completed " +
+            "from (select r.userId as userId, r.date as date, r.completed as completed from DailyRecord r " +
+            "union all select a.userId, a.date, a.completed from DailyRecordArchive a) t group by t.userId, t.date")
+    List<UserDayCount> countGroupedByUserAndDate();
+
+    /**
+     * Cuenta los registros diarios de un usuario (totales y completados, incluidos los archivados) agrupados por día
+     *
+     * @param userId ID del usuario
+     * @return Lista de contadores por día (los días sin registros no aparecen)
+     */
+    @Query("select t.userId as userId, t.date as date, count(*) as total, " +
+            "sum(case when t.completed = true then 1 else 0 end) as completed " +
+            "from (select r.userId as userId, r.date as date, r.completed as completed from DailyRecord r where r.userId = :userId " +
+            "union all select a.userId, a.date, a.completed from DailyRecordArchive a where a.userId = :userId) t " +
+            "group by t.userId, t.date")
+    List<UserDayCount> countByUserGroupedByDate(@Param("userId") Long userId);
+
+    /**
+     * Cuenta los registros diarios de un usuario (incluidos los archivados) agrupados por hábito
+     *
+     * @param userId ID del usuario
+     * @return Lista de contadores por hábito (los hábitos sin registros no aparecen)
+     */
+    @Query("select t.habitId as habitId, t.userId as userId, count(*) as total, " +
+            "sum(case when t.completed = true then 1 else 0 end) as completed " +
+            "from (select r.habit.id as habitId, r.userId as userId, r.completed as completed from DailyRecord r where r.userId = :userId " +
+            "union all select a.habit.id, a.userId, a.completed from DailyRecordArchive a where a.userId = :userId) t " +
+            "group by t.habitId, t.userId")
+    List<HabitCount> countByUserGroupedByHabit(@Param("userId") Long userId);
+
+    /**
+     * Cuenta los registros diarios (totales y completados, incluidos los archivados) agrupados por hábito
+     *
+     * @return Lista de contadores por hábito
+     */
+    @Query("select t.habitId as habitId, t.userId as userId, count(*) as total, " +
+            "sum(case when t.completed = true then 1 else 0 end) as completed " +
+            "from (select r.habit.id as habitId, r.userId as userId, r.completed as completed from DailyRecord r " +
+            "union all select a.habit.id, a.userId, a.completed from DailyRecordArchive a) t group by t.habitId, t.userId")
+    List<HabitCount> countGroupedByHabit();
+
+    /**
+     * Cuenta los registros diarios de un usuario en los días indicados, agrupados por día
+     *
+     * @param userId ID del usuario
+     * @param dates Días a contar
+     * @return Lista de contadores por usuario y día (los días sin registros no aparecen)
+     */
+    @Query("select r.userId as userId, r.date as date, count(r) as total, " +
+            "sum(case when r.completed = true then 1 else 0 end) as completed " +
+            "from DailyRecord r where r.userId = :userId and r.date in :dates group by r.userId, r.date")
+    List<UserDayCount> countByUserAndDatesGroupedByDate(@Param("userId") Long userId, @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * Cuenta los registros diarios de los hábitos indicados (incluidos los archivados), agrupados por hábito
+     *
+     * @param habitIds IDs de los hábitos
+     * @return Lista de contadores por hábito (los hábitos sin registros no aparecen)
+     */
+    @Query("select t.habitId as habitId, t.userId as userId, count(*) as total, " +
+            "sum(case when t.completed = true then 1 else 0 end) as completed " +
+            "from (select r.habit.id as habitId, r.userId as userId, r.completed as completed from DailyRecord r " +
+            "where r.habit.id in :habitIds " +
+            "union all select a.habit.id, a.userId, a.completed from DailyRecordArchive a where a.habit.id in :habitIds) t " +
+            "group by t.habitId, t.userId")
+    List<HabitCount> countByHabitsGroupedByHabit(@Param("habitIds") Collection<Long> habitIds);
+
+    /**
+     * Obtiene los días completados de los hábitos indicados, incluidos los archivados
+     *
+     * @param habitIds IDs de los hábitos
+     * @return Lista de días completados ordenada por hábito y fecha
+     */
+    @Query("select t.habitId as habitId, t.userId as userId, t.date as date " +
+            "from (select r.habit.id as habitId, r.userId as userId, r.date as date from DailyRecord r " +
+            "where r.habit.id in :habitIds and r.completed = true " +
+            "union all select a.habit.id, a.userId, a.date from DailyRecordArchive a " +
+            "where a.habit.id in :habitIds and a.completed = true) t order by t.habitId asc, t.date asc")
+    List<HabitCompletedDate> findCompletedDatesByHabitIds(@Param("habitIds") Collection<Long> habitIds);
+
+    /**
+     * Obtiene cuáles de los días indicados están completados en los hábitos indicados
+     * Solo lee la tabla principal: los días archivados no se pueden modificar
+     *
+     * @param habitIds IDs de los hábitos
+     * @param dates Días que se consultan
+     * @return Lista de días completados
+     */
+    @Query("select r.habit.id as habitId, r.userId as userId, r.date as date from DailyRecord r " +
+            "where r.habit.id in :habitIds and r.date in :dates and r.completed = true")
+    List<HabitCompletedDate> findCompletedDatesByHabitIdsAndDateIn(@Param("habitIds") Collection<Long> habitIds,
+                                                                   @Param("dates") Collection<LocalDate> dates);
+
+    /**
+     * Recorre los días completados de todos los hábitos (incluidos los archivados) sin cargarlos a la vez en memoria
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     *
+     * @return Stream de días completados ordenados por hábito y fecha
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.habitId as habitId, t.userId as userId, t.date as date " +
+            "from (select r.habit.id as habitId, r.userId as userId, r.date as date from DailyRecord r where r.completed = true " +
+            "union all select a.habit.id, a.userId, a.date from DailyRecordArchive a where a.completed = true) t " +
+            "order by t.habitId asc, t.date asc")
+    Stream<HabitCompletedDate> streamAllCompletedDates();
+
+    /**
+     * Recorre el estado de todos los registros diarios (incluidos los archivados) sin cargarlos a la vez en memoria
+     * Debe consumirse dentro de una transacción y cerrarse al terminar
+     *
+     * @return Stream de registros ordenados por hábito y fecha
      */
-    List<DailyRecord> findByHabit_User_Id(Long userId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t.habitId as habitId, t.userId as userId, h.startDate as startDate, t.date as date, t.completed as completed " +
+            "from (select r.habit.id as habitId, r.userId as userId, r.date as date, r.completed as completed from DailyRecord r " +
+            "union all select a.habit.id, a.userId, a.date, a.completed from DailyRecordArchive a) t " +
+            "join Habit h on h.id = t.habitId order by t.habitId asc, t.date asc")
+    Stream<HabitDayRecord> streamAllDayRecords();
 
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package trackup.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import trackup.entity.HabitCalendar;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Repositorio JDBC para crear calendarios de hábitos sin carreras entre peticiones concurrentes
+ *
+ * 'SELECT ... FOR UPDATE' no bloquea nada si el calendario todavía no existe, así que dos primeros registros
+ * simultáneos del mismo hábito intentarían insertarlo a la vez. Aquí se inserta solo si falta
+ * ('INSERT ... ON DUPLICATE KEY UPDATE' en MySQL, 'MERGE ... WHEN NOT MATCHED' en H2) y después se bloquea la fila
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Repository // Indica que esta clase es un repositorio
+public class HabitCalendarJdbcRepository {
+
+    private static final String MYSQL_INSERT_IF_ABSENT_SQL = "insert into habit_calendar (habit_id, user_id, base_date, recorded_days, completed_days) " +
+            "values (?, ?, ?, ?, ?) on duplicate key update habit_id = habit_id";
+
+    private static final String H2_INSERT_IF_ABSENT_SQL = "merge into habit_calendar t using (select cast(? as bigint) habit_id, cast(? as bigint) user_id, " +
+            "cast(? as date) base_date, cast(? as varbinary(4096)) recorded_days, cast(? as varbinary(4096)) completed_days) s on t.habit_id = s.habit_id " +
+            "when not matched then insert (habit_id, user_id, base_date, recorded_days, completed_days) " +
+            "values (s.habit_id, s.user_id, s.base_date, s.recorded_days, s.completed_days)";
+
+    private final JdbcTemplate jdbcTemplate; // Plantilla JDBC, comparte la conexión de la transacción JPA en curso
+
+    private volatile String insertIfAbsentSql; // Sentencia del motor de base de datos, se resuelve en el primer uso
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param jdbcTemplate Plantilla JDBC
+     */
+    @Autowired
+    public HabitCalendarJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserta los calendarios de los hábitos que todavía no tienen uno; los existentes no se modifican
+     *
+     * @param calendars Calendarios a insertar (con el hábito ya resuelto)
+     */
+    public void insertIfAbsent(List<HabitCalendar> calendars) {
+        jdbcTemplate.batchUpdate(insertIfAbsentSql(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                HabitCalendar calendar = calendars.get(i);
+                ps.setLong(1, calendar.getHabit().getId());
+                ps.setLong(2, calendar.getUserId());
+                ps.setDate(3, Date.valueOf(calendar.getBaseDate()));
+                ps.setBytes(4, calendar.getRecordedDays());
+                ps.setBytes(5, calendar.getCompletedDays());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return calendars.size();
+            }
+        });
+    }
+
+    /**
+     * Obtiene la sentencia de inserción condicional según el motor de base de datos
+     *
+     * @return Sentencia SQL
+     */
+    private String insertIfAbsentSql() {
+        if (insertIfAbsentSql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if ("H2".equalsIgnoreCase(product)) {
+                insertIfAbsentSql = H2_INSERT_IF_ABSENT_SQL;
+            } else if (product != null && (product.contains("MySQL") || product.contains("MariaDB"))) {
+                insertIfAbsentSql = MYSQL_INSERT_IF_ABSENT_SQL;
+            } else {
+                throw new IllegalStateException("Base de datos no soportada para la creación de calendarios: " + product);
+            }
+        }
+        return insertIfAbsentSql;
+    }
+
+}
@@ -0,0 +1,42 @@
+package trackup.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import trackup.entity.HabitCalendar;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad 'HabitCalendar'
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Repository // Indica que esta interfaz es un repositorio
+public interface HabitCalendarRepository extends JpaRepository<HabitCalendar, Long> {
+
+    /**
+     * Obtiene los calendarios de todos los hábitos de un usuario
+     *
+     * @param userId ID del usuario
+     * @return Lista de calendarios por hábito
+     */
+    List<HabitCalendar> findAllByUserId(Long userId);
+
+    /**
+     * Obtiene y bloquea los calendarios de los hábitos indicados hasta el final de la transacción
+     * Los mapas de bits se modifican en memoria, así que dos escrituras simultáneas sobre el mismo hábito
+     * deben ejecutarse una detrás de otra para no perder días
+     *
+     * @param habitIds IDs de los hábitos
+     * @return Lista de calendarios encontrados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from HabitCalendar c where c.habitId in :habitIds")
+    List<HabitCalendar> findAllForUpdateByHabitIdIn(@Param("habitIds") Collection<Long> habitIds);
+
+}
\ No newline at end of file
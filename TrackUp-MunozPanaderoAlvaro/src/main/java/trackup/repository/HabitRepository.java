@@ -1,8 +1,12 @@
 package trackup.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import trackup.entity.Habit;
+import trackup.repository.projection.HabitOwner;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,12 +19,32 @@ import java.util.Optional;
 @Repository // Indica que esta clase es un repositorio
 public interface HabitRepository extends JpaRepository<Habit, Long> {
 
+    /**
+     * Busca un hábito por su ID cargando también su tipo de hábito
+     *
+     * @param id ID del hábito
+     * @return Hábito encontrado
+     */
+    @Override
+    @EntityGraph("Habit.habitType")
+    Optional<Habit> findById(Long id);
+
+    /**
+     * Obtiene todos los hábitos cargando también sus tipos de hábito
+     *
+     * @return Lista de hábitos
+     */
+    @Override
+    @EntityGraph("Habit.habitType")
+    List<Habit> findAll();
+
     /**
      * Busca por el nombre del hábito
      *
      * @param name Nombre del hábito
      * @return Hábito correspondiente al nombre proporcionado en el caso de que exista
      */
+    @EntityGraph("Habit.habitType")
     Optional<Habit> findByName(String name);
 
     /**
@@ -30,6 +54,7 @@ public interface HabitRepository extends JpaRepository<Habit, Long> {
      * @param userId ID del usuario
      * @return Hábito correspondiente al nombre y ID de usuario proporcionados en el caso de que exista
      */
+    @EntityGraph("Habit.habitType")
     Optional<Habit> findHabitByNameAndUserId(String name, Long userId);
 
     /**
@@ -38,8 +63,36 @@ public interface HabitRepository extends JpaRepository<Habit, Long> {
      * @param userId ID del usuario
      * @return Lista de hábitos del usuario
      */
+    @EntityGraph("Habit.habitType")
     List<Habit> findAllHabitsByUserId(Long userId);
 
+    /**
+     * Obtiene el ID del usuario propietario de un hábito sin cargar el hábito
+     *
+     * @param id ID del hábito
+     * @return ID del usuario en el caso de que el hábito exista
+     */
+    @Query("select h.user.id from Habit h where h.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    /**
+     * Obtiene los IDs de los hábitos de un usuario sin cargar los hábitos
+     *
+     * @param userId ID del usuario
+     * @return Lista de IDs de los hábitos del usuario
+     */
+    @Query("select h.id from Habit h where h.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene los hábitos de un tipo de hábito con su usuario propietario, sin cargar los hábitos
+     *
+     * @param habitTypeId ID del tipo de hábito
+     * @return Lista de hábitos con su propietario
+     */
+    @Query("select h.id as habitId, h.user.id as userId from Habit h where h.habitType.id = :habitTypeId")
+    List<HabitOwner> findOwnersByHabitTypeId(@Param("habitTypeId") Long habitTypeId);
+
     void deleteAllByHabitTypeId(Long habitTypeId);
 
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package trackup.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import trackup.entity.HabitStatistics;
+
+import java.util.List;
+
+/**
+ * Repositorio para la entidad 'HabitStatistics'
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Repository // Indica que esta interfaz es un repositorio
+public interface HabitStatisticsRepository extends JpaRepository<HabitStatistics, Long> {
+
+    /**
+     * Obtiene los contadores de todos los hábitos de un usuario
+     *
+     * @param userId ID del usuario
+     * @return Lista de contadores por hábito
+     */
+    List<HabitStatistics> findAllByUserId(Long userId);
+
+    /**
+     * Elimina los contadores de todos los hábitos de un usuario
+     *
+     * @param userId ID del usuario
+     */
+    @Modifying
+    @Query("delete from HabitStatistics s where s.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+
+}
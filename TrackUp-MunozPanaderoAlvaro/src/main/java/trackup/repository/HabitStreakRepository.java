@@ -0,0 +1,25 @@
+package trackup.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import trackup.entity.HabitStreak;
+
+import java.util.List;
+
+/**
+ * Repositorio para la entidad 'HabitStreak'
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Repository // Indica que esta interfaz es un repositorio
+public interface HabitStreakRepository extends JpaRepository<HabitStreak, Long> {
+
+    /**
+     * Obtiene las rachas de todos los hábitos de un usuario
+     *
+     * @param userId ID del usuario
+     * @return Lista de rachas por hábito
+     */
+    List<HabitStreak> findAllByUserId(Long userId);
+
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package trackup.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import trackup.entity.UserDailyStatistics;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad 'UserDailyStatistics'
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Repository // Indica que esta interfaz es un repositorio
+public interface UserDailyStatisticsRepository extends JpaRepository<UserDailyStatistics, Long> {
+
+    /**
+     * Obtiene los contadores diarios de un usuario entre dos fechas (ambas incluidas)
+     *
+     * @param userId ID del usuario
+     * @param from Fecha de inicio
+     * @param to Fecha de fin
+     * @return Lista de contadores diarios ordenada por fecha
+     */
+    List<UserDailyStatistics> findByUserIdAndDateBetweenOrderByDateAsc(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Obtiene los contadores diarios de un usuario en los días indicados
+     *
+     * @param userId ID del usuario
+     * @param dates Días a obtener
+     * @return Lista de contadores diarios existentes
+     */
+    List<UserDailyStatistics> findByUserIdAndDateIn(Long userId, Collection<LocalDate> dates);
+
+    /**
+     * Elimina todos los contadores diarios de un usuario
+     *
+     * @param userId ID del usuario
+     */
+    @Modifying
+    @Query("delete from UserDailyStatistics s where s.userId = :userId")
+    void deleteAllByUserId(@Param("userId") Long userId);
+
+}
@@ -0,0 +1,18 @@
+package trackup.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección con un día en el que se completó un hábito
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface HabitCompletedDate {
+
+    Long getHabitId(); // ID del hábito
+
+    Long getUserId(); // ID del usuario propietario del hábito
+
+    LocalDate getDate(); // Día completado
+
+}
\ No newline at end of file
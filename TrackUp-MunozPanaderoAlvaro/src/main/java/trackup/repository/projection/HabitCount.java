@@ -0,0 +1,18 @@
+package trackup.repository.projection;
+
+/**
+ * Proyección con el número de registros diarios (totales y completados) de un hábito
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface HabitCount {
+
+    Long getHabitId(); // ID del hábito
+
+    Long getUserId(); // ID del usuario propietario del hábito
+
+    Long getTotal(); // Número de registros diarios
+
+    Long getCompleted(); // Número de registros diarios completados
+
+}
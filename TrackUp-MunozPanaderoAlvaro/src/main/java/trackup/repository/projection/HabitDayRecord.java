@@ -0,0 +1,22 @@
+package trackup.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección con el estado de un hábito en un día, junto con los datos necesarios para situarlo en su calendario
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface HabitDayRecord {
+
+    Long getHabitId(); // ID del hábito
+
+    Long getUserId(); // ID del usuario propietario del hábito
+
+    LocalDate getStartDate(); // Fecha de inicio del hábito
+
+    LocalDate getDate(); // Día del registro
+
+    Boolean getCompleted(); // Indica si se completó el hábito ese día
+
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package trackup.repository.projection;
+
+/**
+ * Proyección con un hábito y el usuario propietario
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface HabitOwner {
+
+    Long getHabitId(); // ID del hábito
+
+    Long getUserId(); // ID del usuario propietario del hábito
+
+}
\ No newline at end of file
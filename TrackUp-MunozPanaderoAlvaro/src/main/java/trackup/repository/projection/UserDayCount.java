@@ -0,0 +1,20 @@
+package trackup.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección con el número de registros diarios (totales y completados) de un usuario en un día
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface UserDayCount {
+
+    Long getUserId(); // ID del usuario
+
+    LocalDate getDate(); // Día agregado
+
+    Long getTotal(); // Número de registros diarios
+
+    Long getCompleted(); // Número de registros diarios completados
+
+}
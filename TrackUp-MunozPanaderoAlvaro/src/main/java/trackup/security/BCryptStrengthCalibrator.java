@@ -0,0 +1,69 @@
+package trackup.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Calibra el coste de BCrypt midiendo en el arranque cuánto tarda un hash en esta máquina
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibracion-trackup"; // Contraseña de muestra para medir
+    private static final int SAMPLES = 3; // Número de hashes por medida (se queda el más rápido)
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * Busca el mayor coste cuyo hash no supere el tiempo objetivo
+     * Cada punto de coste duplica el trabajo, así que se mide el mínimo y se sube mientras quepa en el objetivo
+     *
+     * @param target Tiempo objetivo de un hash
+     * @param minStrength Coste mínimo aceptado (entre 4 y 31)
+     * @param maxStrength Coste máximo aceptado (entre 4 y 31)
+     * @return Coste calibrado
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("Rango de coste de BCrypt no válido: " + minStrength + "-" + maxStrength);
+        }
+
+        int strength = minStrength;
+        long nanos = measure(strength);
+        while (strength < maxStrength && nanos * 2 <= target.toNanos()) {
+            strength++;
+            nanos *= 2; // Estimación: cada punto de coste duplica el tiempo
+        }
+
+        log.info("Coste de BCrypt calibrado a {} (~{} ms por hash, objetivo {} ms)",
+                strength, Duration.ofNanos(nanos).toMillis(), target.toMillis());
+        return strength;
+    }
+
+    /**
+     * Mide el tiempo de un hash con el coste indicado
+     *
+     * @param strength Coste de BCrypt
+     * @return Tiempo del hash más rápido de la muestra, en nanosegundos
+     */
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD); // Calentamiento
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+}
\ No newline at end of file
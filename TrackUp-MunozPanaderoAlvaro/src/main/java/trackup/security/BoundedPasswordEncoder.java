@@ -0,0 +1,108 @@
+package trackup.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Codificador de contraseñas que ejecuta los hashes en un pool de hilos acotado
+ *
+ * Limita cuántos hashes se calculan a la vez y cuántos pueden esperar en cola: una ráfaga de logins
+ * no acapara la CPU del resto de peticiones, y lo que no cabe se rechaza de inmediato en lugar de acumularse
+ *
+ * El tiempo máximo de espera solo descarta los hashes que siguen en cola: BCrypt no atiende interrupciones,
+ * así que 'cancel(true)' no detiene un hash que ya se está calculando. El llamante recibe el error a tiempo,
+ * pero ese hilo del pool sigue ocupado hasta que el hash termina
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    /**
+     * Constructor del codificador
+     *
+     * @param delegate Codificador que calcula los hashes
+     * @param threads Número de hilos dedicados a los hashes
+     * @param queueCapacity Número máximo de hashes esperando
+     * @param timeout Tiempo máximo de espera de un hash (incluida la cola); no interrumpe un hash ya en curso
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // Con la cola llena se rechaza el hash
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // Solo inspecciona el prefijo, no calcula hashes
+    }
+
+    /**
+     * Ejecuta un hash en el pool y espera su resultado
+     *
+     * @param task Hash a calcular
+     * @return Resultado del hash
+     * @throws PasswordHashingUnavailableException Si el pool está saturado o el hash no termina a tiempo
+     */
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingUnavailableException("Demasiadas operaciones de contraseña en curso", e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true); // Si aún está en cola, no llega a calcularse; si ya se está calculando, termina igualmente
+            throw new PasswordHashingUnavailableException("Demasiadas operaciones de contraseña en curso", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Operación de contraseña interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+}
\ No newline at end of file
@@ -1,10 +1,19 @@
 package trackup.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utilidad para manejar la generación y validación de tokens JWT.
@@ -14,11 +23,44 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
+    private static final long VERIFIED_TOKENS_MAX_SIZE = 10_000; // Número máximo de tokens verificados que se recuerdan
+    private static final long ALLOWED_CLOCK_SKEW_SECONDS = 60; // Margen tras la expiración en el que el token sigue siendo válido
+
     private final String secretKey = "mi_clave_super_secreta_1234567890123456";
 
     private final Key key = Keys.hmacShaKeyFor(secretKey.getBytes());
     private final long expirationMs = 86400000;
 
+    // El parser es inmutable y seguro entre hilos, así que se construye una única vez.
+    // Es la única regla de expiración: rechaza (ExpiredJwtException) los tokens expirados hace más del margen
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .setAllowedClockSkewSeconds(ALLOWED_CLOCK_SKEW_SECONDS)
+            .build();
+
+    // Claims de los tokens ya verificados, indexados por el SHA-256 del token y guardados mientras el parser los aceptaría
+    private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKENS_MAX_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                    long remainingMs = claims.getExpiration().getTime() + TimeUnit.SECONDS.toMillis(ALLOWED_CLOCK_SKEW_SECONDS)
+                            - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                }
+
+                @Override
+                public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
     public String generateToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
@@ -28,27 +70,58 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Valida un token (firma y expiración, con el margen de desfase de reloj) y devuelve sus claims
+     * Si el mismo token ya se verificó y sigue dentro de ese plazo, se devuelve sin volver a comprobar la firma
+     *
+     * @param token Token JWT
+     * @return Un objeto Optional con los claims si el token es válido, o vacío si no
+     */
+    public Optional<Claims> validateToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody(); // Se parsea y se verifica la firma (y la expiración) una sola vez
+            if (claims.getExpiration() == null) { // Sin expiración el token no caducaría nunca
+                return Optional.empty();
+            }
+            verifiedTokens.put(digest, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setAllowedClockSkewSeconds(60)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return validateToken(token)
+                .map(Claims::getSubject)
+                .orElse(null);
     }
 
     public boolean isTokenValid(String token) {
+        return validateToken(token).isPresent();
+    }
+
+    /**
+     * Calcula el SHA-256 de un token, para no guardar tokens completos en memoria
+     *
+     * @param token Token JWT
+     * @return Resumen en hexadecimal
+     */
+    private static String digest(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .setAllowedClockSkewSeconds(60)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return !claims.getExpiration().before(new Date());
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256"); // MessageDigest no es seguro entre hilos
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
         }
     }
 
@@ -0,0 +1,25 @@
+package trackup.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Excepción lanzada cuando el pool de hashes de contraseñas está saturado o un hash no termina a tiempo
+ *
+ * No es un fallo de credenciales ni de la petición: se responde con 503 (ver PasswordHashingExceptionHandler).
+ * Extiende AuthenticationServiceException para que el inicio de sesión la siga tratando como un fallo del servicio
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class PasswordHashingUnavailableException extends AuthenticationServiceException {
+
+    /**
+     * Constructor de la excepción
+     *
+     * @param message Mensaje de error
+     * @param cause Causa original
+     */
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
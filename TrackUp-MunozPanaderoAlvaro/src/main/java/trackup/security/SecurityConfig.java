@@ -1,17 +1,30 @@
 package trackup.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.NullSecurityContextRepository;
+
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Configuración de seguridad para la aplicación.
@@ -25,7 +38,57 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter jwtAuthFilter;
 
+    /**
+     * Cadena de seguridad de la API REST ('/api/**'), totalmente sin estado
+     * Cada petición se autentica solo con su token JWT: no se crean ni se consultan sesiones HTTP, no se guarda
+     * el contexto de seguridad entre peticiones y no hay formulario de login, logout ni caché de peticiones
+     *
+     * @param http Configuración de seguridad HTTP
+     * @return Cadena de filtros de la API
+     * @throws Exception Si la configuración no es válida
+     */
     @Bean
+    @Order(1) // Se evalúa antes que la cadena web
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/api/**")
+                .csrf(csrf -> csrf.disable())
+
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/auth/**").permitAll()
+                        .anyRequest().authenticated()
+                )
+
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .securityContext(context -> context
+                        .securityContextRepository(new NullSecurityContextRepository()) // El contexto solo vive durante la petición
+                )
+                .requestCache(cache -> cache.disable())
+                .formLogin(form -> form.disable())
+                .httpBasic(basic -> basic.disable())
+                .logout(logout -> logout.disable())
+
+                // Sin redirecciones a '/login': la API responde 401 si falta el token o no es válido
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                );
+
+        http.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    /**
+     * Cadena de seguridad de las vistas web, la única que mantiene sesiones HTTP
+     *
+     * @param http Configuración de seguridad HTTP
+     * @return Cadena de filtros de las vistas web
+     * @throws Exception Si la configuración no es válida
+     */
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
@@ -34,8 +97,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/", "/login", "/register", "/perform_login",
-                                "/css/**", "/js/**", "/img/**", "/images/**", "/error",
-                                "/api/auth/**"
+                                "/css/**", "/js/**", "/img/**", "/images/**", "/error"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -68,9 +130,58 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Evita que Spring Boot registre el filtro JWT también como filtro del contenedor de servlets:
+     * solo debe ejecutarse dentro de las cadenas de seguridad
+     *
+     * @param filter Filtro JWT
+     * @return Registro del filtro deshabilitado
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance();
+    public FilterRegistrationBean<JwtAuthFilter> jwtAuthFilterRegistration(JwtAuthFilter filter) {
+        FilterRegistrationBean<JwtAuthFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Codificador de contraseñas
+     *
+     * Las contraseñas nuevas se guardan con BCrypt ('{bcrypt}...'), con un coste calibrado en el arranque para
+     * acercarse al tiempo objetivo (o fijo si se indica 'trackup.security.password.bcrypt-strength'). Las contraseñas
+     * antiguas, en texto plano y sin prefijo, se siguen aceptando y se vuelven a codificar al iniciar sesión
+     * (ver UserDetailsServiceImpl.updatePassword). Los hashes se calculan en un pool de hilos acotado
+     *
+     * @param fixedStrength Coste fijo de BCrypt (0 para calibrarlo)
+     * @param targetHashTime Tiempo objetivo de un hash
+     * @param minStrength Coste mínimo de la calibración
+     * @param maxStrength Coste máximo de la calibración
+     * @param threads Hilos dedicados a los hashes (0 para usar uno por procesador)
+     * @param queueCapacity Hashes que pueden esperar en cola
+     * @param timeout Tiempo máximo de espera de un hash (solo descarta los que siguen en cola)
+     * @return Codificador de contraseñas
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${trackup.security.password.bcrypt-strength:0}") int fixedStrength,
+                                           @Value("${trackup.security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                           @Value("${trackup.security.password.min-strength:10}") int minStrength,
+                                           @Value("${trackup.security.password.max-strength:14}") int maxStrength,
+                                           @Value("${trackup.security.password.hashing-threads:0}") int threads,
+                                           @Value("${trackup.security.password.hashing-queue:64}") int queueCapacity,
+                                           @Value("${trackup.security.password.hashing-timeout:5s}") Duration timeout) {
+        int strength = fixedStrength > 0
+                ? fixedStrength
+                : BCryptStrengthCalibrator.calibrate(targetHashTime, minStrength, maxStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(strength));
+        encoders.put("noop", NoOpPasswordEncoder.getInstance());
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", encoders);
+        delegating.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance()); // Contraseñas antiguas sin prefijo
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, timeout);
     }
 
     @Bean
@@ -3,28 +3,42 @@ package trackup.security;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import trackup.entity.User;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 
 /**
  * Implementación de UserDetails para la autenticación de usuarios.
+ * Guarda una copia de los datos de autenticación del usuario (sin sus hábitos ni objetivos), de modo que
+ * puede cachearse y usarse fuera de la sesión de Hibernate en la que se cargó.
  *
  * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
  */
 public class UserDetailsImpl implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String password;
 
     public UserDetailsImpl(User user) {
-        this.user = user;
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
     }
 
+    /**
+     * Devuelve una entidad desacoplada con los datos del usuario (sin hábitos ni objetivos)
+     *
+     * @return Usuario autenticado
+     */
     public User getUserEntity() {
-        return user;
+        return new User(id, username, password, email, new ArrayList<>(), new ArrayList<>());
     }
 
     public Long getId() {
-        return user.getId();
+        return id;
     }
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -33,12 +47,12 @@ public class UserDetailsImpl implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
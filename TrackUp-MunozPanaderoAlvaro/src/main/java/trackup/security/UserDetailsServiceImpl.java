@@ -1,9 +1,14 @@
 package trackup.security;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.config.CacheConfig;
 import trackup.entity.User;
 import trackup.repository.UserRepository;
 
@@ -13,7 +18,7 @@ import trackup.repository.UserRepository;
  * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -21,7 +26,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         this.userRepository = userRepository;
     }
 
+    /**
+     * Carga el principal de un usuario a partir de su nombre de usuario
+     * El resultado se cachea (acotado en tamaño y tiempo) para que las peticiones autenticadas con JWT
+     * no consulten la base de datos; la caché se invalida al actualizar o eliminar usuarios
+     *
+     * @param username Nombre de usuario
+     * @return Detalles del usuario
+     * @throws UsernameNotFoundException Si el usuario no existe (no se cachea)
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository
                 .findByUsername(username)
@@ -30,4 +45,25 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return new UserDetailsImpl(user);
     }
 
+    /**
+     * Guarda la contraseña de un usuario codificada de nuevo tras un inicio de sesión correcto
+     * Spring Security lo invoca cuando la contraseña guardada usa un formato antiguo (texto plano) o un coste menor
+     * que el actual
+     *
+     * @param user Usuario autenticado
+     * @param newPassword Contraseña ya codificada con el formato actual
+     * @return Detalles del usuario con la nueva contraseña
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_PRINCIPALS, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository
+                .findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + user.getUsername()));
+
+        entity.setPassword(newPassword);
+        return new UserDetailsImpl(userRepository.save(entity));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package trackup.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import trackup.entity.DailyRecord;
+import trackup.entity.Habit;
+import trackup.entity.HabitType;
+import trackup.entity.User;
+import trackup.repository.DailyRecordJdbcRepository;
+import trackup.repository.HabitRepository;
+import trackup.repository.HabitTypeRepository;
+import trackup.repository.UserRepository;
+import trackup.services.HabitCalendarService;
+import trackup.services.StatisticsService;
+import trackup.services.StreakService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador de datos sintéticos para pruebas de carga
+ *
+ * Solo se activa con el perfil 'seed'. Crea N usuarios ('seed-user-1', 'seed-user-2', ...) con la misma contraseña,
+ * M hábitos por usuario y varios años de registros diarios, y al terminar recalcula las estadísticas agregadas, los calendarios y las rachas.
+ * La generación es determinista (semilla fija) y no se repite si los usuarios ya existen
+ *
+ * Ejemplo (base de datos H2 en fichero, en 'data/'); la aplicación sigue en marcha para lanzar después las pruebas de carga:
+ * ./mvnw spring-boot:run -Dspring-boot.run.profiles=seed,h2file -Dspring-boot.run.arguments="--trackup.seed.users=500"
+ * Para solo generar los datos y terminar, se añade '--spring.main.web-application-type=none'
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Component
+@Profile("seed")
+public class DataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final String[] HABIT_TYPE_NAMES = {"Salud", "Deporte", "Estudio", "Productividad", "Bienestar"};
+    private static final String[] FREQUENCIES = {"DAILY", "WEEKLY", "MONTHLY"};
+
+    private final UserRepository userRepository;
+    private final HabitTypeRepository habitTypeRepository;
+    private final HabitRepository habitRepository;
+    private final DailyRecordJdbcRepository dailyRecordJdbcRepository;
+    private final StatisticsService statisticsService;
+    private final HabitCalendarService habitCalendarService;
+    private final StreakService streakService;
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${trackup.seed.users:100}")
+    private int users; // Número de usuarios
+
+    @Value("${trackup.seed.habits-per-user:5}")
+    private int habitsPerUser; // Hábitos de cada usuario
+
+    @Value("${trackup.seed.years:2}")
+    private int years; // Años de registros diarios hasta hoy
+
+    @Value("${trackup.seed.record-probability:0.9}")
+    private double recordProbability; // Probabilidad de que un día tenga registro
+
+    @Value("${trackup.seed.username-prefix:seed-user-}")
+    private String usernamePrefix; // Prefijo de los nombres de usuario
+
+    @Value("${trackup.seed.password:password}")
+    private String password; // Contraseña de todos los usuarios generados
+
+    @Value("${trackup.seed.random-seed:42}")
+    private long randomSeed; // Semilla, para generar siempre los mismos datos
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param userRepository Repositorio de usuarios
+     * @param habitTypeRepository Repositorio de tipos de hábito
+     * @param habitRepository Repositorio de hábitos
+     * @param dailyRecordJdbcRepository Repositorio JDBC de registros diarios (escrituras en lote)
+     * @param statisticsService Servicio de estadísticas
+     * @param habitCalendarService Servicio de calendarios de hábitos
+     * @param streakService Servicio de rachas
+     * @param passwordEncoder Codificador de contraseñas
+     */
+    @Autowired
+    public DataSeeder(UserRepository userRepository, HabitTypeRepository habitTypeRepository, HabitRepository habitRepository,
+                      DailyRecordJdbcRepository dailyRecordJdbcRepository, StatisticsService statisticsService,
+                      HabitCalendarService habitCalendarService, StreakService streakService, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.habitTypeRepository = habitTypeRepository;
+        this.habitRepository = habitRepository;
+        this.dailyRecordJdbcRepository = dailyRecordJdbcRepository;
+        this.statisticsService = statisticsService;
+        this.habitCalendarService = habitCalendarService;
+        this.streakService = streakService;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.findByUsername(usernamePrefix + 1).isPresent()) { // Ya se generaron los datos
+            log.info("Los datos sintéticos ya existen ('{}1'); no se vuelven a generar", usernamePrefix);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Random random = new Random(randomSeed);
+        List<HabitType> habitTypes = findOrCreateHabitTypes();
+        String encodedPassword = passwordEncoder.encode(password); // Un solo hash para todos los usuarios
+
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusYears(years).plusDays(1);
+        long records = 0;
+
+        for (int u = 1; u <= users; u++) {
+            User user = new User();
+            user.setUsername(usernamePrefix + u);
+            user.setEmail(usernamePrefix + u + "@trackup.local");
+            user.setPassword(encodedPassword);
+            user = userRepository.save(user);
+
+            List<Habit> habits = new ArrayList<>(habitsPerUser);
+            for (int h = 1; h <= habitsPerUser; h++) {
+                Habit habit = new Habit();
+                habit.setName("Hábito " + u + "-" + h); // El nombre de los hábitos es único en toda la tabla
+                habit.setDescription("Hábito generado para pruebas de carga");
+                habit.setFrequency(FREQUENCIES[random.nextInt(FREQUENCIES.length)]);
+                habit.setStartDate(from);
+                habit.setEndDate(to.plusYears(1));
+                habit.setUser(user);
+                habit.setHabitType(habitTypes.get(random.nextInt(habitTypes.size())));
+                habits.add(habit);
+            }
+            habits = habitRepository.saveAll(habits);
+
+            // Cada hábito tiene su propia tasa de cumplimiento, para que las estadísticas no sean uniformes
+            List<DailyRecord> dailyRecords = new ArrayList<>();
+            for (Habit habit : habits) {
+                double completionRate = 0.3 + random.nextDouble() * 0.6;
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    if (random.nextDouble() < recordProbability) {
+                        dailyRecords.add(new DailyRecord(null, date, random.nextDouble() < completionRate, habit));
+                    }
+                }
+            }
+            dailyRecordJdbcRepository.upsertAll(dailyRecords); // Inserción en lotes
+            records += dailyRecords.size();
+
+            if (u % 50 == 0 || u == users) {
+                log.info("Datos sintéticos: {}/{} usuarios, {} registros diarios", u, users, records);
+            }
+        }
+
+        // Los registros se insertaron por JDBC, sin pasar por los servicios: se reconstruyen todos los datos derivados
+        statisticsService.rebuildAllStatistics();
+        habitCalendarService.rebuildAllCalendars();
+        streakService.rebuildAllStreaks();
+        log.info("Datos sintéticos generados en {} s: {} usuarios, {} hábitos, {} registros diarios",
+                (System.currentTimeMillis() - start) / 1000, users, (long) users * habitsPerUser, records);
+    }
+
+    /**
+     * Busca los tipos de hábito de los datos sintéticos, creándolos si no existen
+     *
+     * @return Tipos de hábito
+     */
+    private List<HabitType> findOrCreateHabitTypes() {
+        List<HabitType> habitTypes = new ArrayList<>();
+        for (String name : HABIT_TYPE_NAMES) {
+            habitTypes.add(habitTypeRepository.findByName(name)
+                    .orElseGet(() -> habitTypeRepository.save(new HabitType(null, name, new ArrayList<>()))));
+        }
+        return habitTypes;
+    }
+
+}
\ No newline at end of file
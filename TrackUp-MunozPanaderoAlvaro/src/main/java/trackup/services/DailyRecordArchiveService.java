@@ -0,0 +1,49 @@
+package trackup.services;
+
+import java.time.LocalDate;
+
+/**
+ * Servicio que define las operaciones del archivo de registros diarios
+ * Los registros anteriores al horizonte configurado se mueven a 'daily_record_archive' para que la tabla
+ * 'daily_record' solo guarde los años recientes; las consultas solo leen el archivo cuando el intervalo llega a él
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface DailyRecordArchiveService {
+
+    /**
+     * Obtiene la primera fecha que no se archiva: los registros anteriores pueden estar en el archivo
+     *
+     * @param today Fecha de referencia
+     * @return Fecha del horizonte de archivado
+     */
+    LocalDate getHorizon(LocalDate today);
+
+    /**
+     * Indica si una consulta que empieza en la fecha indicada tiene que leer también el archivo
+     *
+     * @param from Fecha mínima de la consulta (null si no tiene límite inferior)
+     * @param today Fecha de referencia
+     * @return true si el intervalo puede contener registros archivados
+     */
+    boolean includesArchive(LocalDate from, LocalDate today);
+
+    /**
+     * Comprueba que una fecha se puede escribir: con el archivado activo, que no es anterior al horizonte;
+     * con el archivado desactivado, que no pertenece a un periodo ya archivado
+     *
+     * @param date Fecha del registro diario
+     * @param today Fecha de referencia
+     * @throws IllegalArgumentException si la fecha pertenece al periodo archivado
+     */
+    void checkWritable(LocalDate date, LocalDate today);
+
+    /**
+     * Mueve al archivo los registros diarios anteriores al horizonte, usuario a usuario
+     *
+     * @param today Fecha de referencia
+     * @return Número de registros archivados
+     */
+    int archiveOldRecords(LocalDate today);
+
+}
@@ -1,6 +1,8 @@
 package trackup.services;
 
 import trackup.dto.request.DailyRecordRequestDTO;
+import trackup.dto.response.DailyRecordBulkResponseDTO;
+import trackup.dto.response.DailyRecordPageResponseDTO;
 import trackup.dto.response.DailyRecordResponseDTO;
 
 import java.time.LocalDate;
@@ -54,14 +56,67 @@ public interface DailyRecordService {
      */
     List<DailyRecordResponseDTO> getAllDailyRecordsByUserId(Long userId);
 
+    /**
+     * Obtiene los registros diarios más recientes de un usuario
+     *
+     * @param userId ID del usuario
+     * @param limit Número máximo de registros a obtener
+     * @return Lista de registros diarios ordenada de más reciente a más antiguo
+     */
+    List<DailyRecordResponseDTO> getRecentDailyRecordsByUserId(Long userId, int limit);
+
+    /**
+     * Obtiene los registros diarios de un usuario entre dos fechas (ambas incluidas)
+     *
+     * @param userId ID del usuario
+     * @param from Fecha de inicio
+     * @param to Fecha de fin
+     * @return Lista de registros diarios del intervalo
+     */
+    List<DailyRecordResponseDTO> getDailyRecordsByUserIdBetween(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Obtiene una página de registros diarios usando paginación por clave (fecha, id)
+     *
+     * @param from Fecha mínima (incluida), opcional
+     * @param to Fecha máxima (incluida), opcional
+     * @param habitId ID del hábito, opcional
+     * @param userId ID del usuario, opcional
+     * @param cursor Cursor devuelto en la página anterior, o nulo para la primera página
+     * @param size Número máximo de registros de la página
+     * @return Página de registros diarios con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    DailyRecordPageResponseDTO getDailyRecordsPage(LocalDate from, LocalDate to, Long habitId, Long userId, String cursor, int size);
+
     /**
      * Crea un nuevo registro diario
+     * Si ya existe un registro para ese hábito y fecha, se actualiza su estado en lugar de duplicarlo
      *
      * @param dailyRecordRequestDTO Datos del registro diario que se va a crear
      * @return Registro diario creado
      */
     DailyRecordResponseDTO createDailyRecord(DailyRecordRequestDTO dailyRecordRequestDTO);
 
+    /**
+     * Crea el registro diario de un hábito en una fecha o, si ya existe, actualiza su estado de completado
+     * Es idempotente: repetir la misma petición no crea registros duplicados
+     *
+     * @param dailyRecordRequestDTO Datos del registro diario (hábito, fecha y estado)
+     * @return Registro diario resultante
+     */
+    DailyRecordResponseDTO upsertDailyRecord(DailyRecordRequestDTO dailyRecordRequestDTO);
+
+    /**
+     * Crea varios registros diarios a la vez
+     * Los hábitos se resuelven con una sola consulta y las filas se insertan por lotes;
+     * los elementos inválidos se rechazan individualmente sin afectar al resto
+     *
+     * @param dailyRecordRequestDTOs Datos de los registros diarios a crear
+     * @return Resultado de cada elemento, en el orden de la petición
+     */
+    DailyRecordBulkResponseDTO createDailyRecords(List<DailyRecordRequestDTO> dailyRecordRequestDTOs);
+
     /**
      * Actualiza un registro diario existente
      *
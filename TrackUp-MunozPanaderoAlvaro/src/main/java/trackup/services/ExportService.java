@@ -0,0 +1,23 @@
+package trackup.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Servicio que define las operaciones de exportación de datos de los usuarios
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface ExportService {
+
+    /**
+     * Escribe el histórico completo de un usuario (hábitos, metas y registros diarios) en formato NDJSON
+     * Cada línea es un objeto JSON con el tipo de la fila ("habit", "goal" o "dailyRecord") y sus datos
+     *
+     * @param userId ID del usuario
+     * @param outputStream Flujo de salida donde se escriben las líneas
+     * @throws IOException si falla la escritura en el flujo
+     */
+    void exportUserHistory(Long userId, OutputStream outputStream) throws IOException;
+
+}
@@ -0,0 +1,67 @@
+package trackup.services;
+
+import trackup.dto.response.HabitCalendarResponseDTO;
+import trackup.entity.DailyRecord;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Servicio que define todas las operaciones relacionadas con los calendarios compactos de los hábitos
+ * Mantiene por hábito un mapa de bits de los días registrados y completados, sincronizado con los registros diarios
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface HabitCalendarService {
+
+    /**
+     * Obtiene el calendario de un hábito entre dos fechas (ambas incluidas)
+     *
+     * @param habitId ID del hábito
+     * @param from Fecha de inicio
+     * @param to Fecha de fin
+     * @return Un objeto Optional con el calendario, o vacío si el hábito no tiene registros diarios
+     */
+    Optional<HabitCalendarResponseDTO> getCalendar(Long habitId, LocalDate from, LocalDate to);
+
+    /**
+     * Calcula el porcentaje de días completados de cada hábito de un usuario entre dos fechas (ambas incluidas)
+     *
+     * @param userId ID del usuario
+     * @param from Fecha de inicio
+     * @param to Fecha de fin
+     * @return Mapa con el ID del hábito y su porcentaje (los hábitos sin registros en el intervalo no aparecen)
+     */
+    Map<Long, Double> getCompletionPercentageByUserIdBetween(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Marca en el calendario de su hábito el estado de los registros diarios indicados
+     * Es idempotente, así que sirve tanto para creaciones como para upserts
+     *
+     * @param dailyRecords Registros diarios insertados o actualizados
+     */
+    void onDailyRecordsWritten(Collection<DailyRecord> dailyRecords);
+
+    /**
+     * Actualiza el calendario del hábito tras la modificación de un registro diario
+     *
+     * @param previousDate Fecha que tenía el registro antes de la modificación
+     * @param dailyRecord Registro diario ya modificado
+     */
+    void onDailyRecordUpdated(LocalDate previousDate, DailyRecord dailyRecord);
+
+    /**
+     * Actualiza el calendario del hábito tras la eliminación de un registro diario
+     *
+     * @param dailyRecord Registro diario eliminado
+     */
+    void onDailyRecordDeleted(DailyRecord dailyRecord);
+
+    /**
+     * Reconstruye los calendarios de todos los hábitos recorriendo el histórico una sola vez, ordenado por hábito y fecha
+     */
+    void rebuildAllCalendars();
+
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import trackup.dto.request.HabitRequestDTO;
 import trackup.dto.response.HabitResponseDTO;
 import trackup.entity.Habit;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,14 @@ public interface HabitService {
      */
     Optional<Habit> findHabitEntityById(Long id);
 
+    /**
+     * Busca varios hábitos por sus IDs en una sola consulta
+     *
+     * @param ids IDs de los hábitos
+     * @return Lista con los hábitos encontrados (los IDs inexistentes se ignoran)
+     */
+    List<Habit> findHabitEntitiesByIds(Collection<Long> ids);
+
     /**
      * Busca un hábito por su nombre
      *
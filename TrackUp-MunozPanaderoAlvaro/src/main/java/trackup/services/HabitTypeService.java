@@ -35,6 +35,15 @@ public interface HabitTypeService {
      */
     Optional<HabitType> findHabitTypeEntityById(Long id);
 
+    /**
+     * Obtiene una referencia al tipo de hábito sin leerlo de la base de datos
+     * Debe usarse dentro de la transacción del llamante, tras comprobar que existe
+     *
+     * @param id ID del tipo de hábito
+     * @return Referencia (proxy) al tipo de hábito
+     */
+    HabitType getHabitTypeReference(Long id);
+
     /**
      * Obtiene un tipo de hábito por su nombre
      *
@@ -0,0 +1,87 @@
+package trackup.services;
+
+import trackup.dto.response.DashboardStatisticsResponseDTO;
+import trackup.dto.response.HeatmapResponseDTO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Servicio que define todas las operaciones relacionadas con las estadísticas de los registros diarios
+ * Mantiene contadores agregados por usuario, por día y por hábito para no tener que recorrer el histórico completo
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface StatisticsService {
+
+    /**
+     * Obtiene las estadísticas del panel principal de un usuario
+     *
+     * @param userId ID del usuario
+     * @param today Fecha de referencia para calcular la semana y el mes actuales
+     * @return Estadísticas agregadas del usuario
+     */
+    DashboardStatisticsResponseDTO getDashboardStatistics(Long userId, LocalDate today);
+
+    /**
+     * Obtiene el mapa de calor de un usuario: los registros totales y completados de cada día entre dos fechas (ambas incluidas)
+     *
+     * @param userId ID del usuario
+     * @param from Primer día
+     * @param to Último día
+     * @return Contadores del usuario, un valor por día
+     * @throws IllegalArgumentException si el intervalo está invertido o supera el máximo permitido
+     */
+    HeatmapResponseDTO getHeatmap(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Recalcula a partir de los registros diarios los contadores de un usuario en los días indicados
+     * Se llama en la misma transacción que escribe los registros, así que el panel y el mapa de calor nunca van por detrás.
+     * Es idempotente: no depende del estado anterior de los contadores ni del orden de los cambios
+     *
+     * @param userId ID del usuario
+     * @param dates Días cuyos contadores se recalculan
+     */
+    void refreshUserDailyStatistics(Long userId, Collection<LocalDate> dates);
+
+    /**
+     * Vuelve a calcular todos los contadores diarios de un usuario a partir de sus registros diarios
+     * Se usa, en la misma transacción, cuando no se conocen los días afectados (tras eliminar uno de sus hábitos)
+     *
+     * @param userId ID del usuario
+     */
+    void rebuildUserDailyStatistics(Long userId);
+
+    /**
+     * Recalcula a partir de los registros diarios los contadores de los hábitos indicados de un usuario
+     * Los hábitos sin registros (por ejemplo, eliminados) pierden su fila. Es idempotente
+     *
+     * @param userId ID del usuario
+     * @param habitIds Hábitos del usuario cuyos contadores se recalculan
+     */
+    void refreshHabitStatistics(Long userId, Collection<Long> habitIds);
+
+    /**
+     * Vuelve a calcular todos los contadores de un usuario (diarios y por hábito) a partir de sus registros diarios
+     * Se usa cuando se han perdido cambios, por ejemplo tras un recálculo fallido
+     *
+     * @param userId ID del usuario
+     */
+    void rebuildUserStatistics(Long userId);
+
+    /**
+     * Elimina los contadores de un usuario que se va a eliminar
+     * Se hace en la misma transacción que la eliminación del usuario y no tras el commit: no hay nada que recalcular,
+     * solo filas que no deben sobrevivir al usuario. Un recálculo suyo que siguiera pendiente no encuentra registros
+     * diarios y no vuelve a crear filas
+     *
+     * @param userId ID del usuario
+     */
+    void onUserDeleted(Long userId);
+
+    /**
+     * Vuelve a calcular todos los contadores a partir de los registros diarios existentes
+     */
+    void rebuildAllStatistics();
+
+}
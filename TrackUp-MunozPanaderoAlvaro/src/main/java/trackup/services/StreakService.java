@@ -0,0 +1,59 @@
+package trackup.services;
+
+import trackup.dto.response.HabitStreakResponseDTO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Servicio que define todas las operaciones relacionadas con las rachas de los hábitos
+ * Mantiene por hábito la racha actual, la racha más larga y el último día completado para no tener que recorrer el histórico
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public interface StreakService {
+
+    /**
+     * Obtiene la racha de un hábito
+     *
+     * @param habitId ID del hábito
+     * @param today Fecha de referencia para decidir si la racha actual sigue vigente
+     * @return Un objeto Optional con la racha, o vacío si el hábito nunca se ha completado
+     */
+    Optional<HabitStreakResponseDTO> getStreakByHabitId(Long habitId, LocalDate today);
+
+    /**
+     * Obtiene las rachas de todos los hábitos de un usuario
+     *
+     * @param userId ID del usuario
+     * @param today Fecha de referencia para decidir si la racha actual sigue vigente
+     * @return Lista de rachas (los hábitos que nunca se han completado no aparecen)
+     */
+    List<HabitStreakResponseDTO> getStreaksByUserId(Long userId, LocalDate today);
+
+    /**
+     * Actualiza las rachas de los hábitos tras cambios en los días indicados de cada uno
+     * Si todos los días cambiados de un hábito son posteriores a su último día completado, la racha se alarga
+     * o se reinicia leyendo solo esos días; si no (pueden unir o partir rachas), se recalcula a partir de su histórico
+     *
+     * @param datesByHabit Días cambiados (creados, modificados o eliminados) de cada hábito
+     */
+    void refreshStreaks(Map<Long, ? extends Collection<LocalDate>> datesByHabit);
+
+    /**
+     * Recalcula a partir de su histórico las rachas de todos los hábitos de un usuario
+     * Se usa cuando se han perdido cambios, por ejemplo tras un recálculo fallido
+     *
+     * @param userId ID del usuario
+     */
+    void rebuildUserStreaks(Long userId);
+
+    /**
+     * Recalcula las rachas de todos los hábitos recorriendo el histórico una sola vez, ordenado por hábito y fecha
+     */
+    void rebuildAllStreaks();
+
+}
\ No newline at end of file
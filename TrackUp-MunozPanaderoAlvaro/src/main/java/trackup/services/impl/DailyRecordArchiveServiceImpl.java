@@ -0,0 +1,119 @@
+package trackup.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import trackup.repository.DailyRecordJdbcRepository;
+import trackup.repository.DailyRecordRepository;
+import trackup.services.DailyRecordArchiveService;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Implementación del servicio de archivo de registros diarios
+ *
+ * El horizonte es relativo a hoy ('trackup.archive.horizon', dos años por defecto), así que decidir si una consulta
+ * llega al archivo no necesita leer nada de la base de datos: el proceso de archivado nunca mueve registros
+ * posteriores al horizonte. Mientras el archivo esté vacío (instalaciones nuevas, tests) no se consulta nunca
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Service // Anotación que indica que esta clase es un servicio
+public class DailyRecordArchiveServiceImpl implements DailyRecordArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRecordArchiveServiceImpl.class);
+
+    private final DailyRecordRepository dailyRecordRepository; // Repositorio de registros diarios (y archivados)
+    private final DailyRecordJdbcRepository dailyRecordJdbcRepository; // Repositorio JDBC que mueve los registros
+    private final Period horizon; // Antigüedad a partir de la cual se archivan los registros
+    private final boolean enabled; // Si es false, el proceso programado no archiva nada
+
+    private volatile boolean archiveInUse; // Indica si el archivo tiene registros
+    private volatile LocalDate archivedBefore; // Fecha desde la que no hay registros archivados (null si el archivo está vacío)
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param dailyRecordRepository Repositorio de registros diarios
+     * @param dailyRecordJdbcRepository Repositorio JDBC de registros diarios
+     * @param horizon Antigüedad a partir de la cual se archivan los registros
+     * @param enabled Indica si el proceso programado está activo
+     */
+    @Autowired
+    public DailyRecordArchiveServiceImpl(DailyRecordRepository dailyRecordRepository, DailyRecordJdbcRepository dailyRecordJdbcRepository,
+                                         @Value("${trackup.archive.horizon:P2Y}") Period horizon,
+                                         @Value("${trackup.archive.enabled:true}") boolean enabled) {
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.dailyRecordJdbcRepository = dailyRecordJdbcRepository;
+        this.horizon = horizon;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public LocalDate getHorizon(LocalDate today) {
+        return today.minus(horizon);
+    }
+
+    @Override
+    public boolean includesArchive(LocalDate from, LocalDate today) {
+        return archiveInUse && (from == null || from.isBefore(getHorizon(today)));
+    }
+
+    @Override
+    public void checkWritable(LocalDate date, LocalDate today) {
+        // Con el archivado activo, lo anterior al horizonte ya está archivado o lo estará esta noche;
+        // desactivado, el horizonte no mueve nada y solo se protege lo que ya se archivó
+        LocalDate limit = enabled ? getHorizon(today) : archivedBefore;
+        if (date != null && limit != null && date.isBefore(limit)) {
+            throw new IllegalArgumentException("Los registros anteriores a " + limit + " están archivados y no se pueden modificar");
+        }
+    }
+
+    @Override
+    public int archiveOldRecords(LocalDate today) {
+        LocalDate before = getHorizon(today);
+        int archived = 0;
+        for (Long userId : dailyRecordJdbcRepository.findUserIdsWithRecordsBefore(before)) {
+            archived += dailyRecordJdbcRepository.archiveUserRecordsBefore(userId, before); // Una transacción por usuario
+        }
+        if (archived > 0) {
+            archiveInUse = true;
+            if (archivedBefore == null || archivedBefore.isBefore(before)) {
+                archivedBefore = before;
+            }
+            log.info("Archivados {} registros diarios anteriores a {}", archived, before);
+        }
+        return archived;
+    }
+
+    /**
+     * Proceso programado de archivado (por defecto, cada noche)
+     * También vuelve a comprobar si el archivo tiene registros, por si los ha movido otra instancia
+     */
+    @Scheduled(cron = "${trackup.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOldRecords(LocalDate.now());
+        }
+        refreshArchiveInUse();
+    }
+
+    /**
+     * Al arrancar la aplicación se comprueba si el archivo tiene registros y hasta qué fecha
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshArchiveInUse() {
+        archiveInUse = archiveInUse || dailyRecordRepository.existsArchived();
+        if (archiveInUse) {
+            LocalDate latest = dailyRecordRepository.findLatestArchivedDate();
+            archivedBefore = latest != null ? latest.plusDays(1) : archivedBefore;
+        }
+    }
+
+}
@@ -1,18 +1,39 @@
 package trackup.services.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import trackup.dto.request.DailyRecordRequestDTO;
+import trackup.dto.response.DailyRecordBulkItemResultDTO;
+import trackup.dto.response.DailyRecordBulkResponseDTO;
+import trackup.dto.response.DailyRecordPageResponseDTO;
 import trackup.dto.response.DailyRecordResponseDTO;
 import trackup.entity.DailyRecord;
 import trackup.entity.Habit;
+import trackup.event.DailyRecordsChangedEvent;
+import trackup.event.DailyRecordsChangedEvent.ChangeType;
+import trackup.repository.DailyRecordJdbcRepository;
 import trackup.repository.DailyRecordRepository;
+import trackup.services.DailyRecordArchiveService;
 import trackup.services.DailyRecordService;
+import trackup.services.HabitCalendarService;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de metas
@@ -27,24 +48,45 @@ import java.util.stream.Collectors;
 @Service // Anotación que indica que esta clase es un servicio
 public class DailyRecordServiceImpl implements DailyRecordService {
 
+    private static final int MAX_PAGE_SIZE = 500; // Tamaño máximo de página permitido
+
     private final DailyRecordRepository dailyRecordRepository; // Repositorio de registros diarios
+    private final DailyRecordJdbcRepository dailyRecordJdbcRepository; // Repositorio JDBC para inserciones por lotes
     private final HabitServiceImpl habitService; // Servicio para acceder a la información del hábito
+    private final HabitCalendarService habitCalendarService; // Servicio que mantiene los calendarios compactos de los hábitos
+    private final DailyRecordArchiveService dailyRecordArchiveService; // Servicio que decide cuándo hay que leer los registros archivados
+    private final ApplicationEventPublisher eventPublisher; // Publica los cambios para recalcular estadísticas y rachas tras el commit
 
     /**
      * Constructor de la clase
      *
      * @param dailyRecordRepository Repositorio de registros diarios
+     * @param dailyRecordJdbcRepository Repositorio JDBC para inserciones por lotes
+     * @param habitService Servicio de hábitos
+     * @param habitCalendarService Servicio de calendarios de hábitos
+     * @param dailyRecordArchiveService Servicio de archivo de registros diarios
+     * @param eventPublisher Publicador de eventos de dominio
      */
     @Autowired
-    public DailyRecordServiceImpl(DailyRecordRepository dailyRecordRepository, HabitServiceImpl habitService) {
+    public DailyRecordServiceImpl(DailyRecordRepository dailyRecordRepository, DailyRecordJdbcRepository dailyRecordJdbcRepository,
+                                  HabitServiceImpl habitService, HabitCalendarService habitCalendarService,
+                                  DailyRecordArchiveService dailyRecordArchiveService, ApplicationEventPublisher eventPublisher) {
         this.dailyRecordRepository = dailyRecordRepository;
+        this.dailyRecordJdbcRepository = dailyRecordJdbcRepository;
         this.habitService = habitService;
+        this.habitCalendarService = habitCalendarService;
+        this.dailyRecordArchiveService = dailyRecordArchiveService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Optional<DailyRecordResponseDTO> findDailyRecordById(Long id) {
-        return dailyRecordRepository.findById(id) // Busca el registro diario por su ID
+        Optional<DailyRecordResponseDTO> dailyRecord = dailyRecordRepository.findById(id) // Busca el registro diario por su ID
                 .map(this::mapToDTO); // Si lo encuentra, lo transforma a un DTO
+        if (dailyRecord.isEmpty() && dailyRecordArchiveService.includesArchive(null, LocalDate.now())) {
+            return dailyRecordRepository.findArchivedResponseDTOById(id); // Puede ser un registro ya archivado
+        }
+        return dailyRecord;
     }
 
     @Override
@@ -61,59 +103,240 @@ public class DailyRecordServiceImpl implements DailyRecordService {
 
     @Override
     public List<DailyRecordResponseDTO> getAllDailyRecords() {
-        return dailyRecordRepository.findAll() // Busca todos los registros diarios
-                .stream() // Convierte la lista a un stream
-                .map(this::mapToDTO) // Transforma cada registro diario a un DTO
-                .toList(); // Convierte el stream de vuelta a una lista
+        return dailyRecordRepository.findAllResponseDTOs(); // Una sola consulta que devuelve directamente los DTOs
     }
 
     @Override
     public List<DailyRecordResponseDTO> getAllDailyRecordsByUserId(Long userId) {
-        return dailyRecordRepository.findByHabit_User_Id(userId) // ✅ Usamos el método corregido
-                .stream()
-                .map(this::mapToDTO)
-                .toList();
+        if (dailyRecordArchiveService.includesArchive(null, LocalDate.now())) {
+            return dailyRecordRepository.findResponseDTOsByUserIdIncludingArchive(userId);
+        }
+        return dailyRecordRepository.findResponseDTOsByUserId(userId);
+    }
+
+    @Override
+    public List<DailyRecordResponseDTO> getRecentDailyRecordsByUserId(Long userId, int limit) {
+        List<DailyRecordResponseDTO> records = dailyRecordRepository.findRecentResponseDTOsByUserId(userId, PageRequest.of(0, limit));
+        // Solo si los registros recientes no llenan la lista puede haber alguno más en el archivo
+        if (records.size() < limit && dailyRecordArchiveService.includesArchive(null, LocalDate.now())) {
+            return dailyRecordRepository.findRecentResponseDTOsByUserIdIncludingArchive(userId, PageRequest.of(0, limit));
+        }
+        return records;
+    }
+
+    @Override
+    public List<DailyRecordResponseDTO> getDailyRecordsByUserIdBetween(Long userId, LocalDate from, LocalDate to) {
+        if (dailyRecordArchiveService.includesArchive(from, LocalDate.now())) {
+            return dailyRecordRepository.findResponseDTOsByUserIdAndDateBetweenIncludingArchive(userId, from, to);
+        }
+        return dailyRecordRepository.findResponseDTOsByUserIdAndDateBetween(userId, from, to); // Solo las filas del intervalo
+    }
+
+    @Override
+    public DailyRecordPageResponseDTO getDailyRecordsPage(LocalDate from, LocalDate to, Long habitId, Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        LocalDate afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) { // El cursor contiene la clave (fecha, id) del último registro devuelto
+            String[] key = decodeCursor(cursor);
+            afterDate = LocalDate.parse(key[0]);
+            afterId = Long.parseLong(key[1]);
+        }
+
+        // Se pide un registro de más para saber si existe una página siguiente sin hacer un COUNT.
+        // Solo se lee el archivo si la página puede empezar antes del horizonte
+        LocalDate lowerBound = afterDate == null || (from != null && from.isAfter(afterDate)) ? from : afterDate;
+        List<DailyRecordResponseDTO> records = dailyRecordArchiveService.includesArchive(lowerBound, LocalDate.now())
+                ? dailyRecordRepository.findPageAfterIncludingArchive(from, to, habitId, userId, afterDate, afterId, PageRequest.of(0, pageSize + 1))
+                : dailyRecordRepository.findPageAfter(from, to, habitId, userId, afterDate, afterId, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = records.size() > pageSize;
+        List<DailyRecordResponseDTO> items = hasNext ? records.subList(0, pageSize) : records;
+
+        String nextCursor = null;
+        if (hasNext) {
+            DailyRecordResponseDTO last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getDate(), last.getId());
+        }
+
+        return new DailyRecordPageResponseDTO(items, nextCursor, hasNext);
     }
 
     @Override
+    @Transactional
     public DailyRecordResponseDTO createDailyRecord(DailyRecordRequestDTO dailyRecordRequestDTO) {
-        // Crear nueva entidad
-        DailyRecord dailyRecord = new DailyRecord();
-        dailyRecord.setDate(dailyRecordRequestDTO.getDate());
-        dailyRecord.setCompleted(dailyRecordRequestDTO.getCompleted());
+        // Un registro por hábito y día: crear uno que ya existe equivale a actualizar su estado,
+        // de modo que los reintentos de los clientes no generan duplicados
+        return upsertDailyRecord(dailyRecordRequestDTO);
+    }
 
-        // Buscar y asignar el hábito (usando la entidad como en HabitServiceImpl)
+    @Override
+    @Transactional
+    public DailyRecordResponseDTO upsertDailyRecord(DailyRecordRequestDTO dailyRecordRequestDTO) {
         Habit habit = habitService.findHabitEntityById(dailyRecordRequestDTO.getHabitId())
                 .orElseThrow(() -> new RuntimeException("Habit not found with id: " + dailyRecordRequestDTO.getHabitId()));
-        dailyRecord.setHabit(habit);
+        dailyRecordArchiveService.checkWritable(dailyRecordRequestDTO.getDate(), LocalDate.now());
 
-        DailyRecord savedDailyRecord = dailyRecordRepository.save(dailyRecord); // Guardar en base de datos
+        // Una sola sentencia atómica, segura ante peticiones concurrentes para el mismo hábito y día
+        dailyRecordJdbcRepository.upsert(habit.getId(), habit.getUser().getId(), dailyRecordRequestDTO.getDate(), dailyRecordRequestDTO.getCompleted());
 
-        return mapToDTO(savedDailyRecord); // Devuelve el DTO del registro diario guardado
+        DailyRecord dailyRecord = dailyRecordRepository.findByHabit_IdAndDate(habit.getId(), dailyRecordRequestDTO.getDate())
+                .orElseThrow(() -> new RuntimeException("Registro diario no encontrado"));
+        habitCalendarService.onDailyRecordsWritten(List.of(dailyRecord));
+        publish(ChangeType.CREATED, List.of(dailyRecord)); // Estadísticas y rachas se recalculan tras el commit
+
+        return mapToDTO(dailyRecord);
     }
 
+    @Override
+    @Transactional
+    public DailyRecordBulkResponseDTO createDailyRecords(List<DailyRecordRequestDTO> dailyRecordRequestDTOs) {
+        // Todos los hábitos referenciados se resuelven con una sola consulta
+        Set<Long> habitIds = dailyRecordRequestDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(DailyRecordRequestDTO::getHabitId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Habit> habits = habitService.findHabitEntitiesByIds(habitIds).stream()
+                .collect(Collectors.toMap(Habit::getId, Function.identity()));
+
+        DailyRecordBulkItemResultDTO[] results = new DailyRecordBulkItemResultDTO[dailyRecordRequestDTOs.size()];
+        List<DailyRecord> toUpsert = new ArrayList<>();
+        List<Integer> toUpsertIndexes = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < dailyRecordRequestDTOs.size(); i++) {
+            DailyRecordRequestDTO dto = dailyRecordRequestDTOs.get(i);
+            if (dto == null || dto.getDate() == null || dto.getCompleted() == null || dto.getHabitId() == null) {
+                results[i] = DailyRecordBulkItemResultDTO.failed(i, "Faltan campos obligatorios (date, completed, habitId)");
+                continue;
+            }
+
+            Habit habit = habits.get(dto.getHabitId());
+            if (habit == null) {
+                results[i] = DailyRecordBulkItemResultDTO.failed(i, "Hábito no encontrado con id: " + dto.getHabitId());
+                continue;
+            }
+            try {
+                dailyRecordArchiveService.checkWritable(dto.getDate(), today); // La misma regla que en el alta individual
+            } catch (IllegalArgumentException e) {
+                results[i] = DailyRecordBulkItemResultDTO.failed(i, e.getMessage());
+                continue;
+            }
+
+            toUpsert.add(new DailyRecord(null, dto.getDate(), dto.getCompleted(), habit));
+            toUpsertIndexes.add(i);
+        }
+
+        if (!toUpsert.isEmpty()) {
+            dailyRecordJdbcRepository.upsertAll(toUpsert); // Upsert por lotes: los reintentos no duplican filas
+
+            dailyRecordJdbcRepository.fillIds(toUpsert); // Solo se leen los IDs de las claves (hábito, fecha) escritas
+
+            List<DailyRecord> written = new ArrayList<>();
+            for (int i = 0; i < toUpsert.size(); i++) {
+                int index = toUpsertIndexes.get(i);
+                DailyRecord dailyRecord = toUpsert.get(i);
+                if (dailyRecord.getId() == null) {
+                    results[index] = DailyRecordBulkItemResultDTO.failed(index, "Registro diario no encontrado");
+                    continue;
+                }
+                results[index] = DailyRecordBulkItemResultDTO.created(index, dailyRecord.getId());
+                written.add(dailyRecord);
+            }
+
+            habitCalendarService.onDailyRecordsWritten(written);
+            publish(ChangeType.CREATED, written); // Un evento por usuario, no por registro
+        }
+
+        return new DailyRecordBulkResponseDTO(Arrays.asList(results));
+    }
 
     @Override
+    @Transactional
     public DailyRecordResponseDTO updateDailyRecord(Long id, DailyRecordRequestDTO dailyRecordRequestDTO) {
         DailyRecord dailyRecord = dailyRecordRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Registro diario no encontrado")); // Busca el registro diario por su ID
 
+        Optional<DailyRecord> sameDay = dailyRecordRepository.findByHabit_IdAndDate(dailyRecord.getHabit().getId(), dailyRecordRequestDTO.getDate());
+        if (sameDay.isPresent() && !sameDay.get().getId().equals(id)) { // Solo puede haber un registro por hábito y día
+            throw new IllegalArgumentException("Ya existe un registro diario para ese hábito en esa fecha");
+        }
+
+        dailyRecordArchiveService.checkWritable(dailyRecord.getDate(), LocalDate.now()); // Ni desde ni hacia el periodo archivado
+        dailyRecordArchiveService.checkWritable(dailyRecordRequestDTO.getDate(), LocalDate.now());
+
+        LocalDate previousDate = dailyRecord.getDate(); // Se guardan los valores anteriores para ajustar los contadores
+        Boolean previousCompleted = dailyRecord.getCompleted();
+
         // Actualiza los valores del registro diario
         dailyRecord.setDate(dailyRecordRequestDTO.getDate());
         dailyRecord.setCompleted(dailyRecordRequestDTO.getCompleted());
 
         DailyRecord updatedDailyRecord = dailyRecordRepository.save(dailyRecord); // Guarda el registro diario actualizado en la base de datos
+        habitCalendarService.onDailyRecordUpdated(previousDate, updatedDailyRecord); // Actualiza el calendario del hábito
+        // Estadísticas y rachas se recalculan tras el commit, en la fecha anterior y en la nueva
+        eventPublisher.publishEvent(new DailyRecordsChangedEvent(ChangeType.UPDATED, updatedDailyRecord.getUserId(),
+                Map.of(updatedDailyRecord.getHabit().getId(), Stream.of(previousDate, updatedDailyRecord.getDate()).collect(Collectors.toSet()))));
         return mapToDTO(updatedDailyRecord); // Devuelve el DTO del registro diario actualizado
     }
 
     @Override
+    @Transactional
     public void deleteDailyRecord(Long id) {
-        if (!dailyRecordRepository.existsById(id)) { // Verifica si el registro diario existe
-            throw new RuntimeException("Registro diario no encontrado");
-        }
+        DailyRecord dailyRecord = dailyRecordRepository.findById(id) // Verifica si el registro diario existe
+                .orElseThrow(() -> new RuntimeException("Registro diario no encontrado"));
+        dailyRecordArchiveService.checkWritable(dailyRecord.getDate(), LocalDate.now()); // Puede estar archivándose en este momento
 
         // Elimina el registro diario de la base de datos
-        dailyRecordRepository.deleteById(id);
+        dailyRecordRepository.delete(dailyRecord);
+        habitCalendarService.onDailyRecordDeleted(dailyRecord);
+        publish(ChangeType.DELETED, List.of(dailyRecord)); // Estadísticas y rachas se recalculan tras el commit
+    }
+
+    /**
+     * Publica los eventos de dominio de unos registros diarios modificados, uno por usuario
+     * Se entregan después del commit: si la transacción se deshace, no se recalcula nada
+     *
+     * @param type Tipo de cambio
+     * @param dailyRecords Registros diarios afectados
+     */
+    private void publish(ChangeType type, List<DailyRecord> dailyRecords) {
+        DailyRecordsChangedEvent.of(type, dailyRecords).forEach(eventPublisher::publishEvent);
+    }
+
+    /**
+     * Codifica la clave (fecha, id) de un registro como un cursor opaco
+     *
+     * @param date Fecha del registro
+     * @param id ID del registro
+     * @return Cursor en Base64 apto para URLs
+     */
+    private String encodeCursor(LocalDate date, Long id) {
+        String key = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor opaco en su clave (fecha, id)
+     *
+     * @param cursor Cursor recibido del cliente
+     * @return Array con la fecha y el ID en formato texto
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (key.length != 2) {
+                throw new IllegalArgumentException("Cursor no válido");
+            }
+            LocalDate.parse(key[0]); // Valida el formato antes de usarlo
+            Long.parseLong(key[1]);
+            return key;
+        } catch (DateTimeParseException | IllegalArgumentException e) { // NumberFormatException es una IllegalArgumentException
+            throw new IllegalArgumentException("Cursor no válido", e);
+        }
     }
 
     /**
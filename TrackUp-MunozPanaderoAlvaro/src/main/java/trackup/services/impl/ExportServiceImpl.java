@@ -0,0 +1,113 @@
+package trackup.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.dto.response.DailyRecordResponseDTO;
+import trackup.dto.response.GoalResponseDTO;
+import trackup.dto.response.HabitResponseDTO;
+import trackup.repository.DailyRecordRepository;
+import trackup.services.ExportService;
+import trackup.services.GoalService;
+import trackup.services.HabitService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Implementación del servicio de exportación
+ * Los registros diarios se leen con un cursor de base de datos y se escriben según llegan,
+ * por lo que la memoria usada no depende del tamaño del histórico exportado
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Service // Anotación que indica que esta clase es un servicio
+public class ExportServiceImpl implements ExportService {
+
+    private static final int FLUSH_INTERVAL = 500; // Número de registros escritos entre cada vaciado del flujo
+
+    private final DailyRecordRepository dailyRecordRepository; // Repositorio de registros diarios
+    private final HabitService habitService; // Servicio de hábitos
+    private final GoalService goalService; // Servicio de metas
+    private final ObjectMapper objectMapper; // Serializador JSON
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param dailyRecordRepository Repositorio de registros diarios
+     * @param habitService Servicio de hábitos
+     * @param goalService Servicio de metas
+     * @param objectMapper Serializador JSON
+     */
+    @Autowired
+    public ExportServiceImpl(DailyRecordRepository dailyRecordRepository, HabitService habitService, GoalService goalService,
+                             ObjectMapper objectMapper) {
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.habitService = habitService;
+        this.goalService = goalService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true) // El stream necesita la conexión abierta mientras se recorre
+    public void exportUserHistory(Long userId, OutputStream outputStream) throws IOException {
+        // Hábitos y metas son pocos por usuario, se pueden cargar de una vez
+        for (HabitResponseDTO habit : habitService.getAllHabitsByUserId(userId)) {
+            writeLine(outputStream, "habit", habit);
+        }
+        for (GoalResponseDTO goal : goalService.getAllGoalsByUserId(userId)) {
+            writeLine(outputStream, "goal", goal);
+        }
+
+        // Los registros diarios se recorren fila a fila, ya como DTOs: primero los archivados (los más antiguos) y luego los recientes
+        int written = writeDailyRecords(outputStream, dailyRecordRepository.streamArchivedResponseDTOsByUserId(userId), 0);
+        writeDailyRecords(outputStream, dailyRecordRepository.streamResponseDTOsByUserId(userId), written);
+
+        outputStream.flush();
+    }
+
+    /**
+     * Escribe los registros diarios de un stream, vaciando el flujo de salida periódicamente, y cierra el stream
+     *
+     * @param outputStream Flujo de salida
+     * @param dailyRecords Stream de registros diarios
+     * @param written Registros escritos hasta ahora
+     * @return Registros escritos en total
+     * @throws IOException si falla la escritura en el flujo
+     */
+    private int writeDailyRecords(OutputStream outputStream, Stream<DailyRecordResponseDTO> dailyRecords, int written) throws IOException {
+        try (dailyRecords) {
+            Iterator<DailyRecordResponseDTO> iterator = dailyRecords.iterator();
+            while (iterator.hasNext()) {
+                writeLine(outputStream, "dailyRecord", iterator.next());
+
+                if (++written % FLUSH_INTERVAL == 0) {
+                    outputStream.flush();
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Escribe una línea NDJSON con el tipo de fila y sus datos
+     *
+     * @param outputStream Flujo de salida
+     * @param type Tipo de la fila
+     * @param data Datos de la fila
+     * @throws IOException si falla la escritura en el flujo
+     */
+    private void writeLine(OutputStream outputStream, String type, Object data) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", type);
+        line.put("data", data);
+        outputStream.write(objectMapper.writeValueAsBytes(line));
+        outputStream.write('\n');
+    }
+
+}
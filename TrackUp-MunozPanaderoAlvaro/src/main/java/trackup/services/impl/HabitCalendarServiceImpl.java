@@ -0,0 +1,382 @@
+package trackup.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.dto.response.HabitCalendarResponseDTO;
+import trackup.entity.DailyRecord;
+import trackup.entity.Habit;
+import trackup.entity.HabitCalendar;
+import trackup.repository.DailyRecordRepository;
+import trackup.repository.HabitCalendarJdbcRepository;
+import trackup.repository.HabitCalendarRepository;
+import trackup.repository.HabitRepository;
+import trackup.repository.projection.HabitDayRecord;
+import trackup.services.HabitCalendarService;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación del servicio de calendarios de hábitos
+ *
+ * Cada escritura de un registro diario pone o quita el bit de su día, sin consultar el histórico;
+ * las lecturas cuentan bits de un intervalo ('BitSet.cardinality') en lugar de recorrer filas
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Service // Anotación que indica que esta clase es un servicio
+public class HabitCalendarServiceImpl implements HabitCalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(HabitCalendarServiceImpl.class);
+
+    private static final int MAX_DAYS = HabitCalendar.MAX_BYTES * 8; // Número máximo de días de un calendario
+
+    private final HabitCalendarRepository habitCalendarRepository; // Repositorio de calendarios
+    private final HabitCalendarJdbcRepository habitCalendarJdbcRepository; // Repositorio JDBC de calendarios (creación sin carreras)
+    private final DailyRecordRepository dailyRecordRepository; // Repositorio de registros diarios
+    private final HabitRepository habitRepository; // Repositorio de hábitos
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param habitCalendarRepository Repositorio de calendarios
+     * @param habitCalendarJdbcRepository Repositorio JDBC de calendarios
+     * @param dailyRecordRepository Repositorio de registros diarios
+     * @param habitRepository Repositorio de hábitos
+     */
+    @Autowired
+    public HabitCalendarServiceImpl(HabitCalendarRepository habitCalendarRepository, HabitCalendarJdbcRepository habitCalendarJdbcRepository,
+                                    DailyRecordRepository dailyRecordRepository, HabitRepository habitRepository) {
+        this.habitCalendarRepository = habitCalendarRepository;
+        this.habitCalendarJdbcRepository = habitCalendarJdbcRepository;
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.habitRepository = habitRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<HabitCalendarResponseDTO> getCalendar(Long habitId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la fecha de inicio");
+        }
+
+        return habitCalendarRepository.findById(habitId).map(calendar -> {
+            Days days = Days.of(calendar);
+            BitSet recorded = days.recordedBetween(from, to);
+            BitSet completed = days.completedBetween(from, to);
+
+            List<LocalDate> completedDates = new ArrayList<>(completed.cardinality());
+            LocalDate first = days.firstDayBetween(from);
+            for (int i = completed.nextSetBit(0); i >= 0; i = completed.nextSetBit(i + 1)) {
+                completedDates.add(first.plusDays(i));
+            }
+
+            return new HabitCalendarResponseDTO(habitId, from, to, recorded.cardinality(), completed.cardinality(),
+                    percentage(completed.cardinality(), recorded.cardinality()), completedDates);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Double> getCompletionPercentageByUserIdBetween(Long userId, LocalDate from, LocalDate to) {
+        // Una fila por hábito del usuario, independientemente de la longitud del intervalo
+        Map<Long, Double> percentages = new HashMap<>();
+        for (HabitCalendar calendar : habitCalendarRepository.findAllByUserId(userId)) {
+            Days days = Days.of(calendar);
+            int recorded = days.recordedBetween(from, to).cardinality();
+            if (recorded > 0) {
+                percentages.put(calendar.getHabitId(), percentage(days.completedBetween(from, to).cardinality(), recorded));
+            }
+        }
+        return percentages;
+    }
+
+    @Override
+    @Transactional
+    public void onDailyRecordsWritten(Collection<DailyRecord> dailyRecords) {
+        Map<Long, List<DailyRecord>> recordsByHabit = dailyRecords.stream()
+                .collect(Collectors.groupingBy(dailyRecord -> dailyRecord.getHabit().getId(), LinkedHashMap::new, Collectors.toList()));
+        if (recordsByHabit.isEmpty()) {
+            return;
+        }
+
+        Map<Long, HabitCalendar> calendars = lockCalendars(recordsByHabit.keySet());
+
+        // El bloqueo no alcanza a las filas que no existen: se crean vacías (si otra petición no lo ha hecho ya) y se bloquean
+        List<HabitCalendar> missing = new ArrayList<>();
+        recordsByHabit.forEach((habitId, records) -> {
+            if (!calendars.containsKey(habitId)) {
+                Habit habit = records.get(0).getHabit();
+                missing.add(Days.empty(baseDate(habit.getStartDate(), records))
+                        .writeTo(new HabitCalendar(habit, habit.getUser().getId(), null, null, null)));
+            }
+        });
+        if (!missing.isEmpty()) {
+            habitCalendarJdbcRepository.insertIfAbsent(missing);
+            calendars.putAll(lockCalendars(missing.stream().map(calendar -> calendar.getHabit().getId()).collect(Collectors.toSet())));
+        }
+
+        List<HabitCalendar> toSave = new ArrayList<>();
+        recordsByHabit.forEach((habitId, records) -> {
+            HabitCalendar calendar = calendars.get(habitId);
+            Days days = Days.of(calendar);
+
+            for (DailyRecord dailyRecord : records) {
+                days.set(dailyRecord.getDate(), Boolean.TRUE.equals(dailyRecord.getCompleted()));
+            }
+            toSave.add(days.writeTo(calendar));
+        });
+        habitCalendarRepository.saveAll(toSave);
+    }
+
+    @Override
+    @Transactional
+    public void onDailyRecordUpdated(LocalDate previousDate, DailyRecord dailyRecord) {
+        HabitCalendar calendar = lockCalendars(Set.of(dailyRecord.getHabit().getId())).get(dailyRecord.getHabit().getId());
+        if (calendar == null) { // Calendario todavía no creado: basta con marcar el registro
+            onDailyRecordsWritten(List.of(dailyRecord));
+            return;
+        }
+
+        Days days = Days.of(calendar);
+        days.clear(previousDate);
+        days.set(dailyRecord.getDate(), Boolean.TRUE.equals(dailyRecord.getCompleted()));
+        habitCalendarRepository.save(days.writeTo(calendar));
+    }
+
+    @Override
+    @Transactional
+    public void onDailyRecordDeleted(DailyRecord dailyRecord) {
+        HabitCalendar calendar = lockCalendars(Set.of(dailyRecord.getHabit().getId())).get(dailyRecord.getHabit().getId());
+        if (calendar != null) {
+            Days days = Days.of(calendar);
+            days.clear(dailyRecord.getDate());
+            habitCalendarRepository.save(days.writeTo(calendar));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAllCalendars() {
+        habitCalendarRepository.deleteAllInBatch();
+
+        // Un único recorrido ordenado por hábito y fecha: el primer registro de cada hábito fija el día base
+        try (Stream<HabitDayRecord> dayRecords = dailyRecordRepository.streamAllDayRecords()) {
+            Iterator<HabitDayRecord> iterator = dayRecords.iterator();
+            HabitDayRecord current = null;
+            Days days = null;
+            while (iterator.hasNext()) {
+                HabitDayRecord dayRecord = iterator.next();
+                if (current == null || !dayRecord.getHabitId().equals(current.getHabitId())) {
+                    if (current != null) {
+                        save(current, days);
+                    }
+                    current = dayRecord;
+                    days = Days.empty(earliest(dayRecord.getStartDate(), dayRecord.getDate()));
+                }
+                days.set(dayRecord.getDate(), Boolean.TRUE.equals(dayRecord.getCompleted()));
+            }
+            if (current != null) {
+                save(current, days);
+            }
+        }
+    }
+
+    /**
+     * Al arrancar la aplicación, si existen registros diarios pero todavía no hay calendarios
+     * (por ejemplo, en una base de datos anterior a este servicio), se construyen a partir del histórico
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeCalendars() {
+        if (habitCalendarRepository.count() == 0 && dailyRecordRepository.count() > 0) {
+            log.info("No hay calendarios de hábitos; se construyen a partir de los registros diarios existentes");
+            rebuildAllCalendars();
+        }
+    }
+
+    /**
+     * Obtiene y bloquea los calendarios de los hábitos indicados
+     *
+     * @param habitIds IDs de los hábitos
+     * @return Mapa (modificable) con el ID del hábito y su calendario (los hábitos sin calendario no aparecen)
+     */
+    private Map<Long, HabitCalendar> lockCalendars(Set<Long> habitIds) {
+        return habitCalendarRepository.findAllForUpdateByHabitIdIn(habitIds).stream()
+                .collect(Collectors.toMap(HabitCalendar::getHabitId, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    /**
+     * Guarda el calendario reconstruido de un hábito
+     *
+     * @param dayRecord Registro del hábito (se usa para obtener el hábito y el usuario)
+     * @param days Días del calendario
+     */
+    private void save(HabitDayRecord dayRecord, Days days) {
+        HabitCalendar calendar = new HabitCalendar(habitRepository.getReferenceById(dayRecord.getHabitId()), dayRecord.getUserId(), null, null, null);
+        habitCalendarRepository.save(days.writeTo(calendar));
+    }
+
+    /**
+     * Calcula el día base de un calendario nuevo: el inicio del hábito o su primer registro, si es anterior
+     *
+     * @param startDate Fecha de inicio del hábito
+     * @param dailyRecords Registros diarios del hábito
+     * @return Día base del calendario
+     */
+    private static LocalDate baseDate(LocalDate startDate, List<DailyRecord> dailyRecords) {
+        LocalDate base = startDate;
+        for (DailyRecord dailyRecord : dailyRecords) {
+            base = earliest(base, dailyRecord.getDate());
+        }
+        return base;
+    }
+
+    /**
+     * Devuelve la fecha más antigua de las dos, ignorando la primera si es nula
+     *
+     * @param date Fecha opcional
+     * @param other Fecha obligatoria
+     * @return Fecha más antigua
+     */
+    private static LocalDate earliest(LocalDate date, LocalDate other) {
+        return date == null || other.isBefore(date) ? other : date;
+    }
+
+    /**
+     * Calcula el porcentaje de días completados sobre los días con registro
+     *
+     * @param completed Días completados
+     * @param recorded Días con registro
+     * @return Porcentaje, 0 si no hay días con registro
+     */
+    private static double percentage(int completed, int recorded) {
+        return recorded == 0 ? 0.0 : completed * 100.0 / recorded;
+    }
+
+    /**
+     * Copia de trabajo de los mapas de bits de un calendario
+     * Se decodifica una vez, se modifica en memoria y se vuelve a codificar al guardar
+     */
+    private static final class Days {
+
+        private LocalDate baseDate; // Día al que corresponde el bit 0
+        private BitSet recorded; // Días con registro
+        private BitSet completed; // Días completados
+
+        private Days(LocalDate baseDate, BitSet recorded, BitSet completed) {
+            this.baseDate = baseDate;
+            this.recorded = recorded;
+            this.completed = completed;
+        }
+
+        static Days of(HabitCalendar calendar) {
+            return new Days(calendar.getBaseDate(), BitSet.valueOf(calendar.getRecordedDays()), BitSet.valueOf(calendar.getCompletedDays()));
+        }
+
+        static Days empty(LocalDate baseDate) {
+            return new Days(baseDate, new BitSet(), new BitSet());
+        }
+
+        /**
+         * Marca un día como registrado, completado o no
+         * Si el día es anterior al día base, se desplazan los bits para que pase a ser el nuevo día base
+         */
+        void set(LocalDate date, boolean isCompleted) {
+            if (date.isBefore(baseDate)) {
+                rebase(date);
+            }
+            int index = index(date);
+            recorded.set(index);
+            completed.set(index, isCompleted);
+        }
+
+        /**
+         * Quita la marca de un día (deja de tener registro)
+         */
+        void clear(LocalDate date) {
+            long index = ChronoUnit.DAYS.between(baseDate, date);
+            if (index >= 0 && index < MAX_DAYS) {
+                recorded.clear((int) index);
+                completed.clear((int) index);
+            }
+        }
+
+        BitSet recordedBetween(LocalDate from, LocalDate to) {
+            return between(recorded, from, to);
+        }
+
+        BitSet completedBetween(LocalDate from, LocalDate to) {
+            return between(completed, from, to);
+        }
+
+        /**
+         * Primer día del intervalo que puede tener bits: el bit 0 de 'recordedBetween' y 'completedBetween'
+         */
+        LocalDate firstDayBetween(LocalDate from) {
+            return from.isBefore(baseDate) ? baseDate : from;
+        }
+
+        HabitCalendar writeTo(HabitCalendar calendar) {
+            calendar.setBaseDate(baseDate);
+            calendar.setRecordedDays(recorded.toByteArray());
+            calendar.setCompletedDays(completed.toByteArray());
+            return calendar;
+        }
+
+        /**
+         * Bits de un intervalo de fechas (ambas incluidas), empezando en 'firstDayBetween(from)'
+         */
+        private BitSet between(BitSet bits, LocalDate from, LocalDate to) {
+            long start = Math.max(0, ChronoUnit.DAYS.between(baseDate, from));
+            long end = Math.min(bits.length(), ChronoUnit.DAYS.between(baseDate, to) + 1); // Exclusivo
+            return start < end ? bits.get((int) start, (int) end) : new BitSet();
+        }
+
+        private int index(LocalDate date) {
+            long index = ChronoUnit.DAYS.between(baseDate, date);
+            if (index >= MAX_DAYS) {
+                throw new IllegalArgumentException("La fecha " + date + " queda fuera del calendario del hábito (desde " + baseDate + ")");
+            }
+            return (int) index;
+        }
+
+        private void rebase(LocalDate newBaseDate) {
+            long shift = ChronoUnit.DAYS.between(newBaseDate, baseDate);
+            if (shift + recorded.length() > MAX_DAYS) {
+                throw new IllegalArgumentException("La fecha " + newBaseDate + " queda fuera del calendario del hábito (desde " + baseDate + ")");
+            }
+            recorded = shift(recorded, (int) shift);
+            completed = shift(completed, (int) shift);
+            baseDate = newBaseDate;
+        }
+
+        private static BitSet shift(BitSet bits, int shift) {
+            BitSet shifted = new BitSet(bits.length() + shift);
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                shifted.set(i + shift);
+            }
+            return shifted;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -1,18 +1,23 @@
 package trackup.services.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import trackup.dto.request.HabitRequestDTO;
 import trackup.dto.response.HabitResponseDTO;
+import trackup.dto.response.HabitTypeResponseDTO;
 import trackup.entity.Habit;
 import trackup.entity.HabitType;
 import trackup.entity.User;
+import trackup.event.HabitDeletedEvent;
 import trackup.repository.HabitRepository;
+import trackup.repository.projection.HabitOwner;
 import trackup.services.HabitService;
 import trackup.services.HabitTypeService;
 import trackup.services.UserService;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +39,7 @@ public class HabitServiceImpl implements HabitService {
     private final HabitRepository habitRepository; // Repositorio para acceder a la base de datos
     private final UserService userService; // Servicio para acceder a la información del usuario
     private final HabitTypeService habitTypeService; // Servicio para acceder a la información del tipo de hábito
+    private final ApplicationEventPublisher eventPublisher; // Publica la eliminación de hábitos para recalcular las estadísticas
 
     /**
      * Constructor con inyección de dependencias
@@ -41,12 +47,15 @@ public class HabitServiceImpl implements HabitService {
      * @param habitRepository Repositorio de hábitos
      * @param userService Servicio de usuario
      * @param habitTypeService Servicio de tipo de hábito
+     * @param eventPublisher Publicador de eventos de dominio
      */
     @Autowired
-    public HabitServiceImpl(HabitRepository habitRepository, UserService userService, HabitTypeService habitTypeService) {
+    public HabitServiceImpl(HabitRepository habitRepository, UserService userService, HabitTypeService habitTypeService,
+                            ApplicationEventPublisher eventPublisher) {
         this.habitRepository = habitRepository;
         this.userService = userService;
         this.habitTypeService = habitTypeService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -60,6 +69,14 @@ public class HabitServiceImpl implements HabitService {
         return habitRepository.findById(id); // Buscar el hábito por ID
     }
 
+    @Override
+    public List<Habit> findHabitEntitiesByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return habitRepository.findAllById(ids); // Una sola consulta con IN
+    }
+
     @Override
     public Optional<Habit> findHabitByName(String name) {
         return habitRepository.findByName(name); // Buscar el hábito por nombre
@@ -97,10 +114,12 @@ public class HabitServiceImpl implements HabitService {
     }
 
     @Override
+    @Transactional
     public HabitResponseDTO createHabit(HabitRequestDTO dto) {
-        // Buscar el tipo de hábito
-        HabitType habitType = habitTypeService.findHabitTypeEntityById(dto.getHabitTypeId())
+        // Buscar el tipo de hábito (en caché) y referenciarlo en esta transacción sin volver a leerlo
+        HabitTypeResponseDTO habitTypeDTO = habitTypeService.findHabitTypeById(dto.getHabitTypeId())
                 .orElseThrow(() -> new IllegalArgumentException("Tipo de hábito no encontrado"));
+        HabitType habitType = habitTypeService.getHabitTypeReference(habitTypeDTO.getId());
 
         // Buscar el usuario
         User user = userService.findUserEntityById(dto.getUserId())
@@ -147,18 +166,21 @@ public class HabitServiceImpl implements HabitService {
     }
 
     @Override
+    @Transactional
     public void deleteHabit(Long id) {
-        if (!habitRepository.existsById(id)) { // Verificar si el hábito existe
-            throw new RuntimeException("Usuario no encontrado"); // Si no existe, lanzar RuntimeException
-        }
+        Long userId = habitRepository.findUserIdById(id) // Verificar si el hábito existe
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado")); // Si no existe, lanzar RuntimeException
 
         habitRepository.deleteById(id); // Eliminar el hábito por ID
+        eventPublisher.publishEvent(new HabitDeletedEvent(id, userId)); // Las estadísticas del usuario se recalculan tras el commit
     }
 
     @Override
     @Transactional
     public void deleteAllByTypeId(Long habitTypeId) {
+        List<HabitOwner> habits = habitRepository.findOwnersByHabitTypeId(habitTypeId);
         habitRepository.deleteAllByHabitTypeId(habitTypeId);
+        HabitDeletedEvent.of(habits).forEach(eventPublisher::publishEvent); // Las estadísticas de cada usuario se recalculan tras el commit
     }
 
     /**
@@ -1,11 +1,19 @@
 package trackup.services.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.config.CacheConfig;
 import trackup.dto.request.HabitTypeRequestDTO;
 import trackup.dto.response.HabitTypeResponseDTO;
 import trackup.entity.HabitType;
+import trackup.event.HabitDeletedEvent;
+import trackup.repository.HabitRepository;
 import trackup.repository.HabitTypeRepository;
+import trackup.repository.projection.HabitOwner;
 import trackup.services.HabitTypeService;
 
 import java.util.Collections;
@@ -27,18 +35,26 @@ import java.util.stream.Collectors;
 public class HabitTypeServiceImpl implements HabitTypeService {
 
     private final HabitTypeRepository habitTypeRepository; // Repositorio de tipos de hábito
+    private final HabitRepository habitRepository; // Repositorio de hábitos
+    private final ApplicationEventPublisher eventPublisher; // Publica la eliminación de hábitos para recalcular las estadísticas
 
     /**
      * Constructor con inyección de dependencias
      *
      * @param habitTypeRepository Repositorio de tipos de hábito
+     * @param habitRepository Repositorio de hábitos
+     * @param eventPublisher Publicador de eventos de dominio
      */
     @Autowired
-    public HabitTypeServiceImpl(HabitTypeRepository habitTypeRepository) {
+    public HabitTypeServiceImpl(HabitTypeRepository habitTypeRepository, HabitRepository habitRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.habitTypeRepository = habitTypeRepository;
+        this.habitRepository = habitRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.HABIT_TYPE_BY_ID, unless = "#result == null")
     public Optional<HabitTypeResponseDTO> findHabitTypeById(Long id) {
         return habitTypeRepository.findById(id) // Busca el tipo de hábito por ID, y si lo encuentra lo transforma a un DTO
                 .map(this::mapToDTO);
@@ -50,12 +66,20 @@ public class HabitTypeServiceImpl implements HabitTypeService {
     }
 
     @Override
+    public HabitType getHabitTypeReference(Long id) {
+        // Las entidades no se cachean: la referencia pertenece al contexto de persistencia de la transacción del llamante
+        return habitTypeRepository.getReferenceById(id);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.HABIT_TYPE_BY_NAME, unless = "#result == null")
     public Optional<HabitTypeResponseDTO> findHabitTypeByName(String name) {
         return habitTypeRepository.findByName(name) // Busca el tipo de hábito por nombre
                 .map(this::mapToDTO);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.HABIT_TYPES, key = "'all'")
     public List<HabitTypeResponseDTO> getAllHabitTypes() {
         List<HabitType> tipos = habitTypeRepository.findAll();
         if (tipos == null || tipos.isEmpty()) {
@@ -68,6 +92,8 @@ public class HabitTypeServiceImpl implements HabitTypeService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.HABIT_TYPES, CacheConfig.HABIT_TYPE_BY_ID,
+            CacheConfig.HABIT_TYPE_BY_NAME}, allEntries = true) // El catálogo es pequeño: se invalida entero
     public HabitTypeResponseDTO createHabitType(HabitTypeRequestDTO habitTypeRequestDTO) {
         if (habitTypeRepository.findByName(habitTypeRequestDTO.getName()).isPresent()) { // Comprueba si el tipo de hábito ya existe
             throw new RuntimeException("El tipo de hábito ya existe");
@@ -81,6 +107,8 @@ public class HabitTypeServiceImpl implements HabitTypeService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.HABIT_TYPES, CacheConfig.HABIT_TYPE_BY_ID,
+            CacheConfig.HABIT_TYPE_BY_NAME}, allEntries = true) // El catálogo es pequeño: se invalida entero
     public HabitTypeResponseDTO updateHabitType(Long id, HabitTypeRequestDTO habitTypeRequestDTO) {
         HabitType habitType = habitTypeRepository.findById(id) // Busca el tipo de hábito por ID
                 .orElseThrow(() -> new RuntimeException("Tipo de hábito no encontrado"));
@@ -92,12 +120,18 @@ public class HabitTypeServiceImpl implements HabitTypeService {
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.HABIT_TYPES, CacheConfig.HABIT_TYPE_BY_ID,
+            CacheConfig.HABIT_TYPE_BY_NAME}, allEntries = true) // El catálogo es pequeño: se invalida entero
     public void deleteHabitType(Long id) {
         if (!habitTypeRepository.existsById(id)) { // Verifica si el tipo de hábito existe
             throw new RuntimeException("Tipo de hábito no encontrado");
         }
 
+        List<HabitOwner> habits = habitRepository.findOwnersByHabitTypeId(id); // Sus hábitos se eliminan en cascada
+
         habitTypeRepository.deleteById(id); // Elimina el tipo de hábito por ID
+        HabitDeletedEvent.of(habits).forEach(eventPublisher::publishEvent); // Las estadísticas de cada usuario se recalculan tras el commit
     }
 
     /**
@@ -0,0 +1,255 @@
+package trackup.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.dto.response.DashboardStatisticsResponseDTO;
+import trackup.dto.response.HeatmapResponseDTO;
+import trackup.entity.HabitStatistics;
+import trackup.entity.UserDailyStatistics;
+import trackup.repository.DailyRecordRepository;
+import trackup.repository.HabitStatisticsRepository;
+import trackup.repository.UserDailyStatisticsRepository;
+import trackup.repository.projection.HabitCount;
+import trackup.repository.projection.UserDayCount;
+import trackup.services.StatisticsService;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de estadísticas
+ * Mantiene los contadores por usuario y día y por hábito, de forma que el panel principal se sirve leyendo
+ * un número acotado de filas independientemente del tamaño del histórico del usuario. Tras cada cambio solo
+ * se vuelven a contar los días y hábitos afectados: los contadores diarios en la misma transacción que la escritura
+ * (ver UserDailyStatisticsListener) y los de hábito tras el commit (ver UserAggregatesListener)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Service // Anotación que indica que esta clase es un servicio
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatisticsServiceImpl.class);
+
+    public static final int MAX_HEATMAP_DAYS = 731; // Número máximo de días de un mapa de calor (dos años)
+
+    private final UserDailyStatisticsRepository userDailyStatisticsRepository; // Repositorio de contadores por usuario y día
+    private final HabitStatisticsRepository habitStatisticsRepository; // Repositorio de contadores por hábito
+    private final DailyRecordRepository dailyRecordRepository; // Repositorio de registros diarios
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param userDailyStatisticsRepository Repositorio de contadores por usuario y día
+     * @param habitStatisticsRepository Repositorio de contadores por hábito
+     * @param dailyRecordRepository Repositorio de registros diarios
+     */
+    @Autowired
+    public StatisticsServiceImpl(UserDailyStatisticsRepository userDailyStatisticsRepository,
+                                 HabitStatisticsRepository habitStatisticsRepository,
+                                 DailyRecordRepository dailyRecordRepository) {
+        this.userDailyStatisticsRepository = userDailyStatisticsRepository;
+        this.habitStatisticsRepository = habitStatisticsRepository;
+        this.dailyRecordRepository = dailyRecordRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DashboardStatisticsResponseDTO getDashboardStatistics(Long userId, LocalDate today) {
+        DashboardStatisticsResponseDTO dto = new DashboardStatisticsResponseDTO();
+
+        // Totales históricos y porcentaje por hábito: una fila por hábito del usuario
+        long completed = 0;
+        long total = 0;
+        Map<Long, Double> habitCompletionPercentage = new HashMap<>();
+        for (HabitStatistics stats : habitStatisticsRepository.findAllByUserId(userId)) {
+            total += stats.getTotalCount();
+            completed += stats.getCompletedCount();
+            habitCompletionPercentage.put(stats.getHabitId(), stats.getTotalCount() == 0 ? 0.0
+                    : (100.0 * stats.getCompletedCount()) / stats.getTotalCount());
+        }
+        dto.setCompletedCount(completed);
+        dto.setNotCompletedCount(total - completed);
+        dto.setHabitCompletionPercentage(habitCompletionPercentage);
+
+        // Semana y mes actuales: como máximo una fila por día del intervalo
+        LocalDate startOfWeek = today.with(DayOfWeek.MONDAY);
+        LocalDate endOfWeek = today.with(DayOfWeek.SUNDAY);
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        LocalDate endOfMonth = today.withDayOfMonth(today.lengthOfMonth());
+        LocalDate from = startOfWeek.isBefore(startOfMonth) ? startOfWeek : startOfMonth;
+        LocalDate to = endOfWeek.isAfter(endOfMonth) ? endOfWeek : endOfMonth;
+
+        for (UserDailyStatistics day : userDailyStatisticsRepository.findByUserIdAndDateBetweenOrderByDateAsc(userId, from, to)) {
+            LocalDate d = day.getDate();
+            if (!d.isBefore(startOfWeek) && !d.isAfter(endOfWeek)) {
+                dto.setWeeklyTotal(dto.getWeeklyTotal() + day.getTotalCount());
+                dto.setWeeklyCompleted(dto.getWeeklyCompleted() + day.getCompletedCount());
+            }
+            if (!d.isBefore(startOfMonth) && !d.isAfter(endOfMonth)) {
+                dto.setMonthlyTotal(dto.getMonthlyTotal() + day.getTotalCount());
+                dto.setMonthlyCompleted(dto.getMonthlyCompleted() + day.getCompletedCount());
+            }
+        }
+
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HeatmapResponseDTO getHeatmap(Long userId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_HEATMAP_DAYS) {
+            throw new IllegalArgumentException("El intervalo debe tener entre 1 y " + MAX_HEATMAP_DAYS + " días");
+        }
+
+        // Una única lectura por rango sobre el índice único (user_id, date); los días sin fila quedan a 0
+        int[] total = new int[(int) days];
+        int[] completed = new int[(int) days];
+        for (UserDailyStatistics day : userDailyStatisticsRepository.findByUserIdAndDateBetweenOrderByDateAsc(userId, from, to)) {
+            int index = (int) ChronoUnit.DAYS.between(from, day.getDate());
+            total[index] = (int) day.getTotalCount();
+            completed[index] = (int) day.getCompletedCount();
+        }
+
+        return new HeatmapResponseDTO(userId, from, to, total, completed);
+    }
+
+    @Override
+    @Transactional
+    public void refreshUserDailyStatistics(Long userId, Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+
+        // Una consulta de recuento y una de lectura, solo de los días afectados
+        Map<LocalDate, UserDayCount> counts = dailyRecordRepository.countByUserAndDatesGroupedByDate(userId, dates).stream()
+                .collect(Collectors.toMap(UserDayCount::getDate, Function.identity()));
+        Map<LocalDate, UserDailyStatistics> existing = userDailyStatisticsRepository.findByUserIdAndDateIn(userId, dates).stream()
+                .collect(Collectors.toMap(UserDailyStatistics::getDate, Function.identity()));
+
+        List<UserDailyStatistics> toSave = new ArrayList<>();
+        for (LocalDate date : dates) {
+            UserDayCount count = counts.get(date);
+            UserDailyStatistics stats = existing.get(date);
+            if (stats == null && count == null) { // Sin registros ni contador: no se crea una fila vacía
+                continue;
+            }
+            if (stats == null) {
+                stats = new UserDailyStatistics(userId, date, 0, 0);
+            }
+            stats.setTotalCount(count == null ? 0 : count.getTotal());
+            stats.setCompletedCount(count == null ? 0 : count.getCompleted());
+            toSave.add(stats);
+        }
+        userDailyStatisticsRepository.saveAll(toSave);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildUserDailyStatistics(Long userId) {
+        userDailyStatisticsRepository.deleteAllByUserId(userId);
+
+        List<UserDailyStatistics> days = new ArrayList<>();
+        for (UserDayCount count : dailyRecordRepository.countByUserGroupedByDate(userId)) {
+            days.add(new UserDailyStatistics(userId, count.getDate(), count.getTotal(), count.getCompleted()));
+        }
+        userDailyStatisticsRepository.saveAll(days);
+    }
+
+    @Override
+    @Transactional
+    public void refreshHabitStatistics(Long userId, Collection<Long> habitIds) {
+        if (habitIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, HabitCount> counts = dailyRecordRepository.countByHabitsGroupedByHabit(habitIds).stream()
+                .collect(Collectors.toMap(HabitCount::getHabitId, Function.identity()));
+        Map<Long, HabitStatistics> existing = habitStatisticsRepository.findAllById(habitIds).stream()
+                .collect(Collectors.toMap(HabitStatistics::getHabitId, Function.identity()));
+
+        List<HabitStatistics> toSave = new ArrayList<>();
+        List<HabitStatistics> toDelete = new ArrayList<>();
+        for (Long habitId : habitIds) {
+            HabitCount count = counts.get(habitId);
+            HabitStatistics stats = existing.get(habitId);
+            if (count == null) { // Sin registros (o hábito eliminado): igual que tras una reconstrucción, sin fila
+                if (stats != null) {
+                    toDelete.add(stats);
+                }
+                continue;
+            }
+            if (stats == null) {
+                stats = new HabitStatistics(habitId, userId, 0, 0);
+            }
+            stats.setTotalCount(count.getTotal());
+            stats.setCompletedCount(count.getCompleted());
+            toSave.add(stats);
+        }
+        habitStatisticsRepository.saveAll(toSave);
+        habitStatisticsRepository.deleteAll(toDelete);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildUserStatistics(Long userId) {
+        rebuildUserDailyStatistics(userId);
+
+        habitStatisticsRepository.deleteAllByUserId(userId);
+        List<HabitStatistics> habits = new ArrayList<>();
+        for (HabitCount count : dailyRecordRepository.countByUserGroupedByHabit(userId)) {
+            habits.add(new HabitStatistics(count.getHabitId(), userId, count.getTotal(), count.getCompleted()));
+        }
+        habitStatisticsRepository.saveAll(habits);
+    }
+
+    @Override
+    @Transactional
+    public void onUserDeleted(Long userId) {
+        userDailyStatisticsRepository.deleteAllByUserId(userId);
+        habitStatisticsRepository.deleteAllByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAllStatistics() {
+        userDailyStatisticsRepository.deleteAllInBatch();
+        habitStatisticsRepository.deleteAllInBatch();
+
+        for (UserDayCount count : dailyRecordRepository.countGroupedByUserAndDate()) {
+            userDailyStatisticsRepository.save(new UserDailyStatistics(
+                    count.getUserId(), count.getDate(), count.getTotal(), count.getCompleted()));
+        }
+        for (HabitCount count : dailyRecordRepository.countGroupedByHabit()) {
+            habitStatisticsRepository.save(new HabitStatistics(
+                    count.getHabitId(), count.getUserId(), count.getTotal(), count.getCompleted()));
+        }
+    }
+
+    /**
+     * Al arrancar la aplicación, si existen registros diarios pero todavía no hay contadores
+     * (por ejemplo, en una base de datos anterior a este servicio), se calculan a partir del histórico
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeStatistics() {
+        if (habitStatisticsRepository.count() == 0 && dailyRecordRepository.count() > 0) {
+            log.info("No hay estadísticas agregadas; se calculan a partir de los registros diarios existentes");
+            rebuildAllStatistics();
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+package trackup.services.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.dto.response.HabitStreakResponseDTO;
+import trackup.entity.HabitStreak;
+import trackup.repository.DailyRecordRepository;
+import trackup.repository.HabitRepository;
+import trackup.repository.HabitStreakRepository;
+import trackup.repository.projection.HabitCompletedDate;
+import trackup.services.StreakService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementación del servicio de rachas
+ *
+ * Las rachas se actualizan de forma incremental: completar un día posterior al último completado
+ * solo alarga o reinicia la racha, sin consultar el histórico. Los cambios en días anteriores
+ * (que pueden unir o partir rachas) recalculan el hábito afectado a partir de sus días completados
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@Service // Anotación que indica que esta clase es un servicio
+public class StreakServiceImpl implements StreakService {
+
+    private static final Logger log = LoggerFactory.getLogger(StreakServiceImpl.class);
+
+    private final HabitStreakRepository habitStreakRepository; // Repositorio de rachas
+    private final DailyRecordRepository dailyRecordRepository; // Repositorio de registros diarios
+    private final HabitRepository habitRepository; // Repositorio de hábitos
+
+    /**
+     * Constructor con inyección de dependencias
+     *
+     * @param habitStreakRepository Repositorio de rachas
+     * @param dailyRecordRepository Repositorio de registros diarios
+     * @param habitRepository Repositorio de hábitos
+     */
+    @Autowired
+    public StreakServiceImpl(HabitStreakRepository habitStreakRepository, DailyRecordRepository dailyRecordRepository,
+                             HabitRepository habitRepository) {
+        this.habitStreakRepository = habitStreakRepository;
+        this.dailyRecordRepository = dailyRecordRepository;
+        this.habitRepository = habitRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<HabitStreakResponseDTO> getStreakByHabitId(Long habitId, LocalDate today) {
+        return habitStreakRepository.findById(habitId)
+                .map(streak -> mapToDTO(streak, today));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HabitStreakResponseDTO> getStreaksByUserId(Long userId, LocalDate today) {
+        return habitStreakRepository.findAllByUserId(userId).stream()
+                .map(streak -> mapToDTO(streak, today))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void refreshStreaks(Map<Long, ? extends Collection<LocalDate>> datesByHabit) {
+        if (datesByHabit.isEmpty()) {
+            return;
+        }
+
+        Map<Long, HabitStreak> existing = habitStreakRepository.findAllById(datesByHabit.keySet()).stream()
+                .collect(Collectors.toMap(HabitStreak::getHabitId, Function.identity()));
+
+        // Estado actual de los días cambiados: una sola consulta que solo lee esos días, no el histórico
+        Set<LocalDate> allDates = new HashSet<>();
+        datesByHabit.values().forEach(allDates::addAll);
+        Map<Long, Map<LocalDate, HabitCompletedDate>> completedByHabit = new HashMap<>();
+        for (HabitCompletedDate completedDate : dailyRecordRepository.findCompletedDatesByHabitIdsAndDateIn(datesByHabit.keySet(), allDates)) {
+            completedByHabit.computeIfAbsent(completedDate.getHabitId(), k -> new HashMap<>()).put(completedDate.getDate(), completedDate);
+        }
+
+        List<HabitStreak> toSave = new ArrayList<>();
+        Set<Long> toRecompute = new HashSet<>();
+        datesByHabit.forEach((habitId, dates) -> {
+            Map<LocalDate, HabitCompletedDate> completed = completedByHabit.getOrDefault(habitId, Map.of());
+            HabitStreak streak = existing.get(habitId); // Sin fila, el hábito no tenía ningún día completado
+
+            // En orden de fecha para poder aplicarlos uno tras otro
+            for (LocalDate date : dates.stream().sorted().toList()) {
+                HabitCompletedDate completedDate = completed.get(date);
+                if (streak == null) {
+                    if (completedDate == null) {
+                        continue; // Sin racha y sin completar: no cambia nada
+                    }
+                    streak = newStreak(completedDate);
+                }
+                if (!advance(streak, date, completedDate != null, false)) {
+                    toRecompute.add(habitId);
+                    return;
+                }
+            }
+            if (streak != null && streak.getLastCompletedDate() != null) {
+                toSave.add(streak);
+            }
+        });
+
+        habitStreakRepository.saveAll(toSave);
+        recompute(toRecompute);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildUserStreaks(Long userId) {
+        Set<Long> habitIds = new HashSet<>(habitRepository.findIdsByUserId(userId));
+        habitStreakRepository.findAllByUserId(userId).forEach(streak -> habitIds.add(streak.getHabitId()));
+        recompute(habitIds);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildAllStreaks() {
+        habitStreakRepository.deleteAllInBatch();
+
+        // Un único recorrido ordenado por hábito y fecha: cada hábito se cierra al pasar al siguiente
+        try (Stream<HabitCompletedDate> completedDates = dailyRecordRepository.streamAllCompletedDates()) {
+            Iterator<HabitCompletedDate> iterator = completedDates.iterator();
+            Long currentHabitId = null;
+            HabitStreak current = null;
+            while (iterator.hasNext()) {
+                HabitCompletedDate completedDate = iterator.next();
+                if (!completedDate.getHabitId().equals(currentHabitId)) {
+                    if (current != null) {
+                        habitStreakRepository.save(current);
+                    }
+                    currentHabitId = completedDate.getHabitId();
+                    current = newStreak(completedDate);
+                }
+                advance(current, completedDate.getDate(), true, true);
+            }
+            if (current != null) {
+                habitStreakRepository.save(current);
+            }
+        }
+    }
+
+    /**
+     * Al arrancar la aplicación, si existen registros diarios pero todavía no hay rachas
+     * (por ejemplo, en una base de datos anterior a este servicio), se calculan a partir del histórico
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeStreaks() {
+        if (habitStreakRepository.count() == 0 && dailyRecordRepository.count() > 0) {
+            log.info("No hay rachas calculadas; se calculan a partir de los registros diarios existentes");
+            rebuildAllStreaks();
+        }
+    }
+
+    /**
+     * Aplica un registro diario a la racha de su hábito sin consultar el histórico, si es posible
+     * Solo se puede hacer cuando el registro es posterior al último día completado (o es ese mismo día y sigue completado)
+     *
+     * @param streak Racha del hábito, se modifica si el registro se puede aplicar
+     * @param date Fecha del registro
+     * @param completed Estado de completado del registro
+     * @param wasNotCompleted Indica si se sabe que ese día no estaba completado antes del cambio
+     * @return true si la racha queda actualizada, false si hay que recalcularla a partir del histórico
+     */
+    private boolean advance(HabitStreak streak, LocalDate date, Boolean completed, boolean wasNotCompleted) {
+        LocalDate last = streak.getLastCompletedDate();
+        boolean afterLast = last == null || date.isAfter(last);
+
+        if (!Boolean.TRUE.equals(completed)) {
+            // Los días posteriores al último completado no estaban completados; los anteriores solo si se sabe
+            return afterLast || wasNotCompleted;
+        }
+        if (!afterLast) {
+            // El mismo día ya estaba contado; un día anterior que pasa a completado puede unir dos rachas
+            return date.equals(last) && !wasNotCompleted;
+        }
+
+        boolean consecutive = last != null && date.equals(last.plusDays(1));
+        streak.setCurrentStreak(consecutive ? streak.getCurrentStreak() + 1 : 1);
+        streak.setLongestStreak(Math.max(streak.getLongestStreak(), streak.getCurrentStreak()));
+        streak.setLastCompletedDate(date);
+        return true;
+    }
+
+    /**
+     * Recalcula las rachas de los hábitos indicados a partir de sus días completados, con una sola consulta
+     * Los hábitos que se quedan sin días completados pierden su fila
+     *
+     * @param habitIds IDs de los hábitos
+     */
+    private void recompute(Set<Long> habitIds) {
+        if (habitIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, HabitStreak> existing = habitStreakRepository.findAllById(habitIds).stream()
+                .collect(Collectors.toMap(HabitStreak::getHabitId, Function.identity()));
+        Map<Long, HabitStreak> recomputed = new HashMap<>();
+        for (HabitCompletedDate completedDate : dailyRecordRepository.findCompletedDatesByHabitIds(habitIds)) {
+            HabitStreak streak = recomputed.computeIfAbsent(completedDate.getHabitId(), habitId -> {
+                HabitStreak reset = existing.containsKey(habitId) ? existing.get(habitId) : newStreak(completedDate);
+                reset.setCurrentStreak(0);
+                reset.setLongestStreak(0);
+                reset.setLastCompletedDate(null);
+                return reset;
+            });
+            advance(streak, completedDate.getDate(), true, true);
+        }
+
+        habitStreakRepository.saveAll(recomputed.values());
+        List<HabitStreak> withoutCompletions = existing.values().stream()
+                .filter(streak -> !recomputed.containsKey(streak.getHabitId()))
+                .toList();
+        habitStreakRepository.deleteAll(withoutCompletions);
+    }
+
+    /**
+     * Crea una racha vacía para el hábito de un día completado
+     *
+     * @param completedDate Día completado del hábito
+     * @return Racha vacía del hábito
+     */
+    private HabitStreak newStreak(HabitCompletedDate completedDate) {
+        return new HabitStreak(habitRepository.getReferenceById(completedDate.getHabitId()), completedDate.getUserId(), 0, 0, null);
+    }
+
+    /**
+     * Convierte una racha a un DTO, calculando la racha vigente en la fecha indicada
+     *
+     * @param streak Racha del hábito
+     * @param today Fecha de referencia
+     * @return DTO HabitStreakResponseDTO
+     */
+    private HabitStreakResponseDTO mapToDTO(HabitStreak streak, LocalDate today) {
+        // La racha sigue viva si se completó hoy o ayer (hoy todavía se puede completar)
+        LocalDate last = streak.getLastCompletedDate();
+        boolean alive = last != null && !last.isBefore(today.minusDays(1));
+        return new HabitStreakResponseDTO(streak.getHabitId(), alive ? streak.getCurrentStreak() : 0,
+                streak.getLongestStreak(), last);
+    }
+
+}
\ No newline at end of file
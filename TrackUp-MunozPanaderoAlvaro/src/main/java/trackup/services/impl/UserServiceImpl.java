@@ -1,11 +1,17 @@
 package trackup.services.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import trackup.config.CacheConfig;
 import trackup.dto.request.UserRequestDTO;
 import trackup.dto.response.UserResponseDTO;
 import trackup.entity.User;
 import trackup.repository.UserRepository;
+import trackup.services.StatisticsService;
 import trackup.services.UserService;
 
 import java.util.List;
@@ -26,15 +32,21 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository; // Repositorio de usuarios
+    private final StatisticsService statisticsService; // Servicio que mantiene las estadísticas agregadas
+    private final PasswordEncoder passwordEncoder; // Codificador de contraseñas
 
     /**
      * Constructor con inyección de dependencias
      *
      * @param userRepository Repositorio de usuariosA
+     * @param statisticsService Servicio de estadísticas
+     * @param passwordEncoder Codificador de contraseñas
      */
     @Autowired
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, StatisticsService statisticsService, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.statisticsService = statisticsService;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Override
@@ -49,6 +61,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_BY_USERNAME, unless = "#result == null")
     public Optional<UserResponseDTO> findUserByUsername(String username) {
         return userRepository.findByUsername(username) // Busca al usuario por su ID, y si lo encuentra lo transforma a un DTO
                 .map(this::mapToDTO);
@@ -80,31 +93,36 @@ public class UserServiceImpl implements UserService {
         User user = new User(); // Crea una nueva entidad User
         user.setUsername(userDTO.getUsername()); // Asigna los valores del DTO a la entidad
         user.setEmail(userDTO.getEmail()); // Se asigna el correo electrónico
-        user.setPassword(userDTO.getPassword()); // Se asigna la contraseña
+        user.setPassword(passwordEncoder.encode(userDTO.getPassword())); // Se asigna la contraseña codificada, nunca en claro
 
         User savedUser = userRepository.save(user); // Guarda la entidad en la base de datos
         return mapToDTO(savedUser);
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.USER_BY_USERNAME, CacheConfig.USER_PRINCIPALS}, allEntries = true) // El nombre de usuario anterior no se conoce de antemano
     public UserResponseDTO updateUser(Long id, UserRequestDTO userDTO) {
         User user = userRepository.findById(id) // Busca al usuario por su ID
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado")); // Si no lo encuentra, lanza una excepción
 
         user.setUsername(userDTO.getUsername()); // Se actualizan los valores del usuario
         user.setEmail(userDTO.getEmail());
-        user.setPassword(userDTO.getPassword());
+        user.setPassword(passwordEncoder.encode(userDTO.getPassword())); // Se guarda codificada, nunca en claro
 
         User updatedUser = userRepository.save(user); // Se guarda la entidad actualizada en la base de datos
         return mapToDTO(updatedUser); // Se transforma la entidad actualizada a un DTO y se devuelve
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.USER_BY_USERNAME, CacheConfig.USER_PRINCIPALS}, allEntries = true) // El nombre de usuario anterior no se conoce de antemano
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) { // Verifica si el usuario existe
             throw new RuntimeException("Usuario no encontrado"); // Si no existe, lanza una excepción
         }
 
+        statisticsService.onUserDeleted(id); // Elimina sus estadísticas agregadas aquí mismo: no hay nada que recalcular tras el commit
+
         userRepository.deleteById(id); // Si existe, lo elimina de la base de datos
     }
 
@@ -0,0 +1,59 @@
+-- ----------------------------------------
+-- V1: esquema base de TrackUp
+-- Coincide con el esquema que generaba Hibernate con 'ddl-auto=update' antes de las migraciones;
+-- las bases de datos ya existentes se marcan en esta versión sin ejecutarla (baseline-on-migrate),
+-- así que todo lo añadido después (claves, tablas derivadas, índices) va en V2 y siguientes
+-- SQL válido en MySQL 8 y en H2 (tests y perfil 'h2file')
+-- ----------------------------------------
+
+CREATE TABLE users (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  username VARCHAR(255) NOT NULL,
+  email VARCHAR(255) NOT NULL,
+  password VARCHAR(255) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_users_username UNIQUE (username),
+  CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE habit_type (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(50) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_habit_type_name UNIQUE (name)
+);
+
+CREATE TABLE habit (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(255) NOT NULL,
+  description VARCHAR(255),
+  frequency VARCHAR(50) NOT NULL,
+  start_date DATE NOT NULL,
+  end_date DATE NOT NULL,
+  user_id BIGINT NOT NULL,
+  habit_type_id BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_habit_name UNIQUE (name),
+  CONSTRAINT uk_habit_user_name UNIQUE (user_id, name), -- Hábitos de un usuario y búsqueda por usuario y nombre
+  CONSTRAINT fk_habit_user FOREIGN KEY (user_id) REFERENCES users (id),
+  CONSTRAINT fk_habit_habit_type FOREIGN KEY (habit_type_id) REFERENCES habit_type (id)
+);
+
+CREATE TABLE daily_record (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  date DATE NOT NULL,
+  completed BIT NOT NULL,
+  habit_id BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT fk_daily_record_habit FOREIGN KEY (habit_id) REFERENCES habit (id)
+);
+
+CREATE TABLE goal (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(100) NOT NULL,
+  description VARCHAR(255) NOT NULL,
+  user_id BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_goal_name UNIQUE (name),
+  CONSTRAINT fk_goal_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
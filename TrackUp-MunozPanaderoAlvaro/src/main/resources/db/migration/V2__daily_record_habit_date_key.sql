@@ -0,0 +1,26 @@
+-- ----------------------------------------
+-- V2: un único registro diario por hábito y fecha
+-- Clave del upsert de registros diarios y rango de fechas de un hábito.
+-- Antes de la clave no había nada que impidiera registrar dos veces el mismo día (dos dispositivos, reintentos),
+-- así que primero se fusionan los duplicados: se conserva el registro más antiguo (su ID es el que conocen
+-- los clientes) y queda completado si lo estaba cualquiera de sus duplicados
+-- Las subconsultas envuelven la tabla en una tabla derivada porque MySQL no permite leer la tabla que se modifica
+-- ----------------------------------------
+
+UPDATE daily_record SET completed = TRUE
+WHERE completed = FALSE AND id IN (
+  SELECT id FROM (
+    SELECT r.id FROM daily_record r
+    JOIN daily_record d ON d.habit_id = r.habit_id AND d.date = r.date AND d.completed = TRUE
+  ) t
+);
+
+DELETE FROM daily_record
+WHERE id IN (
+  SELECT id FROM (
+    SELECT r.id FROM daily_record r
+    JOIN daily_record k ON k.habit_id = r.habit_id AND k.date = r.date AND k.id < r.id
+  ) t
+);
+
+ALTER TABLE daily_record ADD CONSTRAINT uk_daily_record_habit_date UNIQUE (habit_id, date);
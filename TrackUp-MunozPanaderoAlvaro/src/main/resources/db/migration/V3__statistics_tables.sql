@@ -0,0 +1,24 @@
+-- ----------------------------------------
+-- V3: contadores agregados de registros diarios
+-- Se rellenan al arrancar a partir de los registros existentes (StatisticsServiceImpl.initializeStatistics)
+-- ----------------------------------------
+
+-- Contadores agregados por usuario y día (panel principal y mapa de calor)
+CREATE TABLE user_daily_statistics (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  user_id BIGINT NOT NULL,
+  date DATE NOT NULL,
+  total_count BIGINT NOT NULL,
+  completed_count BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_user_daily_statistics_user_date UNIQUE (user_id, date)
+);
+
+-- Contadores agregados por hábito
+CREATE TABLE habit_statistics (
+  habit_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  total_count BIGINT NOT NULL,
+  completed_count BIGINT NOT NULL,
+  PRIMARY KEY (habit_id)
+);
@@ -0,0 +1,15 @@
+-- ----------------------------------------
+-- V4: rachas por hábito
+-- Se calculan al arrancar a partir de los registros existentes (StreakServiceImpl.initializeStreaks)
+-- ----------------------------------------
+
+-- Se eliminan junto con el hábito
+CREATE TABLE habit_streak (
+  habit_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  current_streak INTEGER NOT NULL,
+  longest_streak INTEGER NOT NULL,
+  last_completed_date DATE,
+  PRIMARY KEY (habit_id),
+  CONSTRAINT fk_habit_streak_habit FOREIGN KEY (habit_id) REFERENCES habit (id) ON DELETE CASCADE
+);
@@ -0,0 +1,15 @@
+-- ----------------------------------------
+-- V5: calendario compacto (mapas de bits) por hábito
+-- Se construye al arrancar a partir de los registros existentes (HabitCalendarServiceImpl.initializeCalendars)
+-- ----------------------------------------
+
+-- Se elimina junto con el hábito
+CREATE TABLE habit_calendar (
+  habit_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  base_date DATE NOT NULL,
+  recorded_days VARBINARY(4096) NOT NULL,
+  completed_days VARBINARY(4096) NOT NULL,
+  PRIMARY KEY (habit_id),
+  CONSTRAINT fk_habit_calendar_habit FOREIGN KEY (habit_id) REFERENCES habit (id) ON DELETE CASCADE
+);
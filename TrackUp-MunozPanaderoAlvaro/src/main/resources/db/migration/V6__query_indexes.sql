@@ -0,0 +1,13 @@
+-- ----------------------------------------
+-- V6: índices compuestos alineados con las consultas más frecuentes
+-- Los accesos por (habit_id, date) en daily_record y por (user_id, name) en habit ya los cubren
+-- las claves únicas uk_daily_record_habit_date (V2) y uk_habit_user_name (V1)
+-- ----------------------------------------
+
+-- Metas de un usuario, y búsqueda de una meta por usuario y nombre
+CREATE INDEX ix_goal_user_name ON goal (user_id, name);
+
+-- Lecturas por usuario de las tablas derivadas (una fila por hábito)
+CREATE INDEX ix_habit_statistics_user ON habit_statistics (user_id);
+CREATE INDEX ix_habit_streak_user ON habit_streak (user_id);
+CREATE INDEX ix_habit_calendar_user ON habit_calendar (user_id);
@@ -0,0 +1,24 @@
+-- ----------------------------------------
+-- V7: copia del propietario del hábito en daily_record
+-- Los listados y contadores por usuario filtran directamente por daily_record.user_id (índice (user_id, date))
+-- en lugar de unir con habit. La clave ajena compuesta (habit_id, user_id) -> habit (id, user_id) con
+-- ON UPDATE CASCADE impide que la copia se desincronice: si un hábito cambia de usuario, sus registros le siguen
+-- ----------------------------------------
+
+-- NOT NULL con un valor por defecto provisional: así la sintaxis vale igual en MySQL y en H2
+ALTER TABLE daily_record ADD COLUMN user_id BIGINT NOT NULL DEFAULT 0;
+
+-- Relleno de los registros existentes con el usuario de su hábito
+UPDATE daily_record SET user_id = (SELECT h.user_id FROM habit h WHERE h.id = daily_record.habit_id);
+
+ALTER TABLE daily_record ALTER COLUMN user_id DROP DEFAULT;
+
+CREATE INDEX ix_daily_record_user_date ON daily_record (user_id, date);
+
+-- Destino de la clave ajena compuesta (el id ya es único, el par también)
+ALTER TABLE habit ADD CONSTRAINT uk_habit_id_user UNIQUE (id, user_id);
+
+CREATE INDEX ix_daily_record_habit_user ON daily_record (habit_id, user_id);
+
+ALTER TABLE daily_record ADD CONSTRAINT fk_daily_record_habit_user
+    FOREIGN KEY (habit_id, user_id) REFERENCES habit (id, user_id) ON UPDATE CASCADE;
@@ -0,0 +1,23 @@
+-- ----------------------------------------
+-- V8: archivo de registros diarios antiguos
+-- El proceso de archivado mueve aquí los registros anteriores al horizonte configurado (trackup.archive.horizon),
+-- de modo que daily_record solo guarda los años recientes, que son los que consultan casi todas las peticiones.
+-- Mismas columnas y mismo ID que en daily_record; las filas no se modifican una vez archivadas
+-- ----------------------------------------
+
+CREATE TABLE daily_record_archive (
+  id BIGINT NOT NULL,
+  date DATE NOT NULL,
+  completed BIT NOT NULL,
+  habit_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_daily_record_archive_habit_date UNIQUE (habit_id, date)
+);
+
+CREATE INDEX ix_daily_record_archive_user_date ON daily_record_archive (user_id, date);
+CREATE INDEX ix_daily_record_archive_habit_user ON daily_record_archive (habit_id, user_id);
+
+-- A diferencia de daily_record (que borra JPA en cascada), los registros archivados se borran con su hábito en la base de datos
+ALTER TABLE daily_record_archive ADD CONSTRAINT fk_daily_record_archive_habit_user
+    FOREIGN KEY (habit_id, user_id) REFERENCES habit (id, user_id) ON DELETE CASCADE ON UPDATE CASCADE;
@@ -0,0 +1,112 @@
+package trackup.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Test de la clase AdmissionFilter
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class AdmissionFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxConcurrent(1); // Una sola petición a la vez
+        properties.setMaxWait(Duration.ofMillis(50));
+        filter = new AdmissionFilter(properties, meterRegistry);
+    }
+
+    private MockHttpServletResponse perform(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+        return response;
+    }
+
+    // ----------------------------
+    // Tests para doFilterInternal
+    // ----------------------------
+
+    @Test
+    void testSequentialRequests_AllAdmitted() throws Exception {
+        // When: Se hacen varias peticiones una detrás de otra
+        MockHttpServletResponse first = perform("/api/habits");
+        MockHttpServletResponse second = perform("/api/habits");
+
+        // Then: Cada una devuelve su permiso al terminar
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(0.0, meterRegistry.get("trackup.admission.active").gauge().value());
+    }
+
+    @Test
+    void testSaturated_RejectedWith503() throws Exception {
+        // Given: Una petición en curso que ocupa el único permiso
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            started.countDown();
+            try {
+                finish.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/habits"), new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When: Llega otra petición y no entra dentro de la espera máxima
+        MockHttpServletResponse rejected = perform("/api/habits");
+
+        // Then: Se rechaza con 503 y Retry-After; las métricas y los recursos estáticos no esperan
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.counter("trackup.admission.rejected").count());
+        assertEquals(200, perform("/actuator/health").getStatus());
+        assertEquals(200, perform("/css/styles.css").getStatus());
+
+        finish.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals(200, perform("/api/habits").getStatus());
+    }
+
+    @Test
+    void testAsyncRequest_KeepsPermitUntilCompleted() throws Exception {
+        // Given: Una petición asíncrona (como una exportación en streaming)
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        // When / Then: Mientras sigue escribiendo, conserva su permiso
+        assertEquals(503, perform("/api/habits").getStatus());
+
+        // When / Then: Al completarse lo devuelve
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(200, perform("/api/habits").getStatus());
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package trackup.config;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import trackup.dto.response.HabitTypeResponseDTO;
+import trackup.repository.HabitRepository;
+import trackup.repository.HabitTypeRepository;
+import trackup.services.HabitTypeService;
+import trackup.services.impl.HabitTypeServiceImpl;
+
+/**
+ * Test de la clase ServiceMetricsAspect
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private HabitTypeRepository habitTypeRepository;
+    private HabitTypeService habitTypeService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        habitTypeRepository = mock(HabitTypeRepository.class);
+
+        // Servicio real envuelto en un proxy con el aspecto, como lo haría Spring
+        AspectJProxyFactory factory = new AspectJProxyFactory(new HabitTypeServiceImpl(habitTypeRepository, mock(HabitRepository.class),
+                mock(ApplicationEventPublisher.class)));
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        habitTypeService = factory.getProxy();
+    }
+
+    // ----------------------------
+    // Tests para time
+    // ----------------------------
+
+    @Test
+    void testTime_Success() {
+        // Given: Un tipo de hábito inexistente
+        when(habitTypeRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When: Se llama dos veces al servicio
+        Optional<HabitTypeResponseDTO> result = habitTypeService.findHabitTypeById(1L);
+        habitTypeService.findHabitTypeById(1L);
+
+        // Then: Se registran las dos llamadas con el servicio, la operación y el resultado
+        assertTrue(result.isEmpty());
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("service", "HabitTypeService", "operation", "findHabitTypeById", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void testTime_Error() {
+        // Given: Un tipo de hábito que no existe
+        when(habitTypeRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When: Se intenta actualizar y el servicio lanza una excepción
+        assertThrows(RuntimeException.class, () -> habitTypeService.updateHabitType(2L, null));
+
+        // Then: La llamada se registra como error con la clase de la excepción
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("operation", "updateHabitType", "outcome", "ERROR", "exception", "RuntimeException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+}
\ No newline at end of file
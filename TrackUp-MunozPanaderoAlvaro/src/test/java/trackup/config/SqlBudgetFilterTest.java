@@ -0,0 +1,142 @@
+package trackup.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import trackup.entity.DailyRecord;
+import trackup.entity.Habit;
+import trackup.entity.HabitType;
+import trackup.entity.User;
+import trackup.security.JwtUtil;
+
+/**
+ * Test del presupuesto de sentencias SQL de los endpoints más usados
+ * Cada endpoint debe ejecutar un número fijo de sentencias, sin importar cuántos datos devuelva (sin N+1)
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class SqlBudgetFilterTest {
+
+    private static final int HABITS = 20; // Suficientes hábitos para que una consulta N+1 se note
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("budget-user");
+        user.setEmail("budget-user@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        HabitType habitType = new HabitType();
+        habitType.setName("Budget");
+        entityManager.persist(habitType);
+
+        for (int i = 0; i < HABITS; i++) {
+            Habit habit = new Habit();
+            habit.setName("Budget " + i);
+            habit.setFrequency("DAILY");
+            habit.setStartDate(LocalDate.of(2025, 1, 1));
+            habit.setEndDate(LocalDate.of(2025, 12, 31));
+            habit.setUser(user);
+            habit.setHabitType(habitType);
+            entityManager.persist(habit);
+            entityManager.persist(new DailyRecord(null, LocalDate.of(2025, 5, 1), i % 2 == 0, habit));
+        }
+
+        // Se vacía el contexto de persistencia para que las peticiones tengan que ir a la base de datos
+        entityManager.flush();
+        entityManager.clear();
+        token = jwtUtil.generateToken("budget-user");
+    }
+
+    // ----------------------------
+    // Tests del presupuesto por endpoint
+    // ----------------------------
+
+    @Test
+    void testHabitsByUser_WithinBudget() throws Exception {
+        // When: Se piden los hábitos del usuario (usuario autenticado + hábitos con su tipo)
+        SqlStatementTracker.Stats stats = perform(get("/api/habits/habits/user/{userId}", user.getId()));
+
+        // Then: No hay una consulta por hábito
+        assertTrue(stats.getStatements() <= 2, "Sentencias: " + stats.getStatements());
+    }
+
+    @Test
+    void testUserHabits_WithinBudget() throws Exception {
+        // When: Se piden los hábitos a través del controlador de usuarios
+        SqlStatementTracker.Stats stats = perform(get("/api/users/user/{id}/habits", user.getId()));
+
+        // Then: El número de sentencias no depende del número de hábitos
+        assertTrue(stats.getStatements() <= 3, "Sentencias: " + stats.getStatements());
+    }
+
+    @Test
+    void testDailyRecordsPage_WithinBudget() throws Exception {
+        // When: Se pide una página de registros diarios del usuario
+        SqlStatementTracker.Stats stats = perform(get("/api/daily-records/daily-records/page")
+                .param("userId", user.getId().toString())
+                .param("size", "50"));
+
+        // Then: Usuario autenticado + una sola consulta de la página
+        assertTrue(stats.getStatements() <= 2, "Sentencias: " + stats.getStatements());
+    }
+
+    @Test
+    void testHeatmap_WithinBudget() throws Exception {
+        // When: Se pide el mapa de calor de un año completo
+        SqlStatementTracker.Stats stats = perform(get("/api/daily-records/heatmap")
+                .param("userId", user.getId().toString())
+                .param("from", "2025-01-01")
+                .param("to", "2025-12-31"));
+
+        // Then: Usuario autenticado + una sola lectura por rango de los contadores diarios
+        assertTrue(stats.getStatements() <= 2, "Sentencias: " + stats.getStatements());
+    }
+
+    /**
+     * Lanza una petición autenticada y devuelve sus estadísticas de SQL
+     *
+     * @param request Petición
+     * @return Sentencias y tiempo JDBC de la petición
+     */
+    private SqlStatementTracker.Stats perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn();
+        SqlStatementTracker.Stats stats = (SqlStatementTracker.Stats) result.getRequest().getAttribute(SqlBudgetFilter.STATS_ATTRIBUTE);
+        assertNotNull(stats);
+        assertTrue(stats.getStatements() > 0); // El proxy del DataSource está contando
+        return stats;
+    }
+
+}
\ No newline at end of file
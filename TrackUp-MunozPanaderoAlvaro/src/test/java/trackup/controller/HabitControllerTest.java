@@ -12,6 +12,8 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import trackup.dto.request.HabitRequestDTO;
 import trackup.dto.response.HabitResponseDTO;
 import trackup.services.HabitService;
+import trackup.services.HabitCalendarService;
+import trackup.services.StreakService;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -31,6 +33,12 @@ class HabitControllerTest {
     @Mock
     private HabitService service;
 
+    @Mock
+    private StreakService streakService;
+
+    @Mock
+    private HabitCalendarService habitCalendarService;
+
     private MockMvc mockMvc;
     private ObjectMapper mapper;
 
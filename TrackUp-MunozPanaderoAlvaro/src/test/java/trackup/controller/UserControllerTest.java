@@ -12,6 +12,7 @@ import trackup.dto.request.UserRequestDTO;
 import trackup.dto.response.UserResponseDTO;
 import trackup.entity.Habit;
 import trackup.entity.User;
+import trackup.security.PasswordHashingUnavailableException;
 import trackup.services.UserService;
 
 import java.util.*;
@@ -36,7 +37,9 @@ class UserControllerTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new PasswordHashingExceptionHandler())
+                .build();
     }
 
     @Test
@@ -149,6 +152,20 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.id").value(6));
     }
 
+    @Test
+    @DisplayName("POST /api/users/user -> 503 si el pool de hashes está saturado")
+    void createUser_hashingUnavailable() throws Exception {
+        UserRequestDTO req = new UserRequestDTO("javi", "javi@x.com", "pwd");
+        when(service.createUser(any()))
+                .thenThrow(new PasswordHashingUnavailableException("Demasiadas operaciones de contraseña en curso", null));
+
+        mockMvc.perform(post("/api/users/user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @DisplayName("PUT /api/users/user/{id} -> 400 si id negativo")
     void updateUser_badRequest() throws Exception {
@@ -172,6 +189,19 @@ class UserControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("PUT /api/users/user/{id} -> 503 si el pool de hashes está saturado")
+    void updateUser_hashingUnavailable() throws Exception {
+        UserRequestDTO req = new UserRequestDTO("x", "x@x.com", "pwd");
+        when(service.updateUser(eq(8L), any()))
+                .thenThrow(new PasswordHashingUnavailableException("Demasiadas operaciones de contraseña en curso", null));
+
+        mockMvc.perform(put("/api/users/user/{id}", 8L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(req)))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @Test
     @DisplayName("PUT /api/users/user/{id} -> 200 si existe")
     void updateUser_ok() throws Exception {
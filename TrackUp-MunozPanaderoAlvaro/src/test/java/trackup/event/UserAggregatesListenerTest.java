@@ -0,0 +1,198 @@
+package trackup.event;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import trackup.event.DailyRecordsChangedEvent.ChangeType;
+import trackup.services.StatisticsService;
+import trackup.services.StreakService;
+
+/**
+ * Test de la clase UserAggregatesListener
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class UserAggregatesListenerTest {
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Mock
+    private StreakService streakService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserAggregatesListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (listener != null) {
+            listener.close();
+        }
+    }
+
+    private UserAggregatesListener newListener(boolean async, Duration coalesceDelay, int maxPendingUsers) {
+        return new UserAggregatesListener(statisticsService, streakService, transactionManager, meterRegistry,
+                async, 1, coalesceDelay, maxPendingUsers, false);
+    }
+
+    private static DailyRecordsChangedEvent change(Long userId, Long habitId, LocalDate date) {
+        return new DailyRecordsChangedEvent(ChangeType.CREATED, userId, Map.of(habitId, Set.of(date)));
+    }
+
+    // ----------------------------
+    // Tests del modo síncrono
+    // ----------------------------
+
+    @Test
+    void testSync_RecomputesInCallerThread() {
+        // Given: El modo síncrono de los tests
+        listener = newListener(false, Duration.ofMillis(500), 10);
+
+        // When: Se recibe un cambio
+        listener.onDailyRecordsChanged(change(1L, 10L, LocalDate.of(2025, 5, 1)));
+
+        // Then: Los agregados ya están recalculados al volver, en su propia transacción
+        verify(statisticsService).refreshHabitStatistics(1L, Set.of(10L));
+        verify(streakService).refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 1))));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testSync_HabitDeletedRefreshesItsCounters() {
+        // Given: El modo síncrono de los tests
+        listener = newListener(false, Duration.ofMillis(500), 10);
+
+        // When: Se elimina un hábito
+        listener.onHabitDeleted(new HabitDeletedEvent(10L, 1L));
+
+        // Then: Se recalculan (desaparecen) solo los contadores del hábito eliminado
+        verify(statisticsService).refreshHabitStatistics(1L, Set.of(10L));
+        verify(statisticsService, never()).rebuildUserStatistics(any());
+    }
+
+    @Test
+    void testSync_FailureIsNotPropagated() {
+        // Given: El recálculo falla
+        listener = newListener(false, Duration.ofMillis(500), 10);
+        doThrow(new RuntimeException("fallo")).when(statisticsService).refreshHabitStatistics(any(), any());
+
+        // When: Se recibe un cambio
+        assertDoesNotThrow(() -> listener.onDailyRecordsChanged(change(1L, 10L, LocalDate.of(2025, 5, 1))));
+
+        // Then: El fallo se cuenta en las métricas y el usuario queda marcado para reconstruir
+        assertEquals(1.0, meterRegistry.counter("trackup.events.failed").count());
+        assertEquals(1.0, meterRegistry.get("trackup.events.dirty").gauge().value());
+    }
+
+    @Test
+    void testRebuildDirtyUsers_RebuildsFailedUsersAndRetriesOnFailure() {
+        // Given: Un recálculo fallido del usuario 1
+        listener = newListener(false, Duration.ofMillis(500), 10);
+        doThrow(new RuntimeException("fallo")).when(statisticsService).refreshHabitStatistics(any(), any());
+        listener.onDailyRecordsChanged(change(1L, 10L, LocalDate.of(2025, 5, 1)));
+
+        // When: La primera reconstrucción también falla
+        doThrow(new RuntimeException("fallo")).when(statisticsService).rebuildUserStatistics(1L);
+        listener.rebuildDirtyUsers();
+
+        // Then: El usuario sigue marcado
+        assertEquals(1.0, meterRegistry.get("trackup.events.dirty").gauge().value());
+
+        // When: La siguiente reconstrucción funciona
+        doNothing().when(statisticsService).rebuildUserStatistics(1L);
+        listener.rebuildDirtyUsers();
+
+        // Then: Se reconstruyen sus contadores y rachas desde el histórico y deja de estar marcado
+        verify(statisticsService, times(2)).rebuildUserStatistics(1L);
+        verify(streakService).rebuildUserStreaks(1L);
+        assertEquals(0.0, meterRegistry.get("trackup.events.dirty").gauge().value());
+    }
+
+    // ----------------------------
+    // Tests del modo asíncrono
+    // ----------------------------
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAsync_CoalescesBurstOfOneUser() {
+        // Given: Un intervalo de acumulación suficiente para toda la ráfaga
+        listener = newListener(true, Duration.ofMillis(300), 10);
+
+        // When: Se reciben 50 cambios del mismo usuario
+        for (int i = 0; i < 50; i++) {
+            listener.onDailyRecordsChanged(change(1L, 10L, LocalDate.of(2025, 1, 1).plusDays(i)));
+        }
+
+        // Then: Se recalcula una sola vez, con todos los días acumulados
+        verify(statisticsService, timeout(5000)).refreshHabitStatistics(1L, Set.of(10L));
+        verify(streakService, timeout(5000)).refreshStreaks(argThat((Map<Long, ? extends Collection<LocalDate>> datesByHabit) ->
+                datesByHabit.keySet().equals(Set.of(10L)) && datesByHabit.get(10L).size() == 50));
+        verify(statisticsService, times(1)).refreshHabitStatistics(any(), any());
+        assertEquals(50.0, meterRegistry.counter("trackup.events.received").count());
+        assertEquals(49.0, meterRegistry.counter("trackup.events.coalesced").count());
+        assertEquals(1L, meterRegistry.timer("trackup.events.recompute").count());
+    }
+
+    @Test
+    void testAsync_SaturatedRunsInCallerThread() {
+        // Given: Solo cabe un usuario pendiente y ya hay uno esperando
+        listener = newListener(true, Duration.ofMillis(300), 1);
+        listener.onDailyRecordsChanged(change(1L, 10L, LocalDate.of(2025, 5, 1)));
+        assertEquals(1.0, meterRegistry.get("trackup.events.pending").gauge().value());
+
+        // When: Llega un cambio de otro usuario
+        listener.onDailyRecordsChanged(change(2L, 20L, LocalDate.of(2025, 5, 1)));
+
+        // Then: Se recalcula en el hilo que publica, sin esperar al pool
+        verify(statisticsService).refreshHabitStatistics(2L, Set.of(20L));
+        assertEquals(1.0, meterRegistry.counter("trackup.events.saturated").count());
+        verify(statisticsService, timeout(5000)).refreshHabitStatistics(1L, Set.of(10L));
+    }
+
+    @Test
+    void testAsync_VirtualThreads() {
+        // Given: El modo de hilos virtuales
+        listener = new UserAggregatesListener(statisticsService, streakService, transactionManager, meterRegistry,
+                true, 1, Duration.ofMillis(50), 10, true);
+        AtomicBoolean virtual = new AtomicBoolean();
+        doAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return null;
+        }).when(streakService).refreshStreaks(any());
+
+        // When: Se recibe un cambio
+        listener.onDailyRecordsChanged(change(1L, 10L, LocalDate.of(2025, 5, 1)));
+
+        // Then: El recálculo se hace en un hilo virtual
+        verify(streakService, timeout(5000)).refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 1))));
+        assertDoesNotThrow(() -> listener.close()); // Espera a que termine el recálculo
+        assertTrue(virtual.get());
+    }
+
+}
\ No newline at end of file
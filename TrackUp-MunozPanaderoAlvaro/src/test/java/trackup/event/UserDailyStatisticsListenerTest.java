@@ -0,0 +1,67 @@
+package trackup.event;
+
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import trackup.event.DailyRecordsChangedEvent.ChangeType;
+import trackup.services.StatisticsService;
+
+/**
+ * Test unitario para UserDailyStatisticsListener
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class UserDailyStatisticsListenerTest {
+
+    @Mock
+    private StatisticsService statisticsService;
+
+    private UserDailyStatisticsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        listener = new UserDailyStatisticsListener(statisticsService);
+    }
+
+    // ----------------------------
+    // Tests para onDailyRecordsChanged
+    // ----------------------------
+
+    @Test
+    void testOnDailyRecordsChanged_RefreshesChangedDays() {
+        // Given: Un cambio del hábito 10 del usuario 1 en dos días
+        LocalDate first = LocalDate.of(2025, 5, 1);
+        LocalDate second = LocalDate.of(2025, 5, 2);
+
+        // When: Se publica el evento
+        listener.onDailyRecordsChanged(new DailyRecordsChangedEvent(ChangeType.UPDATED, 1L, Map.of(10L, Set.of(first, second))));
+
+        // Then: Se recalculan en el acto solo esos días del usuario
+        verify(statisticsService).refreshUserDailyStatistics(1L, Set.of(first, second));
+        verifyNoMoreInteractions(statisticsService);
+    }
+
+    // ----------------------------
+    // Tests para onHabitDeleted
+    // ----------------------------
+
+    @Test
+    void testOnHabitDeleted_RebuildsDailyCounters() {
+        // When: Se elimina un hábito
+        listener.onHabitDeleted(new HabitDeletedEvent(10L, 1L));
+
+        // Then: Se reconstruyen los contadores diarios del usuario
+        verify(statisticsService).rebuildUserDailyStatistics(1L);
+        verifyNoMoreInteractions(statisticsService);
+    }
+
+}
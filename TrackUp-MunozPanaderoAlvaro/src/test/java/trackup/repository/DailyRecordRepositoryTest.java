@@ -2,26 +2,53 @@ package trackup.repository;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import trackup.dto.response.DailyRecordResponseDTO;
 import trackup.entity.*;
 
+import trackup.repository.projection.HabitCompletedDate;
+import trackup.repository.projection.HabitCount;
+
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.PageRequest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({DailyRecordJdbcRepository.class, HabitCalendarJdbcRepository.class})
 class DailyRecordRepositoryTest {
 
     @Autowired
     private DailyRecordRepository dailyRecordRepository;
     @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private DailyRecordJdbcRepository dailyRecordJdbcRepository;
+    @Autowired
+    private HabitCalendarJdbcRepository habitCalendarJdbcRepository;
+    @Autowired
     private HabitRepository habitRepository;
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private HabitTypeRepository habitTypeRepository;
+    @Autowired
+    private HabitStreakRepository habitStreakRepository;
+    @Autowired
+    private HabitCalendarRepository habitCalendarRepository;
 
     private User makeUser() {
         User u = new User();
@@ -89,4 +116,281 @@ class DailyRecordRepositoryTest {
         assertThat(dailyRecordRepository.findByCompleted(false)).isEmpty();
     }
 
+    private DailyRecord makeRecord(Habit h, LocalDate date, boolean completed) {
+        DailyRecord r = new DailyRecord();
+        r.setDate(date);
+        r.setCompleted(completed);
+        r.setHabit(h);
+        return dailyRecordRepository.saveAndFlush(r);
+    }
+
+    @Test
+    @DisplayName("findResponseDTOsByUserIdAndDateBetween returns only the records in range")
+    void whenFindByUserAndDateBetween() {
+        Habit h = makeHabit();
+        makeRecord(h, LocalDate.of(2025,5,1), true);
+        makeRecord(h, LocalDate.of(2025,5,10), false);
+        makeRecord(h, LocalDate.of(2025,6,1), true);
+
+        List<DailyRecordResponseDTO> found = dailyRecordRepository.findResponseDTOsByUserIdAndDateBetween(
+                h.getUser().getId(), LocalDate.of(2025,5,1), LocalDate.of(2025,5,31));
+
+        assertThat(found).extracting(DailyRecordResponseDTO::getDate)
+                .containsExactly(LocalDate.of(2025,5,1), LocalDate.of(2025,5,10));
+    }
+
+    @Test
+    @DisplayName("findPageAfter walks (date, id) pages without gaps or repeats")
+    void whenFindPageAfter_thenKeysetPages() {
+        Habit h = makeHabit();
+        Habit other = new Habit();
+        other.setName("H2");
+        other.setFrequency("D");
+        other.setStartDate(h.getStartDate());
+        other.setEndDate(h.getEndDate());
+        other.setUser(h.getUser());
+        other.setHabitType(h.getHabitType());
+        habitRepository.saveAndFlush(other);
+        DailyRecord first = makeRecord(h, LocalDate.of(2025,5,1), true);
+        DailyRecord second = makeRecord(other, LocalDate.of(2025,5,1), false);
+        DailyRecord third = makeRecord(h, LocalDate.of(2025,5,2), true);
+        makeRecord(h, LocalDate.of(2025,6,1), true);
+
+        List<DailyRecordResponseDTO> page1 = dailyRecordRepository.findPageAfter(
+                LocalDate.of(2025,5,1), LocalDate.of(2025,5,31), null, h.getUser().getId(), null, null, PageRequest.of(0, 2));
+        DailyRecordResponseDTO last = page1.get(page1.size() - 1);
+        List<DailyRecordResponseDTO> page2 = dailyRecordRepository.findPageAfter(
+                LocalDate.of(2025,5,1), LocalDate.of(2025,5,31), null, h.getUser().getId(), last.getDate(), last.getId(), PageRequest.of(0, 2));
+
+        assertThat(page1).extracting(DailyRecordResponseDTO::getId).containsExactly(first.getId(), second.getId());
+        assertThat(page2).extracting(DailyRecordResponseDTO::getId).containsExactly(third.getId());
+    }
+
+    @Test
+    @DisplayName("streamResponseDTOsByUserId streams the user's records as DTOs ordered by date")
+    void whenStreamResponseDTOsByUserId_thenOrdered() {
+        Habit h = makeHabit();
+        makeRecord(h, LocalDate.of(2025,5,2), true);
+        makeRecord(h, LocalDate.of(2025,5,1), false);
+
+        try (Stream<DailyRecordResponseDTO> records = dailyRecordRepository.streamResponseDTOsByUserId(h.getUser().getId())) {
+            assertThat(records).extracting(DailyRecordResponseDTO::getDate, DailyRecordResponseDTO::getHabitName)
+                    .containsExactly(tuple(LocalDate.of(2025,5,1), "H"), tuple(LocalDate.of(2025,5,2), "H"));
+        }
+    }
+
+    @Test
+    @DisplayName("DailyRecordJdbcRepository.upsert keeps a single row per habit and date")
+    void whenUpsertTwice_thenSingleRowUpdated() {
+        Habit h = makeHabit();
+
+        dailyRecordJdbcRepository.upsert(h.getId(), h.getUser().getId(), LocalDate.of(2025,5,1), false);
+        dailyRecordJdbcRepository.upsert(h.getId(), h.getUser().getId(), LocalDate.of(2025,5,1), true);
+        dailyRecordJdbcRepository.upsertAll(List.of(
+                new DailyRecord(null, LocalDate.of(2025,5,1), false, h),
+                new DailyRecord(null, LocalDate.of(2025,5,2), true, h)));
+
+        assertThat(dailyRecordRepository.count()).isEqualTo(2);
+        assertThat(dailyRecordRepository.findByHabit_IdAndDate(h.getId(), LocalDate.of(2025,5,1)))
+                .hasValueSatisfying(r -> assertThat(r.getCompleted()).isFalse());
+    }
+
+    @Test
+    @DisplayName("DailyRecordJdbcRepository.fillIds reads back only the written (habit, date) keys")
+    void whenFillIds_thenIdsOfWrittenKeys() {
+        Habit h = makeHabit();
+        DailyRecord first = makeRecord(h, LocalDate.of(2025,5,1), true);
+        makeRecord(h, LocalDate.of(2025,5,2), false);
+        DailyRecord third = makeRecord(h, LocalDate.of(2025,5,3), true);
+
+        List<DailyRecord> written = List.of(
+                new DailyRecord(null, LocalDate.of(2025,5,1), true, h),
+                new DailyRecord(null, LocalDate.of(2025,5,3), true, h),
+                new DailyRecord(null, LocalDate.of(2025,5,4), true, h));
+        dailyRecordJdbcRepository.fillIds(written);
+
+        assertThat(written).extracting(DailyRecord::getId).containsExactly(first.getId(), third.getId(), null);
+    }
+
+    @Test
+    @DisplayName("HabitCalendarJdbcRepository.insertIfAbsent creates the calendar once and never overwrites it")
+    void whenInsertCalendarTwice_thenFirstKept() {
+        Habit h = makeHabit();
+
+        habitCalendarJdbcRepository.insertIfAbsent(List.of(
+                new HabitCalendar(h, h.getUser().getId(), LocalDate.of(2025,5,1), new byte[]{1}, new byte[]{1})));
+        habitCalendarJdbcRepository.insertIfAbsent(List.of(
+                new HabitCalendar(h, h.getUser().getId(), LocalDate.of(2025,4,1), new byte[0], new byte[0])));
+
+        List<HabitCalendar> locked = habitCalendarRepository.findAllForUpdateByHabitIdIn(List.of(h.getId()));
+        assertThat(locked).singleElement().satisfies(c -> {
+            assertThat(c.getBaseDate()).isEqualTo(LocalDate.of(2025,5,1));
+            assertThat(c.getRecordedDays()).containsExactly(1);
+        });
+    }
+
+    @Test
+    @DisplayName("DTO list queries issue a single SQL statement regardless of habits and users")
+    void whenListAsDTOs_thenSingleStatement() {
+        Habit h = makeHabit();
+        Habit other = new Habit();
+        other.setName("H2");
+        other.setFrequency("D");
+        other.setStartDate(h.getStartDate());
+        other.setEndDate(h.getEndDate());
+        other.setUser(h.getUser());
+        other.setHabitType(h.getHabitType());
+        habitRepository.saveAndFlush(other);
+        makeRecord(h, LocalDate.of(2025,5,1), true);
+        makeRecord(other, LocalDate.of(2025,5,2), false);
+        entityManager.clear(); // Nada precargado en el contexto de persistencia
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<DailyRecordResponseDTO> all = dailyRecordRepository.findAllResponseDTOs();
+        List<DailyRecordResponseDTO> byUser = dailyRecordRepository.findResponseDTOsByUserIdAndDateBetween(
+                h.getUser().getId(), LocalDate.of(2025,5,1), LocalDate.of(2025,5,31));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // Una sentencia por listado
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(all).extracting(DailyRecordResponseDTO::getHabitName).containsExactly("H", "H2");
+        assertThat(byUser).allMatch(r -> r.getUserId().equals(h.getUser().getId()));
+    }
+
+    @Test
+    @DisplayName("findById loads the habit through the entity graph and leaves its owners lazy")
+    void whenFindById_thenHabitFetchedOwnersLazy() {
+        Habit h = makeHabit();
+        DailyRecord r = makeRecord(h, LocalDate.of(2025,5,1), true);
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        DailyRecord found = dailyRecordRepository.findById(r.getId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(Hibernate.isInitialized(found.getHabit())).isTrue();
+        assertThat(Hibernate.isInitialized(found.getHabit().getUser())).isFalse();
+        assertThat(Hibernate.isInitialized(found.getHabit().getHabitType())).isFalse();
+    }
+
+    @Test
+    @DisplayName("findCompletedDatesByHabitIds devuelve solo los días completados, ordenados; la racha se borra con el hábito")
+    void completedDates_orderedAndStreakCascadesOnHabitDelete() {
+        Habit h = makeHabit();
+        dailyRecordJdbcRepository.upsert(h.getId(), h.getUser().getId(), LocalDate.of(2025, 1, 3), true);
+        dailyRecordJdbcRepository.upsert(h.getId(), h.getUser().getId(), LocalDate.of(2025, 1, 1), true);
+        dailyRecordJdbcRepository.upsert(h.getId(), h.getUser().getId(), LocalDate.of(2025, 1, 2), false);
+
+        List<HabitCompletedDate> dates = dailyRecordRepository.findCompletedDatesByHabitIds(List.of(h.getId()));
+        assertThat(dates).extracting(HabitCompletedDate::getDate)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 3));
+        assertThat(dates).allMatch(d -> d.getHabitId().equals(h.getId()) && d.getUserId().equals(h.getUser().getId()));
+
+        habitStreakRepository.saveAndFlush(new HabitStreak(h, h.getUser().getId(), 1, 1, LocalDate.of(2025, 1, 3)));
+        assertThat(habitStreakRepository.findById(h.getId())).isPresent();
+
+        entityManager.clear();
+        habitRepository.deleteById(h.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(habitStreakRepository.findById(h.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("el calendario de bits se guarda y se lee íntegro, y se borra con el hábito")
+    void habitCalendar_roundTripAndCascadesOnHabitDelete() {
+        Habit h = makeHabit();
+        byte[] recorded = new byte[]{(byte) 0xff, 0x0f};
+        byte[] completed = new byte[]{0x05};
+        habitCalendarRepository.saveAndFlush(new HabitCalendar(h, h.getUser().getId(), LocalDate.of(2025, 1, 1), recorded, completed));
+        entityManager.clear();
+
+        List<HabitCalendar> locked = habitCalendarRepository.findAllForUpdateByHabitIdIn(List.of(h.getId()));
+        assertThat(locked).hasSize(1);
+        assertThat(locked.get(0).getRecordedDays()).containsExactly(recorded);
+        assertThat(locked.get(0).getCompletedDays()).containsExactly(completed);
+
+        entityManager.clear();
+        habitRepository.deleteById(h.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(habitCalendarRepository.findById(h.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("user_id se copia del hábito al insertar y le sigue si el hábito cambia de usuario")
+    void userId_copiedOnInsertAndCascadesOnHabitReassign() {
+        Habit h = makeHabit();
+        dailyRecordRepository.saveAndFlush(new DailyRecord(null, LocalDate.of(2025, 1, 1), true, h));
+        dailyRecordJdbcRepository.upsert(h.getId(), h.getUser().getId(), LocalDate.of(2025, 1, 2), false);
+        entityManager.clear();
+
+        assertThat(dailyRecordRepository.findResponseDTOsByUserId(h.getUser().getId()))
+                .hasSize(2)
+                .allMatch(r -> r.getUserId().equals(h.getUser().getId()));
+
+        User other = new User();
+        other.setUsername("other");
+        other.setEmail("other@example.com");
+        other.setPassword("p");
+        userRepository.saveAndFlush(other);
+
+        Habit reloaded = habitRepository.findById(h.getId()).orElseThrow();
+        reloaded.setUser(other);
+        habitRepository.saveAndFlush(reloaded);
+        entityManager.clear();
+
+        assertThat(dailyRecordRepository.findResponseDTOsByUserId(h.getUser().getId())).isEmpty();
+        assertThat(dailyRecordRepository.findResponseDTOsByUserId(other.getId())).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("los registros antiguos se mueven al archivo, las consultas con archivo los siguen viendo y se borran con el hábito")
+    void archive_movesOldRecordsAndUnionQueriesSeeThem() {
+        Habit h = makeHabit();
+        Long userId = h.getUser().getId();
+        dailyRecordJdbcRepository.upsert(h.getId(), userId, LocalDate.of(2020, 1, 1), true);
+        dailyRecordJdbcRepository.upsert(h.getId(), userId, LocalDate.of(2020, 1, 2), false);
+        dailyRecordJdbcRepository.upsert(h.getId(), userId, LocalDate.of(2025, 1, 1), true);
+
+        assertThat(dailyRecordJdbcRepository.findUserIdsWithRecordsBefore(LocalDate.of(2021, 1, 1))).containsExactly(userId);
+        assertThat(dailyRecordJdbcRepository.archiveUserRecordsBefore(userId, LocalDate.of(2021, 1, 1))).isEqualTo(2);
+        assertThat(dailyRecordJdbcRepository.findUserIdsWithRecordsBefore(LocalDate.of(2021, 1, 1))).isEmpty();
+        entityManager.clear();
+
+        assertThat(dailyRecordRepository.existsArchived()).isTrue();
+        assertThat(dailyRecordRepository.findLatestArchivedDate()).isEqualTo(LocalDate.of(2020, 1, 2));
+        assertThat(dailyRecordRepository.findResponseDTOsByUserId(userId)).hasSize(1);
+        assertThat(dailyRecordRepository.findResponseDTOsByUserIdIncludingArchive(userId))
+                .extracting(DailyRecordResponseDTO::getDate)
+                .containsExactlyInAnyOrder(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 2), LocalDate.of(2025, 1, 1));
+        assertThat(dailyRecordRepository.findResponseDTOsByUserIdAndDateBetweenIncludingArchive(userId,
+                LocalDate.of(2019, 12, 31), LocalDate.of(2025, 1, 1)))
+                .extracting(DailyRecordResponseDTO::getDate)
+                .containsExactly(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 2), LocalDate.of(2025, 1, 1));
+
+        List<HabitCount> counts = dailyRecordRepository.countGroupedByHabit();
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0).getTotal()).isEqualTo(3L);
+        assertThat(counts.get(0).getCompleted()).isEqualTo(2L);
+        assertThat(dailyRecordRepository.findCompletedDatesByHabitIds(List.of(h.getId())))
+                .extracting(HabitCompletedDate::getDate)
+                .containsExactly(LocalDate.of(2020, 1, 1), LocalDate.of(2025, 1, 1));
+
+        Long archivedId = dailyRecordRepository.findResponseDTOsByUserIdIncludingArchive(userId).get(0).getId();
+        assertThat(dailyRecordRepository.findArchivedResponseDTOById(archivedId)).isPresent();
+
+        habitRepository.deleteById(h.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(dailyRecordRepository.existsArchived()).isFalse();
+        assertThat(dailyRecordRepository.findLatestArchivedDate()).isNull();
+    }
+
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.hibernate.Hibernate;
 import trackup.entity.Habit;
 import trackup.entity.User;
 import trackup.entity.HabitType;
@@ -138,4 +139,29 @@ class HabitRepositoryTest {
         assertThat(list).isEmpty();
     }
 
+    @Test
+    @DisplayName("findAllHabitsByUserId carga el tipo de hábito con el grafo y deja el usuario perezoso")
+    void whenFindAllByUserId_thenHabitTypeFetchedAndUserLazy() {
+        User user = createUser();
+        HabitType type = createHabitType();
+
+        Habit h = new Habit();
+        h.setName("Leer");
+        h.setFrequency("Daily");
+        h.setStartDate(LocalDate.now());
+        h.setEndDate(LocalDate.now().plusDays(7));
+        h.setUser(user);
+        h.setHabitType(type);
+        entityManager.persistAndFlush(h);
+        entityManager.clear();
+
+        List<Habit> found = habitRepository.findAllHabitsByUserId(user.getId());
+
+        assertThat(found).singleElement().satisfies(habit -> {
+            assertThat(Hibernate.isInitialized(habit.getHabitType())).isTrue();
+            assertThat(Hibernate.isInitialized(habit.getUser())).isFalse();
+            assertThat(habit.getUser().getId()).isEqualTo(user.getId()); // El ID no inicializa el proxy
+        });
+    }
+
 }
\ No newline at end of file
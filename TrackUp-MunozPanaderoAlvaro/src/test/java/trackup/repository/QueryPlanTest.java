@@ -0,0 +1,230 @@
+package trackup.repository;
+
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import trackup.entity.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de regresión de los planes de ejecución de las consultas más usadas
+ * Captura la SQL que generan los repositorios y comprueba con EXPLAIN (H2) que usa el índice esperado
+ * Si una consulta o una migración deja de usar su índice, el test falla en lugar de volverse lenta en producción
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@DataJpaTest
+@Import(QueryPlanTest.QueryCaptureConfig.class)
+class QueryPlanTest {
+
+    private static final List<QueryInfo> QUERIES = new CopyOnWriteArrayList<>(); // Sentencias ejecutadas por el repositorio
+
+    @Autowired
+    private DailyRecordRepository dailyRecordRepository;
+    @Autowired
+    private HabitRepository habitRepository;
+    @Autowired
+    private GoalRepository goalRepository;
+    @Autowired
+    private UserDailyStatisticsRepository userDailyStatisticsRepository;
+    @Autowired
+    private HabitStreakRepository habitStreakRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private Habit habit;
+
+    /**
+     * Envuelve el DataSource del test para guardar cada sentencia con sus parámetros
+     */
+    @TestConfiguration
+    static class QueryCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor queryCaptureDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource source) || bean instanceof ProxyDataSource) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(source)
+                            .afterQuery((execInfo, queryInfoList) -> QUERIES.addAll(queryInfoList))
+                            .build();
+                }
+            };
+        }
+
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Varios usuarios con sus hábitos, registros y objetivos para que el optimizador tenga donde elegir
+        for (int u = 0; u < 5; u++) {
+            User current = new User();
+            current.setUsername("plan" + u);
+            current.setEmail("plan" + u + "@example.com");
+            current.setPassword("p");
+            entityManager.persist(current);
+
+            HabitType type = new HabitType();
+            type.setName("Tipo " + u);
+            entityManager.persist(type);
+
+            for (int h = 0; h < 3; h++) {
+                Habit currentHabit = new Habit();
+                currentHabit.setName("Hábito " + u + "-" + h);
+                currentHabit.setFrequency("DAILY");
+                currentHabit.setStartDate(LocalDate.of(2025, 1, 1));
+                currentHabit.setEndDate(LocalDate.of(2025, 12, 31));
+                currentHabit.setUser(current);
+                currentHabit.setHabitType(type);
+                entityManager.persist(currentHabit);
+                for (int d = 0; d < 10; d++) {
+                    entityManager.persist(new DailyRecord(null, LocalDate.of(2025, 1, 1).plusDays(d), d % 2 == 0, currentHabit));
+                }
+                habit = currentHabit;
+            }
+
+            entityManager.persist(new Goal(null, "Objetivo " + u, "Descripción", current));
+
+            user = current;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        QUERIES.clear();
+    }
+
+    // ----------------------------
+    // Tests de los planes de ejecución
+    // ----------------------------
+
+    @Test
+    void testDailyRecordsByUserAndDateRange_UsesUserDateIndex() throws Exception {
+        // When: Se piden los registros de un usuario entre dos fechas
+        dailyRecordRepository.findResponseDTOsByUserIdAndDateBetween(user.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        // Then: Se recorre un rango del índice (usuario, fecha) de daily_record y cada hábito se busca por su clave
+        String plan = explainLastQuery();
+        assertThat(plan).contains("IX_DAILY_RECORD_USER_DATE");
+        assertNoTableScan(plan, "HABIT");
+    }
+
+    @Test
+    void testDailyRecordByHabitAndDate_UsesHabitDateIndex() throws Exception {
+        // When: Se busca el registro de un hábito en un día concreto
+        dailyRecordRepository.findByHabit_IdAndDate(habit.getId(), LocalDate.of(2025, 1, 5));
+
+        // Then: Se usa la clave única (hábito, fecha)
+        assertThat(explainLastQuery()).contains("UK_DAILY_RECORD_HABIT_DATE");
+    }
+
+    @Test
+    void testHabitsByUser_UsesIndex() throws Exception {
+        // When: Se piden los hábitos de un usuario
+        habitRepository.findAllHabitsByUserId(user.getId());
+
+        // Then: Los hábitos se buscan por user_id sin recorrer la tabla
+        assertNoTableScan(explainLastQuery(), "HABIT");
+    }
+
+    @Test
+    void testGoalByNameAndUser_UsesIndex() throws Exception {
+        // When: Se comprueba si el usuario ya tiene un objetivo con ese nombre
+        goalRepository.findGoalByNameAndUserId("Objetivo 4", user.getId());
+
+        // Then: La búsqueda va por índice
+        assertNoTableScan(explainLastQuery(), "GOAL");
+    }
+
+    @Test
+    void testGoalsByUser_UsesIndex() throws Exception {
+        // When: Se piden los objetivos de un usuario
+        goalRepository.findAllGoalsByUserId(user.getId());
+
+        // Then: Los objetivos se buscan por user_id sin recorrer la tabla
+        assertNoTableScan(explainLastQuery(), "GOAL");
+    }
+
+    @Test
+    void testUserDailyStatisticsRange_UsesUserDateIndex() throws Exception {
+        // When: Se leen los contadores diarios de un usuario en un rango (mapa de calor)
+        userDailyStatisticsRepository.findByUserIdAndDateBetweenOrderByDateAsc(user.getId(), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        // Then: Se usa la clave única (usuario, fecha)
+        assertThat(explainLastQuery()).contains("UK_USER_DAILY_STATISTICS_USER_DATE");
+    }
+
+    @Test
+    void testStreaksByUser_UsesUserIndex() throws Exception {
+        // When: Se piden las rachas de un usuario
+        habitStreakRepository.findAllByUserId(user.getId());
+
+        // Then: Se usa el índice por usuario
+        assertThat(explainLastQuery()).contains("IX_HABIT_STREAK_USER");
+    }
+
+    /**
+     * Comprueba que el plan no recorre entera una tabla
+     *
+     * @param plan Plan de ejecución
+     * @param table Nombre de la tabla en mayúsculas
+     */
+    private void assertNoTableScan(String plan, String table) {
+        assertThat(plan).doesNotContain("PUBLIC." + table + ".TABLESCAN");
+    }
+
+    /**
+     * Ejecuta EXPLAIN sobre la última sentencia capturada, con los mismos parámetros
+     *
+     * @return Plan de ejecución en mayúsculas
+     */
+    private String explainLastQuery() throws Exception {
+        assertThat(QUERIES).isNotEmpty();
+        QueryInfo query = QUERIES.get(QUERIES.size() - 1);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+            if (!query.getParametersList().isEmpty()) {
+                for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                    Object[] args = operation.getArgs();
+                    if ("setNull".equals(operation.getMethod().getName())) {
+                        statement.setNull((Integer) args[0], (Integer) args[1]);
+                    } else {
+                        statement.setObject((Integer) args[0], args[1]);
+                    }
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1).toUpperCase();
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+}
\ No newline at end of file
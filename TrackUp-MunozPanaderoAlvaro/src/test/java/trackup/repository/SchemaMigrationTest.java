@@ -0,0 +1,102 @@
+package trackup.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test de las migraciones de Flyway sobre una base de datos anterior a ellas
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+class SchemaMigrationTest {
+
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:migration_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, "sa", "");
+    }
+
+    private MigrateResult migrateFromBaseline() {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private boolean tableExists(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, table.toUpperCase(), null)) {
+            return tables.next();
+        }
+    }
+
+    @Test
+    @DisplayName("a database created before the migrations is baselined at V1 and receives every later table")
+    void baselinedDatabase_receivesSeriesSchema() throws SQLException {
+        // Esquema que dejaba 'ddl-auto=update', sin historial de Flyway
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/V1__baseline_schema.sql'");
+        }
+
+        MigrateResult result = migrateFromBaseline();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrations).extracting(migration -> migration.version).doesNotContain("1");
+        try (Connection connection = connect()) {
+            for (String table : new String[]{"user_daily_statistics", "habit_statistics", "habit_streak", "habit_calendar", "daily_record_archive"}) {
+                assertThat(tableExists(connection, table)).as(table).isTrue();
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet constraints = statement.executeQuery("select count(*) from information_schema.table_constraints " +
+                         "where constraint_name = 'UK_DAILY_RECORD_HABIT_DATE'")) {
+                constraints.next();
+                assertThat(constraints.getInt(1)).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("duplicate (habit, date) records are merged into the oldest one before the unique key is added")
+    void baselinedDatabase_mergesDuplicateDailyRecords() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/V1__baseline_schema.sql'");
+            statement.execute("insert into users (id, username, email, password) values (1, 'u', 'u@example.com', 'p')");
+            statement.execute("insert into habit_type (id, name) values (1, 'Tipo')");
+            statement.execute("insert into habit (id, name, frequency, start_date, end_date, user_id, habit_type_id) " +
+                    "values (1, 'H', 'D', DATE '2025-01-01', DATE '2025-12-31', 1, 1)");
+            statement.execute("insert into daily_record (id, date, completed, habit_id) values " +
+                    "(1, DATE '2025-05-01', FALSE, 1), (2, DATE '2025-05-01', TRUE, 1), (3, DATE '2025-05-01', FALSE, 1), " +
+                    "(4, DATE '2025-05-02', FALSE, 1), (5, DATE '2025-05-02', FALSE, 1), (6, DATE '2025-05-03', TRUE, 1)");
+        }
+
+        assertThat(migrateFromBaseline().success).isTrue();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet records = statement.executeQuery("select id, completed from daily_record order by id")) {
+            StringBuilder rows = new StringBuilder();
+            while (records.next()) {
+                rows.append(records.getLong(1)).append(':').append(records.getBoolean(2)).append(' ');
+            }
+            assertThat(rows.toString().trim()).isEqualTo("1:true 4:false 6:true");
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package trackup.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test de la clase BoundedPasswordEncoder
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    // ----------------------------
+    // Tests para encode y matches
+    // ----------------------------
+
+    @Test
+    void testEncodeAndMatches_DelegatesToEncoder() {
+        // Given: Un codificador BCrypt acotado
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+
+        // When: Se codifica una contraseña
+        String hash = encoder.encode("secret");
+
+        // Then: El hash es de BCrypt y valida la contraseña correcta
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("otra", hash));
+    }
+
+    @Test
+    void testEncode_PoolSaturated_Rejected() throws Exception {
+        // Given: Un pool de un hilo sin cola ocupado por un hash bloqueado
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, Duration.ofSeconds(30));
+
+        ExecutorService caller = Executors.newFixedThreadPool(2);
+        try {
+            caller.submit(() -> encoder.encode("primera"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            caller.submit(() -> encoder.encode("en-cola")); // Ocupa el único hueco de la cola
+            Thread.sleep(100);
+
+            // When / Then: Un hash más se rechaza en lugar de esperar
+            assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("rechazada"));
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package trackup.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.Optional;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test de la clase JwtUtil
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+    }
+
+    // ----------------------------
+    // Tests para validateToken
+    // ----------------------------
+
+    @Test
+    void testValidateToken_ValidToken() {
+        // Given: Un token generado por la aplicación
+        String token = jwtUtil.generateToken("john");
+
+        // When: Se valida el token
+        Optional<Claims> claims = jwtUtil.validateToken(token);
+
+        // Then: Se devuelven sus claims
+        assertTrue(claims.isPresent());
+        assertEquals("john", claims.get().getSubject());
+        assertEquals("john", jwtUtil.extractUsername(token));
+        assertTrue(jwtUtil.isTokenValid(token));
+    }
+
+    @Test
+    void testValidateToken_RepeatedTokenUsesCache() {
+        // Given: Un token ya validado
+        String token = jwtUtil.generateToken("john");
+        Claims first = jwtUtil.validateToken(token).orElseThrow();
+
+        // When: Se vuelve a validar el mismo token
+        Claims second = jwtUtil.validateToken(token).orElseThrow();
+
+        // Then: Se reutilizan los claims verificados en lugar de volver a parsear el token
+        assertSame(first, second);
+    }
+
+    @Test
+    void testValidateToken_TamperedToken() {
+        // Given: Un token con la firma alterada
+        String token = jwtUtil.generateToken("john");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When / Then: El token no es válido
+        assertTrue(jwtUtil.validateToken(tampered).isEmpty());
+        assertNull(jwtUtil.extractUsername(tampered));
+    }
+
+    @Test
+    void testValidateToken_ForeignKey() {
+        // Given: Un token firmado con otra clave
+        String token = Jwts.builder()
+                .setSubject("john")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("otra_clave_secreta_distinta_1234567890".getBytes()))
+                .compact();
+
+        // When / Then: El token no es válido
+        assertFalse(jwtUtil.isTokenValid(token));
+    }
+
+    private String tokenExpiredSecondsAgo(long seconds) {
+        return Jwts.builder()
+                .setSubject("john")
+                .setExpiration(new Date(System.currentTimeMillis() - seconds * 1000))
+                .signWith(Keys.hmacShaKeyFor("mi_clave_super_secreta_1234567890123456".getBytes()))
+                .compact();
+    }
+
+    @Test
+    void testValidateToken_ExpiredWithinClockSkew() {
+        // Given: Un token expirado hace 30 segundos, dentro del margen de desfase de reloj
+        String token = tokenExpiredSecondsAgo(30);
+
+        // When / Then: El token sigue siendo válido, también al leerlo de la caché
+        assertTrue(jwtUtil.isTokenValid(token));
+        assertTrue(jwtUtil.isTokenValid(token));
+    }
+
+    @Test
+    void testValidateToken_ExpiredBeyondClockSkew() {
+        // Given: Un token expirado hace dos minutos
+        String token = tokenExpiredSecondsAgo(120);
+
+        // When / Then: El token no es válido
+        assertTrue(jwtUtil.validateToken(token).isEmpty());
+    }
+
+    @Test
+    void testValidateToken_NullOrBlank() {
+        // When / Then: Los tokens vacíos no son válidos
+        assertTrue(jwtUtil.validateToken(null).isEmpty());
+        assertTrue(jwtUtil.validateToken("  ").isEmpty());
+        assertFalse(jwtUtil.isTokenValid("no-es-un-jwt"));
+    }
+
+}
\ No newline at end of file
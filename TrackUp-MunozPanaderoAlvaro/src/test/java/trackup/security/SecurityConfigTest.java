@@ -0,0 +1,143 @@
+package trackup.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import trackup.entity.User;
+import trackup.repository.UserRepository;
+
+/**
+ * Test de las cadenas de seguridad de la API y de las vistas web
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // ----------------------------
+    // Tests para la cadena de la API
+    // ----------------------------
+
+    @Test
+    void testApi_WithoutToken_Unauthorized() throws Exception {
+        // When / Then: Sin token la API responde 401 en lugar de redirigir al login y no crea sesión
+        MvcResult result = mockMvc.perform(get("/api/habit-types/habit-types"))
+                .andExpect(status().isUnauthorized())
+                .andReturn();
+
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void testApi_WithToken_Stateless() throws Exception {
+        // Given: Un usuario existente y un token suyo
+        User user = new User();
+        user.setUsername("api-user");
+        user.setEmail("api-user@example.com");
+        user.setPassword("secret");
+        userRepository.save(user);
+        String token = jwtUtil.generateToken("api-user");
+
+        // When: Se llama a la API con el token
+        MvcResult result = mockMvc.perform(get("/api/habit-types/habit-types")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn();
+
+        // Then: La petición se autentica sin crear sesión HTTP
+        assertTrue(result.getResponse().getStatus() < 400);
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    void testApi_TokenOfMissingUser_Unauthorized() throws Exception {
+        // Given: Un token válido de un usuario que no existe
+        String token = jwtUtil.generateToken("ghost");
+
+        // When / Then: La petición no se autentica
+        mockMvc.perform(get("/api/habit-types/habit-types")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    // ----------------------------
+    // Tests para las contraseñas
+    // ----------------------------
+
+    @Test
+    void testLogin_LegacyPlaintextPassword_IsRehashed() throws Exception {
+        // Given: Un usuario con la contraseña antigua en texto plano
+        User user = new User();
+        user.setUsername("legacy-user");
+        user.setEmail("legacy-user@example.com");
+        user.setPassword("secret");
+        userRepository.save(user);
+
+        // When: El usuario inicia sesión
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"legacy-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk());
+
+        // Then: La contraseña queda guardada con BCrypt
+        String stored = userRepository.findByUsername("legacy-user").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}"));
+
+        // And: Se puede volver a iniciar sesión con ella
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"legacy-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testLogin_WrongPassword_Unauthorized() throws Exception {
+        // Given: Un usuario con la contraseña antigua en texto plano
+        User user = new User();
+        user.setUsername("legacy-user-2");
+        user.setEmail("legacy-user-2@example.com");
+        user.setPassword("secret");
+        userRepository.save(user);
+
+        // When / Then: Una contraseña incorrecta no inicia sesión ni cambia la contraseña guardada
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"legacy-user-2\",\"password\":\"otra\"}"))
+                .andExpect(status().isUnauthorized());
+        assertEquals("secret", userRepository.findByUsername("legacy-user-2").orElseThrow().getPassword());
+    }
+
+    // ----------------------------
+    // Tests para la cadena web
+    // ----------------------------
+
+    @Test
+    void testWeb_WithoutSession_RedirectsToLogin() throws Exception {
+        // When / Then: Las vistas siguen usando el formulario de login
+        mockMvc.perform(get("/habits"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+}
\ No newline at end of file
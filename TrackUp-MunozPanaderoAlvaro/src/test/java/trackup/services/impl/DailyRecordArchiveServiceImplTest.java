@@ -0,0 +1,147 @@
+package trackup.services.impl;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import trackup.repository.DailyRecordJdbcRepository;
+import trackup.repository.DailyRecordRepository;
+
+/**
+ * Test de la clase DailyRecordArchiveServiceImpl
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class DailyRecordArchiveServiceImplTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+    private static final LocalDate HORIZON = LocalDate.of(2023, 6, 15);
+
+    @Mock
+    private DailyRecordRepository dailyRecordRepository;
+
+    @Mock
+    private DailyRecordJdbcRepository dailyRecordJdbcRepository;
+
+    private DailyRecordArchiveServiceImpl dailyRecordArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        dailyRecordArchiveService = new DailyRecordArchiveServiceImpl(dailyRecordRepository, dailyRecordJdbcRepository, Period.ofYears(2), true);
+    }
+
+    // ----------------------------
+    // Tests para includesArchive
+    // ----------------------------
+
+    @Test
+    void testIncludesArchive_EmptyArchive() {
+        // Given: El archivo no tiene registros
+        when(dailyRecordRepository.existsArchived()).thenReturn(false);
+        dailyRecordArchiveService.refreshArchiveInUse();
+
+        // When / Then: Ninguna consulta llega al archivo, ni siquiera la del historial completo
+        assertFalse(dailyRecordArchiveService.includesArchive(null, TODAY));
+        assertFalse(dailyRecordArchiveService.includesArchive(LocalDate.of(2000, 1, 1), TODAY));
+    }
+
+    @Test
+    void testIncludesArchive_ArchiveInUse() {
+        // Given: El archivo tiene registros
+        when(dailyRecordRepository.existsArchived()).thenReturn(true);
+        dailyRecordArchiveService.refreshArchiveInUse();
+
+        // When / Then: Solo los intervalos que empiezan antes del horizonte (o sin inicio) leen el archivo
+        assertTrue(dailyRecordArchiveService.includesArchive(null, TODAY));
+        assertTrue(dailyRecordArchiveService.includesArchive(HORIZON.minusDays(1), TODAY));
+        assertFalse(dailyRecordArchiveService.includesArchive(HORIZON, TODAY));
+    }
+
+    // ----------------------------
+    // Tests para checkWritable
+    // ----------------------------
+
+    @Test
+    void testCheckWritable_ArchivingEnabled() {
+        // When / Then: Las fechas desde el horizonte se pueden escribir y las anteriores no
+        assertDoesNotThrow(() -> dailyRecordArchiveService.checkWritable(HORIZON, TODAY));
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> dailyRecordArchiveService.checkWritable(HORIZON.minusDays(1), TODAY)
+        );
+        assertEquals("Los registros anteriores a 2023-06-15 están archivados y no se pueden modificar", exception.getMessage());
+    }
+
+    @Test
+    void testCheckWritable_ArchivingDisabledAndEmptyArchive() {
+        // Given: Archivado desactivado y archivo vacío
+        DailyRecordArchiveServiceImpl disabled = new DailyRecordArchiveServiceImpl(dailyRecordRepository, dailyRecordJdbcRepository, Period.ofYears(2), false);
+        when(dailyRecordRepository.existsArchived()).thenReturn(false);
+        disabled.refreshArchiveInUse();
+
+        // When / Then: Cualquier fecha se puede escribir, también las anteriores al horizonte
+        assertDoesNotThrow(() -> disabled.checkWritable(LocalDate.of(2000, 1, 1), TODAY));
+    }
+
+    @Test
+    void testCheckWritable_ArchivingDisabledProtectsArchivedDates() {
+        // Given: Archivado desactivado con registros archivados hasta el 31/12/2020
+        DailyRecordArchiveServiceImpl disabled = new DailyRecordArchiveServiceImpl(dailyRecordRepository, dailyRecordJdbcRepository, Period.ofYears(2), false);
+        when(dailyRecordRepository.existsArchived()).thenReturn(true);
+        when(dailyRecordRepository.findLatestArchivedDate()).thenReturn(LocalDate.of(2020, 12, 31));
+        disabled.refreshArchiveInUse();
+
+        // When / Then: Solo las fechas archivadas quedan protegidas
+        assertDoesNotThrow(() -> disabled.checkWritable(LocalDate.of(2021, 1, 1), TODAY));
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> disabled.checkWritable(LocalDate.of(2020, 12, 31), TODAY)
+        );
+        assertEquals("Los registros anteriores a 2021-01-01 están archivados y no se pueden modificar", exception.getMessage());
+    }
+
+    // ----------------------------
+    // Tests para archiveOldRecords
+    // ----------------------------
+
+    @Test
+    void testArchiveOldRecords_MovesPerUser() {
+        // Given: Dos usuarios con registros anteriores al horizonte
+        when(dailyRecordJdbcRepository.findUserIdsWithRecordsBefore(HORIZON)).thenReturn(List.of(1L, 2L));
+        when(dailyRecordJdbcRepository.archiveUserRecordsBefore(1L, HORIZON)).thenReturn(3);
+        when(dailyRecordJdbcRepository.archiveUserRecordsBefore(2L, HORIZON)).thenReturn(4);
+
+        // When: Se archivan los registros antiguos
+        int archived = dailyRecordArchiveService.archiveOldRecords(TODAY);
+
+        // Then: Se mueven usuario a usuario y desde ese momento las consultas antiguas leen el archivo
+        assertEquals(7, archived);
+        verify(dailyRecordJdbcRepository).archiveUserRecordsBefore(1L, HORIZON);
+        verify(dailyRecordJdbcRepository).archiveUserRecordsBefore(2L, HORIZON);
+        assertTrue(dailyRecordArchiveService.includesArchive(null, TODAY));
+    }
+
+    @Test
+    void testArchiveOldRecords_NothingToArchive() {
+        // Given: Ningún usuario tiene registros anteriores al horizonte
+        when(dailyRecordJdbcRepository.findUserIdsWithRecordsBefore(HORIZON)).thenReturn(List.of());
+
+        // When: Se archivan los registros antiguos
+        int archived = dailyRecordArchiveService.archiveOldRecords(TODAY);
+
+        // Then: No se mueve nada y el archivo sigue sin consultarse
+        assertEquals(0, archived);
+        verify(dailyRecordJdbcRepository, never()).archiveUserRecordsBefore(any(), any());
+        assertFalse(dailyRecordArchiveService.includesArchive(null, TODAY));
+    }
+
+}
\ No newline at end of file
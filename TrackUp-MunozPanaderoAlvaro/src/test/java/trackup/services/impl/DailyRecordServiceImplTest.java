@@ -7,18 +7,29 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
 import trackup.dto.request.DailyRecordRequestDTO;
+import trackup.dto.response.DailyRecordBulkResponseDTO;
+import trackup.dto.response.DailyRecordPageResponseDTO;
 import trackup.dto.response.DailyRecordResponseDTO;
 import trackup.entity.DailyRecord;
 import trackup.entity.Habit;
+import trackup.entity.User;
+import trackup.event.DailyRecordsChangedEvent;
+import trackup.event.DailyRecordsChangedEvent.ChangeType;
+import trackup.repository.DailyRecordJdbcRepository;
 import trackup.repository.DailyRecordRepository;
+import trackup.services.DailyRecordArchiveService;
+import trackup.services.HabitCalendarService;
 
 /**
  * Test de la clase DailyRecordServiceImpl
@@ -30,15 +41,28 @@ public class DailyRecordServiceImplTest {
     @Mock
     private DailyRecordRepository dailyRecordRepository;
 
+    @Mock
+    private DailyRecordJdbcRepository dailyRecordJdbcRepository;
+
     @Mock
     private HabitServiceImpl habitService;
 
+    @Mock
+    private HabitCalendarService habitCalendarService;
+
+    @Mock
+    private DailyRecordArchiveService dailyRecordArchiveService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DailyRecordServiceImpl dailyRecordService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(dailyRecordArchiveService.getHorizon(any())).thenReturn(LocalDate.MIN); // Sin registros archivados
     }
 
     // ----------------------------
@@ -84,6 +108,22 @@ public class DailyRecordServiceImplTest {
         verify(dailyRecordRepository).findById(1L);
     }
 
+    @Test
+    void testFindDailyRecordById_Archived() {
+        // Given: El registro ya no está en la tabla principal pero sí en el archivo
+        DailyRecordResponseDTO archived = new DailyRecordResponseDTO(1L, LocalDate.of(2020, 1, 1), true, 1L, 1L, "Exercise");
+        when(dailyRecordRepository.findById(1L)).thenReturn(Optional.empty());
+        when(dailyRecordArchiveService.includesArchive(isNull(), any())).thenReturn(true);
+        when(dailyRecordRepository.findArchivedResponseDTOById(1L)).thenReturn(Optional.of(archived));
+
+        // When: Se busca el registro por ID
+        Optional<DailyRecordResponseDTO> result = dailyRecordService.findDailyRecordById(1L);
+
+        // Then: Se devuelve el registro archivado
+        assertTrue(result.isPresent());
+        assertEquals(LocalDate.of(2020, 1, 1), result.get().getDate());
+    }
+
     // ----------------------------
     // Tests para findDailyRecordByCompleted
     // ----------------------------
@@ -136,9 +176,12 @@ public class DailyRecordServiceImplTest {
                 LocalDate.now(), true, 1L, 1L
         );
 
+        User user = new User();
+        user.setId(1L);
         Habit habit = new Habit();
         habit.setId(1L);
         habit.setName("Exercise");
+        habit.setUser(user);
 
         when(habitService.findHabitEntityById(1L)).thenReturn(Optional.of(habit));
 
@@ -148,17 +191,19 @@ public class DailyRecordServiceImplTest {
         savedDailyRecord.setCompleted(true);
         savedDailyRecord.setHabit(habit); // ✅ Asigna el Hábito al registro
 
-        when(dailyRecordRepository.save(any(DailyRecord.class))).thenReturn(savedDailyRecord);
+        when(dailyRecordRepository.findByHabit_IdAndDate(1L, LocalDate.now())).thenReturn(Optional.of(savedDailyRecord));
 
         // When: Se crea el registro diario
         DailyRecordResponseDTO result = dailyRecordService.createDailyRecord(requestDTO);
 
-        // Then: El servicio devuelve el DTO y se verifican las llamadas al repositorio
+        // Then: Se escribe con un upsert (una sola sentencia) y se publica el cambio para recalcular sus agregados
         assertEquals(LocalDate.now(), result.getDate());
         assertTrue(result.getCompleted());
         assertEquals(1L, result.getHabitId());
         verify(habitService).findHabitEntityById(1L);
-        verify(dailyRecordRepository).save(any(DailyRecord.class));
+        verify(dailyRecordJdbcRepository).upsert(1L, 1L, LocalDate.now(), true);
+        verify(dailyRecordRepository, never()).save(any(DailyRecord.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> isChange(event, ChangeType.CREATED, 1L, Set.of(LocalDate.now()))));
     }
 
     @Test
@@ -175,10 +220,29 @@ public class DailyRecordServiceImplTest {
                 () -> dailyRecordService.createDailyRecord(requestDTO)
         );
 
-        // Then: Se lanza la excepción correcta y no se llama al save
+        // Then: Se lanza la excepción correcta y no se escribe nada
         assertEquals("Habit not found with id: 1", exception.getMessage());
         verify(habitService).findHabitEntityById(1L);
-        verify(dailyRecordRepository, never()).save(any(DailyRecord.class));
+        verify(dailyRecordJdbcRepository, never()).upsert(any(), any(), any(), any());
+    }
+
+    @Test
+    void testCreateDailyRecord_ArchivedDate() {
+        // Given: Una fecha anterior al horizonte de archivo
+        LocalDate oldDate = LocalDate.of(2020, 1, 1);
+        DailyRecordRequestDTO requestDTO = new DailyRecordRequestDTO(oldDate, true, 1L, 1L);
+        User user = new User();
+        user.setId(1L);
+        Habit habit = new Habit();
+        habit.setId(1L);
+        habit.setUser(user);
+        when(habitService.findHabitEntityById(1L)).thenReturn(Optional.of(habit));
+        doThrow(new IllegalArgumentException("Los registros anteriores a 2021-01-01 están archivados y no se pueden modificar"))
+                .when(dailyRecordArchiveService).checkWritable(eq(oldDate), any());
+
+        // When / Then: Se rechaza sin escribir nada
+        assertThrows(IllegalArgumentException.class, () -> dailyRecordService.createDailyRecord(requestDTO));
+        verify(dailyRecordJdbcRepository, never()).upsert(any(), any(), any(), any());
     }
 
     // ----------------------------
@@ -213,6 +277,25 @@ public class DailyRecordServiceImplTest {
         assertEquals(1L, result.getHabitId());
         verify(dailyRecordRepository).findById(1L);
         verify(dailyRecordRepository).save(existingDailyRecord);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> isChange(event, ChangeType.UPDATED, 1L,
+                Set.of(LocalDate.now(), LocalDate.now().plusDays(1))))); // Se recalculan la fecha anterior y la nueva
+    }
+
+    @Test
+    void testUpdateDailyRecord_SameHabitAndDateExists() {
+        // Given: Otro registro del mismo hábito ya ocupa la fecha de destino
+        Habit habit = new Habit();
+        habit.setId(1L);
+        DailyRecord dailyRecord = new DailyRecord(1L, LocalDate.of(2025, 5, 1), true, habit);
+        DailyRecord other = new DailyRecord(2L, LocalDate.of(2025, 5, 2), false, habit);
+
+        when(dailyRecordRepository.findById(1L)).thenReturn(Optional.of(dailyRecord));
+        when(dailyRecordRepository.findByHabit_IdAndDate(1L, LocalDate.of(2025, 5, 2))).thenReturn(Optional.of(other));
+
+        // When & Then: Se rechaza la modificación y no se guarda nada
+        assertThrows(IllegalArgumentException.class, () -> dailyRecordService.updateDailyRecord(1L,
+                new DailyRecordRequestDTO(LocalDate.of(2025, 5, 2), true, 1L, 1L)));
+        verify(dailyRecordRepository, never()).save(any(DailyRecord.class));
     }
 
     @Test
@@ -281,30 +364,125 @@ public class DailyRecordServiceImplTest {
 
     @Test
     void testGetAllDailyRecords_DailyRecordsExist() {
-        // Given: Dos registros diarios existentes con hábitos válidos
-        Habit habit = new Habit();
-        habit.setId(1L);
-
-        DailyRecord dailyRecord1 = new DailyRecord();
-        dailyRecord1.setId(1L);
-        dailyRecord1.setDate(LocalDate.now());
-        dailyRecord1.setHabit(habit); // ✅ Asigna el Hábito al registro
+        // Given: Dos registros diarios existentes, proyectados directamente a DTO por el repositorio
+        DailyRecordResponseDTO dailyRecord1 = new DailyRecordResponseDTO(1L, LocalDate.now(), true, 1L, 1L, "Exercise");
+        DailyRecordResponseDTO dailyRecord2 = new DailyRecordResponseDTO(2L, LocalDate.now().plusDays(1), false, 1L, 1L, "Exercise");
 
-        DailyRecord dailyRecord2 = new DailyRecord();
-        dailyRecord2.setId(2L);
-        dailyRecord2.setDate(LocalDate.now().plusDays(1));
-        dailyRecord2.setHabit(habit); // ✅ Asigna el Hábito al registro
-
-        when(dailyRecordRepository.findAll()).thenReturn(Arrays.asList(dailyRecord1, dailyRecord2));
+        when(dailyRecordRepository.findAllResponseDTOs()).thenReturn(Arrays.asList(dailyRecord1, dailyRecord2));
 
         // When: Se obtienen todos los registros diarios
         List<DailyRecordResponseDTO> result = dailyRecordService.getAllDailyRecords();
 
-        // Then: Se devuelven los DTOs correctamente mapeados
+        // Then: Se devuelven los DTOs sin cargar entidades
         assertEquals(2, result.size());
         assertEquals(LocalDate.now(), result.get(0).getDate());
         assertEquals(LocalDate.now().plusDays(1), result.get(1).getDate());
-        verify(dailyRecordRepository).findAll();
+        verify(dailyRecordRepository).findAllResponseDTOs();
+        verify(dailyRecordRepository, never()).findAll();
+    }
+
+    // ----------------------------
+    // Tests para createDailyRecords
+    // ----------------------------
+
+    @Test
+    void testCreateDailyRecords_PartialSuccess() {
+        // Given: Un elemento válido, uno con un hábito inexistente y uno incompleto
+        User user = new User();
+        user.setId(1L);
+        Habit habit = new Habit();
+        habit.setId(1L);
+        habit.setUser(user);
+
+        List<DailyRecordRequestDTO> requests = Arrays.asList(
+                new DailyRecordRequestDTO(LocalDate.of(2025, 5, 1), true, 1L, 1L),
+                new DailyRecordRequestDTO(LocalDate.of(2025, 5, 1), true, 99L, 1L),
+                new DailyRecordRequestDTO(null, true, 1L, 1L)
+        );
+        when(habitService.findHabitEntitiesByIds(anyCollection())).thenReturn(List.of(habit));
+        doAnswer(invocation -> { // Se asigna el ID de la fila guardada solo a la clave escrita
+            List<DailyRecord> written = invocation.getArgument(0);
+            written.get(0).setId(50L);
+            return null;
+        }).when(dailyRecordJdbcRepository).fillIds(argThat(list -> list.size() == 1));
+
+        // When: Se crean los registros en bloque
+        DailyRecordBulkResponseDTO result = dailyRecordService.createDailyRecords(requests);
+
+        // Then: Solo se escribe el válido y se informa de cada elemento en orden
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getResults().get(0).isSuccess());
+        assertEquals(50L, result.getResults().get(0).getId());
+        assertFalse(result.getResults().get(1).isSuccess());
+        assertFalse(result.getResults().get(2).isSuccess());
+        verify(habitService, times(1)).findHabitEntitiesByIds(anyCollection());
+        verify(dailyRecordJdbcRepository).upsertAll(argThat(list -> list.size() == 1));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> isChange(event, ChangeType.CREATED, 1L, Set.of(LocalDate.of(2025, 5, 1)))));
+    }
+
+    @Test
+    void testCreateDailyRecords_ArchivedDateFailsItem() {
+        // Given: Un elemento con una fecha ya archivada
+        User user = new User();
+        user.setId(1L);
+        Habit habit = new Habit();
+        habit.setId(1L);
+        habit.setUser(user);
+        LocalDate oldDate = LocalDate.of(2020, 1, 1);
+
+        when(habitService.findHabitEntitiesByIds(anyCollection())).thenReturn(List.of(habit));
+        doThrow(new IllegalArgumentException("Los registros anteriores a 2021-01-01 están archivados y no se pueden modificar"))
+                .when(dailyRecordArchiveService).checkWritable(eq(oldDate), any());
+
+        // When: Se crean los registros en bloque
+        DailyRecordBulkResponseDTO result = dailyRecordService.createDailyRecords(
+                List.of(new DailyRecordRequestDTO(oldDate, true, 1L, 1L)));
+
+        // Then: El elemento falla con el mismo mensaje que el alta individual y no se escribe nada
+        assertEquals(0, result.getCreated());
+        assertEquals("Los registros anteriores a 2021-01-01 están archivados y no se pueden modificar",
+                result.getResults().get(0).getError());
+        verify(dailyRecordJdbcRepository, never()).upsertAll(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    // ----------------------------
+    // Tests para getDailyRecordsPage
+    // ----------------------------
+
+    @Test
+    void testGetDailyRecordsPage_HasNext() {
+        // Given: El repositorio devuelve un registro más que el tamaño de página
+        DailyRecordResponseDTO r1 = new DailyRecordResponseDTO(1L, LocalDate.of(2025, 5, 1), true, 1L, 1L, "Exercise");
+        DailyRecordResponseDTO r2 = new DailyRecordResponseDTO(2L, LocalDate.of(2025, 5, 2), false, 1L, 1L, "Exercise");
+        when(dailyRecordRepository.findPageAfter(isNull(), isNull(), isNull(), eq(1L), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(r1, r2));
+
+        // When: Se pide la primera página con tamaño 1
+        DailyRecordPageResponseDTO page = dailyRecordService.getDailyRecordsPage(null, null, null, 1L, null, 1);
+
+        // Then: Se devuelve un registro y un cursor que apunta a él
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertNotNull(page.getNextCursor());
+
+        // When: Se pide la siguiente página con el cursor recibido
+        when(dailyRecordRepository.findPageAfter(isNull(), isNull(), isNull(), eq(1L), eq(LocalDate.of(2025, 5, 1)), eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(r2));
+        DailyRecordPageResponseDTO next = dailyRecordService.getDailyRecordsPage(null, null, null, 1L, page.getNextCursor(), 1);
+
+        // Then: La última página no tiene cursor
+        assertEquals(2L, next.getItems().get(0).getId());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetDailyRecordsPage_InvalidCursor() {
+        // When & Then: Un cursor mal formado lanza una excepción
+        assertThrows(IllegalArgumentException.class,
+                () -> dailyRecordService.getDailyRecordsPage(null, null, null, 1L, "no-es-un-cursor", 10));
     }
 
     // ----------------------------
@@ -314,20 +492,30 @@ public class DailyRecordServiceImplTest {
     @Test
     void testDeleteDailyRecord_Success() {
         // Given: El registro existe
-        when(dailyRecordRepository.existsById(1L)).thenReturn(true);
+        Habit habit = new Habit();
+        habit.setId(1L);
+
+        DailyRecord dailyRecord = new DailyRecord();
+        dailyRecord.setId(1L);
+        dailyRecord.setDate(LocalDate.now());
+        dailyRecord.setCompleted(true);
+        dailyRecord.setHabit(habit);
+
+        when(dailyRecordRepository.findById(1L)).thenReturn(Optional.of(dailyRecord));
 
         // When: Se elimina el registro
         dailyRecordService.deleteDailyRecord(1L);
 
-        // Then: Se llama a deleteById y se verifica la existencia
-        verify(dailyRecordRepository).existsById(1L);
-        verify(dailyRecordRepository).deleteById(1L);
+        // Then: Se elimina y se publica el cambio para recalcular sus agregados
+        verify(dailyRecordRepository).findById(1L);
+        verify(dailyRecordRepository).delete(dailyRecord);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> isChange(event, ChangeType.DELETED, 1L, Set.of(LocalDate.now()))));
     }
 
     @Test
     void testDeleteDailyRecord_DailyRecordNotFound() {
         // Given: El registro no existe
-        when(dailyRecordRepository.existsById(1L)).thenReturn(false);
+        when(dailyRecordRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When: Se intenta eliminar un registro inexistente
         RuntimeException exception = assertThrows(
@@ -335,10 +523,25 @@ public class DailyRecordServiceImplTest {
                 () -> dailyRecordService.deleteDailyRecord(1L)
         );
 
-        // Then: Se lanza la excepción correcta y no se llama a deleteById
+        // Then: Se lanza la excepción correcta y no se elimina nada
         assertEquals("Registro diario no encontrado", exception.getMessage());
-        verify(dailyRecordRepository).existsById(1L);
-        verify(dailyRecordRepository, never()).deleteById(1L);
+        verify(dailyRecordRepository).findById(1L);
+        verify(dailyRecordRepository, never()).delete(any(DailyRecord.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    /**
+     * Comprueba que un evento publicado es el cambio esperado de un hábito
+     *
+     * @param event Evento publicado
+     * @param type Tipo de cambio esperado
+     * @param habitId ID del hábito esperado
+     * @param dates Días esperados
+     * @return true si el evento coincide
+     */
+    private static boolean isChange(Object event, ChangeType type, Long habitId, Set<LocalDate> dates) {
+        return event instanceof DailyRecordsChangedEvent change && change.getType() == type
+                && change.getHabitIds().equals(Set.of(habitId)) && change.getDates().equals(dates);
     }
 
 }
\ No newline at end of file
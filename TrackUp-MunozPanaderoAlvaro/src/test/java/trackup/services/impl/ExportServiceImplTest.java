@@ -0,0 +1,89 @@
+package trackup.services.impl;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import trackup.dto.response.DailyRecordResponseDTO;
+import trackup.dto.response.HabitResponseDTO;
+import trackup.repository.DailyRecordRepository;
+import trackup.services.GoalService;
+import trackup.services.HabitService;
+
+/**
+ * Test de la clase ExportServiceImpl
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class ExportServiceImplTest {
+
+    @Mock
+    private DailyRecordRepository dailyRecordRepository;
+
+    @Mock
+    private HabitService habitService;
+
+    @Mock
+    private GoalService goalService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        exportService = new ExportServiceImpl(dailyRecordRepository, habitService, goalService, objectMapper);
+    }
+
+    // ----------------------------
+    // Tests para exportUserHistory
+    // ----------------------------
+
+    @Test
+    void testExportUserHistory_WritesOneLinePerRow() throws Exception {
+        // Given: Un usuario con un hábito, sin metas y con dos registros diarios
+        HabitResponseDTO habitDTO = new HabitResponseDTO();
+        habitDTO.setId(2L);
+        habitDTO.setName("Correr");
+
+        DailyRecordResponseDTO r1 = new DailyRecordResponseDTO(10L, LocalDate.of(2025, 5, 1), true, 2L, 1L, "Correr");
+        DailyRecordResponseDTO r2 = new DailyRecordResponseDTO(11L, LocalDate.of(2025, 5, 2), false, 2L, 1L, "Correr");
+
+        when(habitService.getAllHabitsByUserId(1L)).thenReturn(List.of(habitDTO));
+        when(goalService.getAllGoalsByUserId(1L)).thenReturn(Collections.emptyList());
+        when(dailyRecordRepository.streamResponseDTOsByUserId(1L)).thenReturn(Stream.of(r1, r2));
+
+        // When: Se exporta el histórico
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportUserHistory(1L, out);
+
+        // Then: Se escribe una línea JSON por fila
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("habit", objectMapper.readTree(lines[0]).get("type").asText());
+
+        JsonNode record = objectMapper.readTree(lines[2]);
+        assertEquals("dailyRecord", record.get("type").asText());
+        assertEquals("2025-05-02", record.get("data").get("date").asText());
+        assertEquals(11L, record.get("data").get("id").asLong());
+        assertEquals("Correr", record.get("data").get("habitName").asText());
+    }
+
+}
@@ -0,0 +1,305 @@
+package trackup.services.impl;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import trackup.dto.response.HabitCalendarResponseDTO;
+import trackup.entity.DailyRecord;
+import trackup.entity.Habit;
+import trackup.entity.HabitCalendar;
+import trackup.entity.User;
+import trackup.repository.DailyRecordRepository;
+import trackup.repository.HabitCalendarJdbcRepository;
+import trackup.repository.HabitCalendarRepository;
+import trackup.repository.HabitRepository;
+import trackup.repository.projection.HabitDayRecord;
+
+/**
+ * Test de la clase HabitCalendarServiceImpl
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class HabitCalendarServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 5, 1);
+
+    @Mock
+    private HabitCalendarRepository habitCalendarRepository;
+
+    @Mock
+    private HabitCalendarJdbcRepository habitCalendarJdbcRepository;
+
+    @Mock
+    private DailyRecordRepository dailyRecordRepository;
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @InjectMocks
+    private HabitCalendarServiceImpl habitCalendarService;
+
+    private Habit habit;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        User user = new User();
+        user.setId(1L);
+
+        habit = new Habit();
+        habit.setId(10L);
+        habit.setUser(user);
+        habit.setStartDate(START);
+    }
+
+    private DailyRecord makeRecord(LocalDate date, boolean completed) {
+        DailyRecord dailyRecord = new DailyRecord();
+        dailyRecord.setId(100L);
+        dailyRecord.setDate(date);
+        dailyRecord.setCompleted(completed);
+        dailyRecord.setHabit(habit);
+        return dailyRecord;
+    }
+
+    /**
+     * Crea un calendario a partir de los índices (días desde 'START') registrados y completados
+     */
+    private HabitCalendar makeCalendar(int[] recordedDays, int[] completedDays) {
+        BitSet recorded = new BitSet();
+        BitSet completed = new BitSet();
+        for (int day : recordedDays) {
+            recorded.set(day);
+        }
+        for (int day : completedDays) {
+            completed.set(day);
+        }
+        HabitCalendar calendar = new HabitCalendar(habit, 1L, START, recorded.toByteArray(), completed.toByteArray());
+        calendar.setHabitId(habit.getId());
+        return calendar;
+    }
+
+    private HabitDayRecord dayRecord(Long habitId, LocalDate date, boolean completed) {
+        return new HabitDayRecord() {
+            public Long getHabitId() { return habitId; }
+            public Long getUserId() { return 1L; }
+            public LocalDate getStartDate() { return START; }
+            public LocalDate getDate() { return date; }
+            public Boolean getCompleted() { return completed; }
+        };
+    }
+
+    // ----------------------------
+    // Tests para getCalendar y getCompletionPercentageByUserIdBetween
+    // ----------------------------
+
+    @Test
+    void testGetCalendar_CountsBitsInRange() {
+        // Given: Registros del 01/05 al 05/05; completados el 01, 03 y 04
+        when(habitCalendarRepository.findById(10L)).thenReturn(Optional.of(
+                makeCalendar(new int[]{0, 1, 2, 3, 4}, new int[]{0, 2, 3})));
+
+        // When: Intervalo que empieza antes del día base y corta el histórico
+        HabitCalendarResponseDTO dto = habitCalendarService.getCalendar(10L, LocalDate.of(2025, 4, 20), LocalDate.of(2025, 5, 3)).orElseThrow();
+
+        // Then
+        assertEquals(3, dto.getRecordedCount());
+        assertEquals(2, dto.getCompletedCount());
+        assertEquals(200.0 / 3, dto.getCompletionPercentage(), 0.0001);
+        assertEquals(List.of(LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 3)), dto.getCompletedDates());
+    }
+
+    @Test
+    void testGetCalendar_InvertedRange_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> habitCalendarService.getCalendar(10L, LocalDate.of(2025, 5, 3), LocalDate.of(2025, 5, 1)));
+    }
+
+    @Test
+    void testGetCompletionPercentageByUserIdBetween_SkipsHabitsWithoutRecordsInRange() {
+        // Given: Un hábito con registros en mayo y otro sin registros en el intervalo
+        HabitCalendar other = makeCalendar(new int[]{40}, new int[]{40});
+        other.setHabitId(11L);
+        when(habitCalendarRepository.findAllByUserId(1L)).thenReturn(List.of(
+                makeCalendar(new int[]{0, 1, 2, 3}, new int[]{1, 2, 3}), other));
+
+        // When
+        Map<Long, Double> result = habitCalendarService.getCompletionPercentageByUserIdBetween(1L, START, LocalDate.of(2025, 5, 31));
+
+        // Then
+        assertEquals(Map.of(10L, 75.0), result);
+    }
+
+    // ----------------------------
+    // Tests para onDailyRecordsWritten, onDailyRecordUpdated y onDailyRecordDeleted
+    // ----------------------------
+
+    @Test
+    void testOnDailyRecordsWritten_CreatesCalendarFromHabitStart() {
+        // Given: El hábito todavía no tiene calendario; tras crearlo vacío, el segundo bloqueo lo encuentra
+        HabitCalendar created = makeCalendar(new int[]{}, new int[]{});
+        when(habitCalendarRepository.findAllForUpdateByHabitIdIn(Set.of(10L))).thenReturn(List.of(), List.of(created));
+
+        // When
+        habitCalendarService.onDailyRecordsWritten(List.of(
+                makeRecord(LocalDate.of(2025, 5, 3), true),
+                makeRecord(LocalDate.of(2025, 5, 4), false)));
+
+        // Then: Se inserta (si falta) un calendario vacío desde el inicio del hábito
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<HabitCalendar>> insertCaptor = ArgumentCaptor.forClass(List.class);
+        verify(habitCalendarJdbcRepository).insertIfAbsent(insertCaptor.capture());
+        HabitCalendar inserted = insertCaptor.getValue().get(0);
+        assertSame(habit, inserted.getHabit());
+        assertEquals(1L, inserted.getUserId());
+        assertEquals(START, inserted.getBaseDate());
+        assertEquals(0, inserted.getRecordedDays().length);
+        assertEquals(0, inserted.getCompletedDays().length);
+
+        // Then: Sobre la fila bloqueada, bits 2 y 3 registrados, solo el 2 completado
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<HabitCalendar>> captor = ArgumentCaptor.forClass(List.class);
+        verify(habitCalendarRepository).saveAll(captor.capture());
+        HabitCalendar saved = captor.getValue().get(0);
+        assertSame(created, saved);
+        assertEquals(START, saved.getBaseDate());
+        assertEquals(BitSet.valueOf(new long[]{0b1100}), BitSet.valueOf(saved.getRecordedDays()));
+        assertEquals(BitSet.valueOf(new long[]{0b0100}), BitSet.valueOf(saved.getCompletedDays()));
+    }
+
+    @Test
+    void testOnDailyRecordsWritten_ExistingCalendar_NoInsert() {
+        // Given: El calendario ya existe
+        HabitCalendar calendar = makeCalendar(new int[]{0}, new int[]{0});
+        when(habitCalendarRepository.findAllForUpdateByHabitIdIn(Set.of(10L))).thenReturn(List.of(calendar));
+
+        // When
+        habitCalendarService.onDailyRecordsWritten(List.of(makeRecord(LocalDate.of(2025, 5, 2), true)));
+
+        // Then: Un único bloqueo y ninguna inserción
+        verify(habitCalendarRepository, times(1)).findAllForUpdateByHabitIdIn(Set.of(10L));
+        verifyNoInteractions(habitCalendarJdbcRepository);
+        assertEquals(BitSet.valueOf(new long[]{0b11}), BitSet.valueOf(calendar.getCompletedDays()));
+    }
+
+    @Test
+    void testOnDailyRecordsWritten_RecordBeforeBaseDateShiftsBits() {
+        // Given: Calendario con el 01/05 completado
+        HabitCalendar calendar = makeCalendar(new int[]{0}, new int[]{0});
+        when(habitCalendarRepository.findAllForUpdateByHabitIdIn(Set.of(10L))).thenReturn(List.of(calendar));
+
+        // When: Se registra el 29/04, anterior al día base
+        habitCalendarService.onDailyRecordsWritten(List.of(makeRecord(LocalDate.of(2025, 4, 29), false)));
+
+        // Then: El día base pasa al 29/04 y el 01/05 queda en el bit 2
+        assertEquals(LocalDate.of(2025, 4, 29), calendar.getBaseDate());
+        assertEquals(BitSet.valueOf(new long[]{0b101}), BitSet.valueOf(calendar.getRecordedDays()));
+        assertEquals(BitSet.valueOf(new long[]{0b100}), BitSet.valueOf(calendar.getCompletedDays()));
+    }
+
+    @Test
+    void testOnDailyRecordsWritten_UpsertIsIdempotentAndClearsCompleted() {
+        // Given: El 02/05 estaba completado
+        HabitCalendar calendar = makeCalendar(new int[]{0, 1}, new int[]{0, 1});
+        when(habitCalendarRepository.findAllForUpdateByHabitIdIn(Set.of(10L))).thenReturn(List.of(calendar));
+
+        // When: Se vuelve a escribir como no completado
+        habitCalendarService.onDailyRecordsWritten(List.of(makeRecord(LocalDate.of(2025, 5, 2), false)));
+
+        // Then
+        assertEquals(BitSet.valueOf(new long[]{0b11}), BitSet.valueOf(calendar.getRecordedDays()));
+        assertEquals(BitSet.valueOf(new long[]{0b01}), BitSet.valueOf(calendar.getCompletedDays()));
+    }
+
+    @Test
+    void testOnDailyRecordsWritten_DateTooFarAway_Throws() {
+        // Given
+        when(habitCalendarRepository.findAllForUpdateByHabitIdIn(Set.of(10L)))
+                .thenReturn(List.of(), List.of(makeCalendar(new int[]{}, new int[]{})));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> habitCalendarService.onDailyRecordsWritten(
+                List.of(makeRecord(START.plusDays(HabitCalendar.MAX_BYTES * 8L), true))));
+        verify(habitCalendarRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testOnDailyRecordUpdated_MovesBit() {
+        // Given: El 01/05 completado
+        HabitCalendar calendar = makeCalendar(new int[]{0}, new int[]{0});
+        when(habitCalendarRepository.findAllForUpdateByHabitIdIn(Set.of(10L))).thenReturn(List.of(calendar));
+
+        // When: El registro pasa al 03/05
+        habitCalendarService.onDailyRecordUpdated(START, makeRecord(LocalDate.of(2025, 5, 3), true));
+
+        // Then
+        assertEquals(BitSet.valueOf(new long[]{0b100}), BitSet.valueOf(calendar.getRecordedDays()));
+        assertEquals(BitSet.valueOf(new long[]{0b100}), BitSet.valueOf(calendar.getCompletedDays()));
+        verify(habitCalendarRepository).save(calendar);
+    }
+
+    @Test
+    void testOnDailyRecordDeleted_ClearsBits() {
+        // Given
+        HabitCalendar calendar = makeCalendar(new int[]{0, 1}, new int[]{1});
+        when(habitCalendarRepository.findAllForUpdateByHabitIdIn(Set.of(10L))).thenReturn(List.of(calendar));
+
+        // When
+        habitCalendarService.onDailyRecordDeleted(makeRecord(LocalDate.of(2025, 5, 2), true));
+
+        // Then
+        assertEquals(BitSet.valueOf(new long[]{0b1}), BitSet.valueOf(calendar.getRecordedDays()));
+        assertTrue(BitSet.valueOf(calendar.getCompletedDays()).isEmpty());
+    }
+
+    // ----------------------------
+    // Tests para rebuildAllCalendars
+    // ----------------------------
+
+    @Test
+    void testRebuildAllCalendars_SingleOrderedScan() {
+        // Given: Dos hábitos; el segundo tiene un registro anterior a su inicio
+        Habit other = new Habit();
+        other.setId(11L);
+        when(habitRepository.getReferenceById(10L)).thenReturn(habit);
+        when(habitRepository.getReferenceById(11L)).thenReturn(other);
+        when(dailyRecordRepository.streamAllDayRecords()).thenReturn(Stream.of(
+                dayRecord(10L, LocalDate.of(2025, 5, 2), true),
+                dayRecord(10L, LocalDate.of(2025, 5, 3), false),
+                dayRecord(11L, LocalDate.of(2025, 4, 30), true)
+        ));
+
+        // When
+        habitCalendarService.rebuildAllCalendars();
+
+        // Then
+        ArgumentCaptor<HabitCalendar> captor = ArgumentCaptor.forClass(HabitCalendar.class);
+        verify(habitCalendarRepository).deleteAllInBatch();
+        verify(habitCalendarRepository, times(2)).save(captor.capture());
+        HabitCalendar first = captor.getAllValues().get(0);
+        assertEquals(START, first.getBaseDate());
+        assertEquals(BitSet.valueOf(new long[]{0b110}), BitSet.valueOf(first.getRecordedDays()));
+        assertEquals(BitSet.valueOf(new long[]{0b010}), BitSet.valueOf(first.getCompletedDays()));
+        HabitCalendar second = captor.getAllValues().get(1);
+        assertSame(other, second.getHabit());
+        assertEquals(LocalDate.of(2025, 4, 30), second.getBaseDate());
+        assertEquals(BitSet.valueOf(new long[]{0b1}), BitSet.valueOf(second.getCompletedDays()));
+    }
+
+}
\ No newline at end of file
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Set;
 import java.time.LocalDate;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,13 +14,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import trackup.dto.request.HabitRequestDTO;
 import trackup.dto.response.HabitResponseDTO;
+import trackup.dto.response.HabitTypeResponseDTO;
 import trackup.entity.Habit;
 import trackup.entity.HabitType;
 import trackup.entity.User;
+import trackup.event.HabitDeletedEvent;
 import trackup.repository.HabitRepository;
+import trackup.repository.projection.HabitOwner;
 import trackup.services.UserService;
 import trackup.services.HabitTypeService;
 
@@ -39,6 +44,9 @@ public class HabitServiceImplTest {
     @Mock
     private HabitTypeService habitTypeService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private HabitServiceImpl habitService;
 
@@ -279,7 +287,8 @@ public class HabitServiceImplTest {
         user.setUsername("john");
 
         // When: Se crean las dependencias y se guarda el hábito
-        when(habitTypeService.findHabitTypeEntityById(1L)).thenReturn(Optional.of(habitType));
+        when(habitTypeService.findHabitTypeById(1L)).thenReturn(Optional.of(new HabitTypeResponseDTO(1L, "Health")));
+        when(habitTypeService.getHabitTypeReference(1L)).thenReturn(habitType);
         when(userService.findUserEntityById(1L)).thenReturn(Optional.of(user));
 
         Habit savedHabit = new Habit();
@@ -291,7 +300,9 @@ public class HabitServiceImplTest {
         // Then: El servicio devuelve el DTO y se verifican las llamadas al repositorio
         HabitResponseDTO result = habitService.createHabit(requestDTO);
         assertEquals("Exercise", result.getName());
-        verify(habitTypeService).findHabitTypeEntityById(1L);
+        verify(habitTypeService).findHabitTypeById(1L);
+        verify(habitTypeService).getHabitTypeReference(1L);
+        verify(habitTypeService, never()).findHabitTypeEntityById(anyLong());
         verify(userService).findUserEntityById(1L);
         verify(habitRepository).save(any(Habit.class));
     }
@@ -303,7 +314,7 @@ public class HabitServiceImplTest {
                 "Exercise", "Daily exercise", "Daily", LocalDate.now(), LocalDate.now().plusDays(30), 1L, 1L
         );
 
-        when(habitTypeService.findHabitTypeEntityById(1L)).thenReturn(Optional.empty());
+        when(habitTypeService.findHabitTypeById(1L)).thenReturn(Optional.empty());
 
         // When: Se intenta crear un hábito con un tipo inexistente
         RuntimeException exception = assertThrows(
@@ -313,7 +324,8 @@ public class HabitServiceImplTest {
 
         // Then: Se lanza la excepción correcta y no se llaman métodos innecesarios
         assertEquals("Tipo de hábito no encontrado con ID: 1", exception.getMessage());
-        verify(habitTypeService).findHabitTypeEntityById(1L);
+        verify(habitTypeService).findHabitTypeById(1L);
+        verify(habitTypeService, never()).getHabitTypeReference(anyLong());
         verify(userService, never()).findUserEntityById(anyLong());
         verify(habitRepository, never()).save(any(Habit.class));
     }
@@ -374,20 +386,22 @@ public class HabitServiceImplTest {
     @Test
     void testDeleteHabit_Success() {
         // Given: El hábito existe
-        when(habitRepository.existsById(1L)).thenReturn(true);
+        when(habitRepository.findUserIdById(1L)).thenReturn(Optional.of(7L));
 
         // When: Se elimina el hábito
         habitService.deleteHabit(1L);
 
-        // Then: Se llama a deleteById y se verifica la existencia
-        verify(habitRepository).existsById(1L);
+        // Then: Se llama a deleteById y se publica su eliminación para recalcular las estadísticas del usuario
+        verify(habitRepository).findUserIdById(1L);
         verify(habitRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof HabitDeletedEvent deleted
+                && deleted.getHabitIds().equals(Set.of(1L)) && deleted.getUserId().equals(7L)));
     }
 
     @Test
     void testDeleteHabit_HabitNotFound() {
         // Given: El hábito no existe
-        when(habitRepository.existsById(1L)).thenReturn(false);
+        when(habitRepository.findUserIdById(1L)).thenReturn(Optional.empty());
 
         // When: Se intenta eliminar un hábito inexistente
         RuntimeException exception = assertThrows(
@@ -397,8 +411,37 @@ public class HabitServiceImplTest {
 
         // Then: Se lanza la excepción correcta y no se llama a deleteById
         assertEquals("Usuario no encontrado", exception.getMessage());
-        verify(habitRepository).existsById(1L);
+        verify(habitRepository).findUserIdById(1L);
         verify(habitRepository, never()).deleteById(1L);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    // ----------------------------
+    // Tests para deleteAllByTypeId
+    // ----------------------------
+
+    @Test
+    void testDeleteAllByTypeId_PublishesOneEventPerUser() {
+        // Given: Tres hábitos del tipo 5, dos del usuario 7 y uno del usuario 8
+        when(habitRepository.findOwnersByHabitTypeId(5L)).thenReturn(List.of(owner(1L, 7L), owner(2L, 7L), owner(3L, 8L)));
+
+        // When: Se eliminan todos los hábitos del tipo
+        habitService.deleteAllByTypeId(5L);
+
+        // Then: Se eliminan y se publica un evento por usuario con sus hábitos
+        verify(habitRepository).deleteAllByHabitTypeId(5L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof HabitDeletedEvent deleted
+                && deleted.getUserId().equals(7L) && deleted.getHabitIds().equals(Set.of(1L, 2L))));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof HabitDeletedEvent deleted
+                && deleted.getUserId().equals(8L) && deleted.getHabitIds().equals(Set.of(3L))));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    private static HabitOwner owner(Long habitId, Long userId) {
+        return new HabitOwner() {
+            public Long getHabitId() { return habitId; }
+            public Long getUserId() { return userId; }
+        };
     }
 
 }
\ No newline at end of file
@@ -1,22 +1,28 @@
 package trackup.services.impl;
 
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import trackup.dto.request.HabitTypeRequestDTO;
 import trackup.dto.response.HabitTypeResponseDTO;
 import trackup.entity.HabitType;
+import trackup.event.HabitDeletedEvent;
+import trackup.repository.HabitRepository;
 import trackup.repository.HabitTypeRepository;
+import trackup.repository.projection.HabitOwner;
 
 /**
  * Test de la clase HabitTypeServiceImpl
@@ -28,6 +34,12 @@ public class HabitTypeServiceImplTest {
     @Mock
     private HabitTypeRepository habitTypeRepository;
 
+    @Mock
+    private HabitRepository habitRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private HabitTypeServiceImpl habitTypeService;
 
@@ -93,6 +105,24 @@ public class HabitTypeServiceImplTest {
         verify(habitTypeRepository).findById(1L);
     }
 
+    // ----------------------------
+    // Tests para getHabitTypeReference
+    // ----------------------------
+
+    @Test
+    void testGetHabitTypeReference_DoesNotLoadEntity() {
+        // Given: Una referencia al tipo de hábito
+        HabitType reference = new HabitType();
+        when(habitTypeRepository.getReferenceById(1L)).thenReturn(reference);
+
+        // When: Se pide la referencia por ID
+        HabitType result = habitTypeService.getHabitTypeReference(1L);
+
+        // Then: Se devuelve la referencia del contexto de persistencia, sin consultar la entidad
+        assertSame(reference, result);
+        verify(habitTypeRepository, never()).findById(anyLong());
+    }
+
     // ----------------------------
     // Tests para findHabitTypeByName
     // ----------------------------
@@ -264,13 +294,19 @@ public class HabitTypeServiceImplTest {
     void testDeleteHabitType_Success() {
         // Given: El tipo de hábito existe
         when(habitTypeRepository.existsById(1L)).thenReturn(true);
+        HabitOwner habit = mock(HabitOwner.class);
+        when(habit.getHabitId()).thenReturn(10L);
+        when(habit.getUserId()).thenReturn(7L);
+        when(habitRepository.findOwnersByHabitTypeId(1L)).thenReturn(List.of(habit));
 
         // When: Se elimina el tipo de hábito
         habitTypeService.deleteHabitType(1L);
 
-        // Then: Se llama a deleteById y se verifica la existencia
+        // Then: Se llama a deleteById y se publica la eliminación de sus hábitos para recalcular las estadísticas
         verify(habitTypeRepository).existsById(1L);
         verify(habitTypeRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof HabitDeletedEvent deleted
+                && deleted.getUserId().equals(7L) && deleted.getHabitIds().equals(Set.of(10L))));
     }
 
     @Test
@@ -288,6 +324,7 @@ public class HabitTypeServiceImplTest {
         assertEquals("Tipo de hábito no encontrado", exception.getMessage());
         verify(habitTypeRepository).existsById(1L);
         verify(habitTypeRepository, never()).deleteById(1L);
+        verifyNoInteractions(eventPublisher);
     }
 
 }
\ No newline at end of file
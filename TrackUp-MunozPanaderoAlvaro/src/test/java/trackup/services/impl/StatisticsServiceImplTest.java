@@ -0,0 +1,182 @@
+package trackup.services.impl;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import trackup.dto.response.DashboardStatisticsResponseDTO;
+import trackup.dto.response.HeatmapResponseDTO;
+import trackup.entity.HabitStatistics;
+import trackup.entity.UserDailyStatistics;
+import trackup.repository.DailyRecordRepository;
+import trackup.repository.HabitStatisticsRepository;
+import trackup.repository.UserDailyStatisticsRepository;
+import trackup.repository.projection.HabitCount;
+import trackup.repository.projection.UserDayCount;
+
+/**
+ * Test de la clase StatisticsServiceImpl
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class StatisticsServiceImplTest {
+
+    @Mock
+    private UserDailyStatisticsRepository userDailyStatisticsRepository;
+
+    @Mock
+    private HabitStatisticsRepository habitStatisticsRepository;
+
+    @Mock
+    private DailyRecordRepository dailyRecordRepository;
+
+    @InjectMocks
+    private StatisticsServiceImpl statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    // ----------------------------
+    // Tests para getDashboardStatistics
+    // ----------------------------
+
+    @Test
+    void testGetDashboardStatistics_AggregatesCounters() {
+        // Given: Contadores por hábito y por día (miércoles 14/05/2025)
+        LocalDate today = LocalDate.of(2025, 5, 14);
+        when(habitStatisticsRepository.findAllByUserId(1L)).thenReturn(List.of(
+                new HabitStatistics(10L, 1L, 4, 3),
+                new HabitStatistics(11L, 1L, 2, 0)
+        ));
+        when(userDailyStatisticsRepository.findByUserIdAndDateBetweenOrderByDateAsc(
+                1L, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31))).thenReturn(List.of(
+                new UserDailyStatistics(1L, LocalDate.of(2025, 5, 2), 2, 1), // Mismo mes, otra semana
+                new UserDailyStatistics(1L, LocalDate.of(2025, 5, 12), 3, 2) // Semana actual
+        ));
+
+        // When: Se obtienen las estadísticas del panel
+        DashboardStatisticsResponseDTO result = statisticsService.getDashboardStatistics(1L, today);
+
+        // Then: Los totales se calculan a partir de los contadores
+        assertEquals(3, result.getCompletedCount());
+        assertEquals(3, result.getNotCompletedCount());
+        assertEquals(3, result.getWeeklyTotal());
+        assertEquals(2, result.getWeeklyCompleted());
+        assertEquals(5, result.getMonthlyTotal());
+        assertEquals(3, result.getMonthlyCompleted());
+        assertEquals(75.0, result.getHabitCompletionPercentage().get(10L));
+        assertEquals(0.0, result.getHabitCompletionPercentage().get(11L));
+    }
+
+    // ----------------------------
+    // Tests para refreshUserDailyStatistics
+    // ----------------------------
+
+    @Test
+    void testRefreshUserDailyStatistics_RecountsAffectedDays() {
+        // Given: El 14/05 tiene 2 registros (1 completado) y ya tenía contador; el 15/05 se ha quedado sin registros y no lo tenía
+        LocalDate day = LocalDate.of(2025, 5, 14);
+        LocalDate empty = LocalDate.of(2025, 5, 15);
+        UserDayCount dayCount = mock(UserDayCount.class);
+        when(dayCount.getDate()).thenReturn(day);
+        when(dayCount.getTotal()).thenReturn(2L);
+        when(dayCount.getCompleted()).thenReturn(1L);
+        UserDailyStatistics existing = new UserDailyStatistics(1L, day, 1, 1);
+        when(dailyRecordRepository.countByUserAndDatesGroupedByDate(eq(1L), anyCollection())).thenReturn(List.of(dayCount));
+        when(userDailyStatisticsRepository.findByUserIdAndDateIn(eq(1L), anyCollection())).thenReturn(List.of(existing));
+
+        // When: Se recalculan los contadores de esos días
+        statisticsService.refreshUserDailyStatistics(1L, Set.of(day, empty));
+
+        // Then: Se sobrescriben con el recuento del histórico y no se crean filas vacías
+        assertEquals(2, existing.getTotalCount());
+        assertEquals(1, existing.getCompletedCount());
+        verify(userDailyStatisticsRepository).saveAll(List.of(existing));
+        verifyNoInteractions(habitStatisticsRepository);
+    }
+
+    // ----------------------------
+    // Tests para refreshHabitStatistics
+    // ----------------------------
+
+    @Test
+    void testRefreshHabitStatistics_RecountsHabitsAndDropsEmptyOnes() {
+        // Given: El hábito 10 tiene 5 registros (4 completados); el 11 se ha quedado sin registros y tenía contador
+        HabitCount habitCount = mock(HabitCount.class);
+        when(habitCount.getHabitId()).thenReturn(10L);
+        when(habitCount.getTotal()).thenReturn(5L);
+        when(habitCount.getCompleted()).thenReturn(4L);
+        HabitStatistics stale = new HabitStatistics(11L, 1L, 3, 2);
+        when(dailyRecordRepository.countByHabitsGroupedByHabit(anyCollection())).thenReturn(List.of(habitCount));
+        when(habitStatisticsRepository.findAllById(anyIterable())).thenReturn(List.of(stale));
+
+        // When: Se recalculan los contadores de ambos hábitos
+        statisticsService.refreshHabitStatistics(1L, Set.of(10L, 11L));
+
+        // Then: Se crea el contador del 10 y se elimina el del 11
+        verify(habitStatisticsRepository).saveAll(argThat((List<HabitStatistics> saved) -> saved.size() == 1
+                && saved.get(0).getHabitId().equals(10L) && saved.get(0).getTotalCount() == 5 && saved.get(0).getCompletedCount() == 4));
+        verify(habitStatisticsRepository).deleteAll(List.of(stale));
+        verifyNoInteractions(userDailyStatisticsRepository);
+    }
+
+    // ----------------------------
+    // Tests para onUserDeleted
+    // ----------------------------
+
+    @Test
+    void testOnUserDeleted_RemovesCounters() {
+        // When: Se elimina un usuario
+        statisticsService.onUserDeleted(1L);
+
+        // Then: Se eliminan todos sus contadores
+        verify(userDailyStatisticsRepository).deleteAllByUserId(1L);
+        verify(habitStatisticsRepository).deleteAllByUserId(1L);
+    }
+
+    // ----------------------------
+    // Tests para getHeatmap
+    // ----------------------------
+
+    @Test
+    void testGetHeatmap_OneValuePerDay() {
+        // Given: Contadores del 02/05 y del 04/05
+        LocalDate from = LocalDate.of(2025, 5, 1);
+        LocalDate to = LocalDate.of(2025, 5, 5);
+        when(userDailyStatisticsRepository.findByUserIdAndDateBetweenOrderByDateAsc(1L, from, to)).thenReturn(List.of(
+                new UserDailyStatistics(1L, LocalDate.of(2025, 5, 2), 3, 2),
+                new UserDailyStatistics(1L, LocalDate.of(2025, 5, 4), 1, 0)
+        ));
+
+        // When
+        HeatmapResponseDTO heatmap = statisticsService.getHeatmap(1L, from, to);
+
+        // Then: Los días sin contador quedan a 0
+        assertArrayEquals(new int[]{0, 3, 0, 1, 0}, heatmap.getTotal());
+        assertArrayEquals(new int[]{0, 2, 0, 0, 0}, heatmap.getCompleted());
+        assertEquals(from, heatmap.getFrom());
+    }
+
+    @Test
+    void testGetHeatmap_InvalidRange_Throws() {
+        LocalDate from = LocalDate.of(2025, 5, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> statisticsService.getHeatmap(1L, from, from.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> statisticsService.getHeatmap(1L, from, from.plusDays(StatisticsServiceImpl.MAX_HEATMAP_DAYS)));
+        verifyNoInteractions(userDailyStatisticsRepository);
+    }
+
+}
\ No newline at end of file
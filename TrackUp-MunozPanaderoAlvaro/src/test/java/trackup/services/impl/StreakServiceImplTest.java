@@ -0,0 +1,324 @@
+package trackup.services.impl;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import trackup.dto.response.HabitStreakResponseDTO;
+import trackup.entity.Habit;
+import trackup.entity.HabitStreak;
+import trackup.entity.User;
+import trackup.repository.DailyRecordRepository;
+import trackup.repository.HabitRepository;
+import trackup.repository.HabitStreakRepository;
+import trackup.repository.projection.HabitCompletedDate;
+
+/**
+ * Test de la clase StreakServiceImpl
+ *
+ * @author Álvaro Muñoz Panadero - alvaromp.dev@gmail.com
+ */
+public class StreakServiceImplTest {
+
+    @Mock
+    private HabitStreakRepository habitStreakRepository;
+
+    @Mock
+    private DailyRecordRepository dailyRecordRepository;
+
+    @Mock
+    private HabitRepository habitRepository;
+
+    @InjectMocks
+    private StreakServiceImpl streakService;
+
+    private Habit habit;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        User user = new User();
+        user.setId(1L);
+
+        habit = new Habit();
+        habit.setId(10L);
+        habit.setUser(user);
+    }
+
+    private HabitStreak makeStreak(int current, int longest, LocalDate last) {
+        HabitStreak streak = new HabitStreak(habit, 1L, current, longest, last);
+        streak.setHabitId(habit.getId());
+        return streak;
+    }
+
+    private HabitCompletedDate completedDate(Long habitId, LocalDate date) {
+        return new HabitCompletedDate() {
+            public Long getHabitId() { return habitId; }
+            public Long getUserId() { return 1L; }
+            public LocalDate getDate() { return date; }
+        };
+    }
+
+    // ----------------------------
+    // Tests para refreshStreaks
+    // ----------------------------
+
+    @Test
+    void testRefreshStreaks_NextDayExtendsStreakWithoutHistory() {
+        // Given: Racha de 3 días que termina el 10/05; el 11/05 está completado
+        HabitStreak streak = makeStreak(3, 5, LocalDate.of(2025, 5, 10));
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of(streak));
+        when(dailyRecordRepository.findCompletedDatesByHabitIdsAndDateIn(Set.of(10L), Set.of(LocalDate.of(2025, 5, 11))))
+                .thenReturn(List.of(completedDate(10L, LocalDate.of(2025, 5, 11))));
+
+        // When: Cambia el día siguiente
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 11))));
+
+        // Then: La racha se alarga sin consultar el histórico
+        assertEquals(4, streak.getCurrentStreak());
+        assertEquals(5, streak.getLongestStreak());
+        assertEquals(LocalDate.of(2025, 5, 11), streak.getLastCompletedDate());
+        verify(habitStreakRepository).saveAll(List.of(streak));
+        verify(dailyRecordRepository, never()).findCompletedDatesByHabitIds(any());
+    }
+
+    @Test
+    void testRefreshStreaks_GapRestartsStreakAndKeepsLongest() {
+        // Given: Racha de 6 días que termina el 10/05; el 13/05 y el 14/05 están completados
+        HabitStreak streak = makeStreak(6, 6, LocalDate.of(2025, 5, 10));
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of(streak));
+        when(dailyRecordRepository.findCompletedDatesByHabitIdsAndDateIn(anyCollection(), anyCollection())).thenReturn(List.of(
+                completedDate(10L, LocalDate.of(2025, 5, 14)),
+                completedDate(10L, LocalDate.of(2025, 5, 13))));
+
+        // When: Cambian los dos días en la misma carga
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 14), LocalDate.of(2025, 5, 13))));
+
+        // Then: La racha se reinicia en el hueco y la más larga se conserva
+        assertEquals(2, streak.getCurrentStreak());
+        assertEquals(6, streak.getLongestStreak());
+        assertEquals(LocalDate.of(2025, 5, 14), streak.getLastCompletedDate());
+    }
+
+    @Test
+    void testRefreshStreaks_FirstCompletionCreatesStreak() {
+        // Given: El hábito no tiene racha y el 10/05 está completado
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of());
+        when(habitRepository.getReferenceById(10L)).thenReturn(habit);
+        when(dailyRecordRepository.findCompletedDatesByHabitIdsAndDateIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(completedDate(10L, LocalDate.of(2025, 5, 10))));
+
+        // When
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 10))));
+
+        // Then: Se crea una racha de un día
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<HabitStreak>> captor = ArgumentCaptor.forClass(List.class);
+        verify(habitStreakRepository).saveAll(captor.capture());
+        HabitStreak saved = captor.getValue().get(0);
+        assertEquals(1, saved.getCurrentStreak());
+        assertEquals(1, saved.getLongestStreak());
+        assertSame(habit, saved.getHabit());
+    }
+
+    @Test
+    void testRefreshStreaks_NotCompletedWithoutStreak_SavesNothing() {
+        // Given: El hábito no tiene racha y el día no está completado
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of());
+
+        // When
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 10))));
+
+        // Then: No se guarda ninguna racha vacía
+        verify(habitStreakRepository).saveAll(List.of());
+        verify(dailyRecordRepository, never()).findCompletedDatesByHabitIds(any());
+    }
+
+    @Test
+    void testRefreshStreaks_NotCompletedAfterLastDay_DoesNotRecompute() {
+        // Given: Racha hasta el 10/05; el 12/05 se ha eliminado o no está completado
+        HabitStreak streak = makeStreak(2, 2, LocalDate.of(2025, 5, 10));
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of(streak));
+
+        // When
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 12))));
+
+        // Then: Los días posteriores al último completado no estaban completados; la racha no cambia
+        assertEquals(2, streak.getCurrentStreak());
+        assertEquals(LocalDate.of(2025, 5, 10), streak.getLastCompletedDate());
+        verify(dailyRecordRepository, never()).findCompletedDatesByHabitIds(any());
+    }
+
+    @Test
+    void testRefreshStreaks_CompletedLastDayUnchanged_DoesNotRecompute() {
+        // Given: Racha hasta el 10/05, que sigue completado
+        HabitStreak streak = makeStreak(3, 3, LocalDate.of(2025, 5, 10));
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of(streak));
+        when(dailyRecordRepository.findCompletedDatesByHabitIdsAndDateIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(completedDate(10L, LocalDate.of(2025, 5, 10))));
+
+        // When
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 10))));
+
+        // Then
+        assertEquals(3, streak.getCurrentStreak());
+        verify(dailyRecordRepository, never()).findCompletedDatesByHabitIds(any());
+    }
+
+    @Test
+    void testRefreshStreaks_BackdatedCompletionRecomputesFromHistory() {
+        // Given: Rachas 01-02/05 y 04-05/05; se completa el 03/05, que las une
+        HabitStreak streak = makeStreak(2, 2, LocalDate.of(2025, 5, 5));
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of(streak));
+        when(dailyRecordRepository.findCompletedDatesByHabitIdsAndDateIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(completedDate(10L, LocalDate.of(2025, 5, 3))));
+        when(dailyRecordRepository.findCompletedDatesByHabitIds(Set.of(10L))).thenReturn(List.of(
+                completedDate(10L, LocalDate.of(2025, 5, 1)),
+                completedDate(10L, LocalDate.of(2025, 5, 2)),
+                completedDate(10L, LocalDate.of(2025, 5, 3)),
+                completedDate(10L, LocalDate.of(2025, 5, 4)),
+                completedDate(10L, LocalDate.of(2025, 5, 5))
+        ));
+
+        // When
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 3))));
+
+        // Then
+        assertEquals(5, streak.getCurrentStreak());
+        assertEquals(5, streak.getLongestStreak());
+        assertEquals(LocalDate.of(2025, 5, 5), streak.getLastCompletedDate());
+    }
+
+    @Test
+    void testRefreshStreaks_UncompletingLastDayRecomputes() {
+        // Given: Racha de 3 días hasta el 10/05; el 10/05 deja de estar completado
+        HabitStreak streak = makeStreak(3, 3, LocalDate.of(2025, 5, 10));
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of(streak));
+        when(dailyRecordRepository.findCompletedDatesByHabitIds(Set.of(10L))).thenReturn(List.of(
+                completedDate(10L, LocalDate.of(2025, 5, 8)),
+                completedDate(10L, LocalDate.of(2025, 5, 9))
+        ));
+
+        // When
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 10))));
+
+        // Then
+        assertEquals(2, streak.getCurrentStreak());
+        assertEquals(2, streak.getLongestStreak());
+        assertEquals(LocalDate.of(2025, 5, 9), streak.getLastCompletedDate());
+    }
+
+    @Test
+    void testRefreshStreaks_DeletingOnlyCompletionRemovesStreak() {
+        // Given: El único día completado se elimina
+        HabitStreak streak = makeStreak(1, 1, LocalDate.of(2025, 5, 10));
+        when(habitStreakRepository.findAllById(Set.of(10L))).thenReturn(List.of(streak));
+        when(dailyRecordRepository.findCompletedDatesByHabitIds(Set.of(10L))).thenReturn(List.of());
+
+        // When
+        streakService.refreshStreaks(Map.of(10L, Set.of(LocalDate.of(2025, 5, 10))));
+
+        // Then
+        verify(habitStreakRepository).deleteAll(List.of(streak));
+    }
+
+    // ----------------------------
+    // Tests para rebuildUserStreaks
+    // ----------------------------
+
+    @Test
+    void testRebuildUserStreaks_RecomputesEveryHabitOfUser() {
+        // Given: El hábito 10 desfasado y una racha huérfana del hábito 11, ya sin días completados
+        HabitStreak stale = makeStreak(1, 1, LocalDate.of(2025, 5, 1));
+        HabitStreak orphan = new HabitStreak(habit, 1L, 4, 4, LocalDate.of(2025, 4, 1));
+        orphan.setHabitId(11L);
+        when(habitRepository.findIdsByUserId(1L)).thenReturn(List.of(10L));
+        when(habitStreakRepository.findAllByUserId(1L)).thenReturn(List.of(stale, orphan));
+        when(habitStreakRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(stale, orphan));
+        when(dailyRecordRepository.findCompletedDatesByHabitIds(Set.of(10L, 11L))).thenReturn(List.of(
+                completedDate(10L, LocalDate.of(2025, 5, 1)),
+                completedDate(10L, LocalDate.of(2025, 5, 2)),
+                completedDate(10L, LocalDate.of(2025, 5, 3))
+        ));
+
+        // When
+        streakService.rebuildUserStreaks(1L);
+
+        // Then
+        assertEquals(3, stale.getCurrentStreak());
+        assertEquals(3, stale.getLongestStreak());
+        assertEquals(LocalDate.of(2025, 5, 3), stale.getLastCompletedDate());
+        verify(habitStreakRepository).deleteAll(List.of(orphan));
+    }
+
+    // ----------------------------
+    // Tests para rebuildAllStreaks
+    // ----------------------------
+
+    @Test
+    void testRebuildAllStreaks_SingleOrderedScan() {
+        // Given: Dos hábitos con sus días completados ordenados por hábito y fecha
+        Habit other = new Habit();
+        other.setId(11L);
+        when(habitRepository.getReferenceById(10L)).thenReturn(habit);
+        when(habitRepository.getReferenceById(11L)).thenReturn(other);
+        when(dailyRecordRepository.streamAllCompletedDates()).thenReturn(Stream.of(
+                completedDate(10L, LocalDate.of(2025, 5, 1)),
+                completedDate(10L, LocalDate.of(2025, 5, 2)),
+                completedDate(10L, LocalDate.of(2025, 5, 3)),
+                completedDate(10L, LocalDate.of(2025, 5, 7)),
+                completedDate(11L, LocalDate.of(2025, 5, 6))
+        ));
+
+        // When
+        streakService.rebuildAllStreaks();
+
+        // Then
+        ArgumentCaptor<HabitStreak> captor = ArgumentCaptor.forClass(HabitStreak.class);
+        verify(habitStreakRepository).deleteAllInBatch();
+        verify(habitStreakRepository, times(2)).save(captor.capture());
+        HabitStreak first = captor.getAllValues().get(0);
+        assertSame(habit, first.getHabit());
+        assertEquals(1, first.getCurrentStreak());
+        assertEquals(3, first.getLongestStreak());
+        assertEquals(LocalDate.of(2025, 5, 7), first.getLastCompletedDate());
+        HabitStreak second = captor.getAllValues().get(1);
+        assertSame(other, second.getHabit());
+        assertEquals(1, second.getLongestStreak());
+    }
+
+    // ----------------------------
+    // Tests para getStreaksByUserId
+    // ----------------------------
+
+    @Test
+    void testGetStreaksByUserId_CurrentStreakExpiresAfterMissedDay() {
+        // Given: Racha de 4 días hasta el 10/05
+        when(habitStreakRepository.findAllByUserId(1L)).thenReturn(List.of(makeStreak(4, 7, LocalDate.of(2025, 5, 10))));
+
+        // When
+        HabitStreakResponseDTO yesterday = streakService.getStreaksByUserId(1L, LocalDate.of(2025, 5, 11)).get(0);
+        HabitStreakResponseDTO broken = streakService.getStreaksByUserId(1L, LocalDate.of(2025, 5, 12)).get(0);
+
+        // Then: Sigue vigente al día siguiente, pero no dos días después
+        assertEquals(4, yesterday.getCurrentStreak());
+        assertEquals(0, broken.getCurrentStreak());
+        assertEquals(7, broken.getLongestStreak());
+        assertEquals(10L, broken.getHabitId());
+    }
+
+}
\ No newline at end of file
@@ -6,17 +6,24 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.Optional;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import trackup.dto.request.UserRequestDTO;
 import trackup.dto.response.UserResponseDTO;
 import trackup.entity.User;
 import trackup.repository.UserRepository;
+import trackup.services.StatisticsService;
 
 /**
  * Test de la clase UserServiceImpl
@@ -28,6 +35,13 @@ public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private StatisticsService statisticsService;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt",
+            Map.of("bcrypt", new BCryptPasswordEncoder(4))); // Mismo formato que SecurityConfig, con coste mínimo
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -200,6 +214,24 @@ public class UserServiceImplTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void testCreateUser_PasswordIsEncoded() {
+        // Given: Un DTO válido con la contraseña en claro
+        UserRequestDTO requestDTO = new UserRequestDTO("john", "john@example.com", "password123");
+        when(userRepository.findByUsername("john")).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When: Se crea el usuario
+        userService.createUser(requestDTO);
+
+        // Then: Se guarda el hash BCrypt con su prefijo, nunca la contraseña en claro
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(captor.capture());
+        assertTrue(captor.getValue().getPassword().startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches("password123", captor.getValue().getPassword()));
+    }
+
     @Test
     void testCreateUser_DuplicateUsername() {
         // Given: Un nombre de usuario duplicado
@@ -263,6 +295,8 @@ public class UserServiceImplTest {
         assertEquals("john_new@example.com", result.getEmail());
         verify(userRepository).findById(1L);
         verify(userRepository).save(existingUser);
+        assertTrue(existingUser.getPassword().startsWith("{bcrypt}")); // La nueva contraseña se guarda codificada
+        assertTrue(passwordEncoder.matches("new_password", existingUser.getPassword()));
     }
 
     @Test